@@ -0,0 +1,37 @@
+package gr.gousiosg.javacg.benchmark;
+
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.generic.Type;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: CommonUtil.argumentList, called for each method and each method call
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentListBenchmark {
+
+    @Param({"()V", "(I)V", "(Ljava/lang/String;I[JLjava/util/Map;)V", "([[Ljava/lang/Object;Ljava/util/function/Function;ZBCSFD)V"})
+    public String signature;
+
+    private Type[] argumentTypes;
+
+    @Setup
+    public void setup() {
+        argumentTypes = Type.getArgumentTypes(signature);
+    }
+
+    @Benchmark
+    public String argumentList() {
+        return CommonUtil.argumentList(argumentTypes);
+    }
+}
@@ -0,0 +1,121 @@
+package gr.gousiosg.javacg.benchmark;
+
+import gr.gousiosg.javacg.output.CallGraphWriter;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: access to the fixture jars generated by FixtureJarGenerator, the directory is specified by
+ * "-Dbenchmark.fixture.dir=xxx" (set by the jmh task of the build)
+ */
+
+public class BenchmarkFixtures {
+
+    public static final String FIXTURE_DIR_PROPERTY = "benchmark.fixture.dir";
+
+    private static final String DEFAULT_FIXTURE_DIR = "build/jmh-fixtures";
+
+    public static File getFixtureJar(String jarName) {
+        File jarFile = new File(System.getProperty(FIXTURE_DIR_PROPERTY, DEFAULT_FIXTURE_DIR), jarName);
+        if (!jarFile.exists()) {
+            throw new IllegalStateException("fixture jar not found, please run the generateBenchmarkJars task first: " + jarFile);
+        }
+        return jarFile;
+    }
+
+    public static byte[] readClassBytes(String jarName, String className) throws IOException {
+        try (JarFile jarFile = new JarFile(getFixtureJar(jarName))) {
+            JarEntry jarEntry = jarFile.getJarEntry(className.replace('.', '/') + ".class");
+            if (jarEntry == null) {
+                throw new IllegalStateException("class not found in " + jarName + ": " + className);
+            }
+            try (InputStream in = jarFile.getInputStream(jarEntry)) {
+                byte[] bytes = new byte[(int) jarEntry.getSize()];
+                int offset = 0;
+                while (offset < bytes.length) {
+                    int read = in.read(bytes, offset, bytes.length - offset);
+                    if (read < 0) {
+                        break;
+                    }
+                    offset += read;
+                }
+                return bytes;
+            }
+        }
+    }
+
+    // JCallGraph prints one line for each class, it is dropped so the benchmarks do not measure the console
+    public static PrintStream silenceSystemOut() {
+        PrintStream origOut = System.out;
+        System.setOut(new PrintStream(new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+        }));
+        return origOut;
+    }
+
+    // drop the method calls
+    public static CallGraphWriter genDiscardWriter() {
+        return new CallGraphWriter() {
+            @Override
+            public void writeJar(int jarNum, String jarName) {
+            }
+
+            @Override
+            public void writeClassReference(String className, String referencedClassName) {
+            }
+
+            @Override
+            public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                        String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    // consume the method calls without writing them
+    public static CallGraphWriter genBlackholeWriter(Blackhole blackhole) {
+        return new CallGraphWriter() {
+            @Override
+            public void writeJar(int jarNum, String jarName) {
+                blackhole.consume(jarName);
+            }
+
+            @Override
+            public void writeClassReference(String className, String referencedClassName) {
+                blackhole.consume(referencedClassName);
+            }
+
+            @Override
+            public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                        String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) {
+                blackhole.consume(callerMethodWithArgs);
+                blackhole.consume(calleeMethodName);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private BenchmarkFixtures() {
+    }
+}
@@ -0,0 +1,74 @@
+package gr.gousiosg.javacg.benchmark;
+
+import gr.gousiosg.javacg.backend.BcelClassVisitBackend;
+import gr.gousiosg.javacg.backend.StreamingClassVisitBackend;
+import gr.gousiosg.javacg.dto.ClassVisitResult;
+import gr.gousiosg.javacg.stat.ClassVisitor;
+import gr.gousiosg.javacg.stat.MethodCallCollector;
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: parse and visit a single class, the class is parsed again for each invocation because the visit renames
+ * the lambda methods in the constant pool, streamingVisit reads the same bytes with StreamingClassVisitBackend
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassVisitBenchmark {
+
+    @Param({"lambda.jar:fixture.lambda.LambdaClass0", "app.jar:fixture.app.Node0", "hierarchy.jar:fixture.hierarchy.Level0_5"})
+    public String fixtureClass;
+
+    private String entryName;
+
+    private byte[] classBytes;
+
+    @Setup
+    public void setup() throws IOException {
+        int index = fixtureClass.indexOf(':');
+        String className = fixtureClass.substring(index + 1);
+        entryName = className.replace('.', '/') + ".class";
+        classBytes = BenchmarkFixtures.readClassBytes(fixtureClass.substring(0, index), className);
+    }
+
+    @Benchmark
+    public JavaClass parse() throws IOException {
+        return new ClassParser(new ByteArrayInputStream(classBytes), entryName).parse();
+    }
+
+    @Benchmark
+    public ClassVisitResult parseAndVisit() throws IOException {
+        JavaClass javaClass = new ClassParser(new ByteArrayInputStream(classBytes), entryName).parse();
+        MethodCallCollector methodCallCollector = newMethodCallCollector();
+        methodCallCollector.visitClassHeader(BcelClassVisitBackend.genClassHeaderInfo(javaClass));
+        ClassVisitor classVisitor = new ClassVisitor(javaClass);
+        classVisitor.setClassEventHandler(methodCallCollector);
+        classVisitor.start();
+        return methodCallCollector.genClassVisitResult(null);
+    }
+
+    @Benchmark
+    public ClassVisitResult streamingVisit() throws IOException {
+        MethodCallCollector methodCallCollector = newMethodCallCollector();
+        StreamingClassVisitBackend.visitClassBuffer(ByteBuffer.wrap(classBytes), entryName, true, methodCallCollector);
+        return methodCallCollector.genClassVisitResult(null);
+    }
+
+    private static MethodCallCollector newMethodCallCollector() {
+        return new MethodCallCollector(new HashMap<>(), new HashMap<>(), new HashMap<>(), null);
+    }
+}
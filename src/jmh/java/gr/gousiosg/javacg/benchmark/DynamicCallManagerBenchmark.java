@@ -0,0 +1,63 @@
+package gr.gousiosg.javacg.benchmark;
+
+import gr.gousiosg.javacg.stat.DynamicCallManager;
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: DynamicCallManager.retrieveCalls and linkCalls on the methods of a lambda heavy class, linkCalls renames the
+ * methods in the constant pool, so the class is parsed again before each invocation
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicCallManagerBenchmark {
+
+    private static final String CLASS_NAME = "fixture.lambda.LambdaClass0";
+
+    private byte[] classBytes;
+
+    private JavaClass javaClass;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        classBytes = BenchmarkFixtures.readClassBytes(FixtureJarGenerator.LAMBDA_JAR, CLASS_NAME);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws IOException {
+        javaClass = new ClassParser(new ByteArrayInputStream(classBytes), CLASS_NAME).parse();
+    }
+
+    @Benchmark
+    public Set<String> retrieveCalls() {
+        DynamicCallManager dynamicCallManager = new DynamicCallManager();
+        for (Method method : javaClass.getMethods()) {
+            dynamicCallManager.retrieveCalls(method, javaClass);
+        }
+        return dynamicCallManager.getLambdaMethodNameSet();
+    }
+
+    @Benchmark
+    public Set<String> retrieveAndLinkCalls() {
+        DynamicCallManager dynamicCallManager = new DynamicCallManager();
+        for (Method method : javaClass.getMethods()) {
+            dynamicCallManager.retrieveCalls(method, javaClass);
+            dynamicCallManager.linkCalls(method);
+        }
+        return dynamicCallManager.getLambdaMethodNameSet();
+    }
+}
@@ -0,0 +1,245 @@
+package gr.gousiosg.javacg.benchmark;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: generate the fixture jars of the benchmarks, the sources are generated and compiled by the javac of the build,
+ * so the benchmarks run offline and the jars are the same for the same sizes
+ * <p>
+ * lambda.jar: classes with lambdas, nested lambdas and method references
+ * hierarchy.jar: interfaces, abstract classes and deep class chains, for the ITF/SCC/CCS method calls
+ * app.jar: classes calling each other, Runnable/Callable implementations and Thread children
+ */
+
+public class FixtureJarGenerator {
+
+    public static final String LAMBDA_JAR = "lambda.jar";
+    public static final String HIERARCHY_JAR = "hierarchy.jar";
+    public static final String APP_JAR = "app.jar";
+
+    public static final int LAMBDA_CLASS_NUM = 100;
+    public static final int LAMBDA_METHOD_NUM = 6;
+
+    public static final int HIERARCHY_FAMILY_NUM = 50;
+    public static final int HIERARCHY_DEPTH = 6;
+    public static final int HIERARCHY_METHOD_NUM = 4;
+
+    public static final int APP_CLASS_NUM = 400;
+    public static final int APP_METHOD_NUM = 8;
+
+    // fixed time of the jar entries, so the jars are the same for each build
+    private static final long ENTRY_TIME = 1262304000000L;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("please specify the output directory of the fixture jars");
+            System.exit(1);
+        }
+
+        Path outputDir = Paths.get(args[0]);
+        Files.createDirectories(outputDir);
+
+        generateJar(outputDir.resolve(LAMBDA_JAR), genLambdaSources());
+        generateJar(outputDir.resolve(HIERARCHY_JAR), genHierarchySources());
+        generateJar(outputDir.resolve(APP_JAR), genAppSources());
+    }
+
+    private static List<GeneratedSource> genLambdaSources() {
+        List<GeneratedSource> sourceList = new ArrayList<>();
+        for (int i = 0; i < LAMBDA_CLASS_NUM; i++) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("package fixture.lambda;\n")
+                    .append("import java.util.*;\nimport java.util.function.*;\nimport java.util.stream.*;\n")
+                    .append("public class LambdaClass").append(i).append(" {\n");
+            for (int j = 0; j < LAMBDA_METHOD_NUM; j++) {
+                sb.append("    public List<String> method").append(j).append("(List<String> input) {\n")
+                        .append("        Runnable r = () -> System.out.println(\"").append(i).append('-').append(j).append("\");\n")
+                        .append("        r.run();\n")
+                        .append("        Supplier<Runnable> nested = () -> () -> input.forEach(s -> System.out.println(s.length()));\n")
+                        .append("        nested.get().run();\n")
+                        .append("        Function<String, Integer> length = String::length;\n")
+                        .append("        BiFunction<Integer, Integer, Integer> max = Math::max;\n")
+                        .append("        int total = input.stream().map(length).reduce(0, max::apply);\n")
+                        .append("        return input.stream().map(String::trim).filter(s -> !s.isEmpty()).map(s -> s + total + ")
+                        .append(j).append(").collect(Collectors.toList());\n")
+                        .append("    }\n");
+            }
+            sb.append("}\n");
+            sourceList.add(new GeneratedSource("fixture/lambda/LambdaClass" + i + ".java", sb.toString()));
+        }
+        return sourceList;
+    }
+
+    private static List<GeneratedSource> genHierarchySources() {
+        List<GeneratedSource> sourceList = new ArrayList<>();
+        for (int k = 0; k < HIERARCHY_FAMILY_NUM; k++) {
+            StringBuilder service = new StringBuilder();
+            service.append("package fixture.hierarchy;\npublic interface Service").append(k).append(" {\n");
+            for (int m = 0; m < HIERARCHY_METHOD_NUM; m++) {
+                service.append("    void handle").append(m).append("(String s);\n");
+            }
+            service.append("}\n");
+            sourceList.add(new GeneratedSource("fixture/hierarchy/Service" + k + ".java", service.toString()));
+
+            StringBuilder serviceImpl = new StringBuilder();
+            serviceImpl.append("package fixture.hierarchy;\npublic class ServiceImpl").append(k).append(" implements Service").append(k)
+                    .append(" {\n");
+            for (int m = 0; m < HIERARCHY_METHOD_NUM; m++) {
+                serviceImpl.append("    public void handle").append(m).append("(String s) {\n        System.out.println(s);\n    }\n");
+            }
+            serviceImpl.append("}\n");
+            sourceList.add(new GeneratedSource("fixture/hierarchy/ServiceImpl" + k + ".java", serviceImpl.toString()));
+
+            StringBuilder base = new StringBuilder();
+            base.append("package fixture.hierarchy;\npublic abstract class Base").append(k).append(" implements Service").append(k).append(" {\n")
+                    .append("    public void common(int x) {\n        hook();\n    }\n")
+                    .append("    protected void hook() {\n    }\n")
+                    .append("    public abstract void template(String s);\n")
+                    .append("}\n");
+            sourceList.add(new GeneratedSource("fixture/hierarchy/Base" + k + ".java", base.toString()));
+
+            for (int d = 0; d < HIERARCHY_DEPTH; d++) {
+                String superClassName = d == 0 ? "Base" + k : "Level" + k + "_" + (d - 1);
+                StringBuilder level = new StringBuilder();
+                level.append("package fixture.hierarchy;\npublic class Level").append(k).append('_').append(d)
+                        .append(" extends ").append(superClassName).append(" {\n")
+                        .append("    public void template(String s) {\n        common(s.length());\n    }\n");
+                for (int m = 0; m < HIERARCHY_METHOD_NUM; m++) {
+                    // each level overrides a part of the methods
+                    if ((m + d) % 2 == 0 || d == 0) {
+                        level.append("    public void handle").append(m).append("(String s) {\n        hook();\n    }\n");
+                    }
+                }
+                level.append("}\n");
+                sourceList.add(new GeneratedSource("fixture/hierarchy/Level" + k + "_" + d + ".java", level.toString()));
+            }
+
+            StringBuilder caller = new StringBuilder();
+            caller.append("package fixture.hierarchy;\npublic class Caller").append(k).append(" {\n")
+                    .append("    public void call(Service").append(k).append(" service, Level").append(k).append('_').append(HIERARCHY_DEPTH - 1)
+                    .append(" level) {\n");
+            for (int m = 0; m < HIERARCHY_METHOD_NUM; m++) {
+                caller.append("        service.handle").append(m).append("(\"").append(m).append("\");\n");
+            }
+            caller.append("        level.common(1);\n        level.template(\"t\");\n    }\n}\n");
+            sourceList.add(new GeneratedSource("fixture/hierarchy/Caller" + k + ".java", caller.toString()));
+        }
+        return sourceList;
+    }
+
+    private static List<GeneratedSource> genAppSources() {
+        List<GeneratedSource> sourceList = new ArrayList<>();
+        for (int i = 0; i < APP_CLASS_NUM; i++) {
+            StringBuilder node = new StringBuilder();
+            node.append("package fixture.app;\npublic class Node").append(i).append(" {\n")
+                    .append("    public static int helper(int v) {\n        return Math.max(v, ").append(i).append(");\n    }\n")
+                    .append("    public int value(int v) {\n        return v + ").append(i).append(";\n    }\n");
+            for (int j = 0; j < APP_METHOD_NUM; j++) {
+                node.append("    public int compute").append(j).append("(int v) {\n")
+                        .append("        StringBuilder sb = new StringBuilder();\n")
+                        .append("        sb.append(v).append(\"").append(j).append("\");\n")
+                        .append("        return Node").append((i * 7 + j) % APP_CLASS_NUM).append(".helper(sb.length()) + new Node")
+                        .append((i + j + 3) % APP_CLASS_NUM).append("().value(v);\n")
+                        .append("    }\n");
+            }
+            node.append("}\n");
+            sourceList.add(new GeneratedSource("fixture/app/Node" + i + ".java", node.toString()));
+
+            if (i % 10 != 0) {
+                continue;
+            }
+            sourceList.add(new GeneratedSource("fixture/app/Task" + i + ".java", "package fixture.app;\npublic class Task" + i +
+                    " implements Runnable {\n    public void run() {\n        new Node" + i + "().compute0(1);\n    }\n}\n"));
+            sourceList.add(new GeneratedSource("fixture/app/Job" + i + ".java", "package fixture.app;\npublic class Job" + i +
+                    " implements java.util.concurrent.Callable<Integer> {\n    public Integer call() {\n        return Node" + i +
+                    ".helper(2);\n    }\n}\n"));
+            sourceList.add(new GeneratedSource("fixture/app/Worker" + i + ".java", "package fixture.app;\npublic class Worker" + i +
+                    " extends Thread {\n    public void run() {\n        new Node" + i + "().compute1(2);\n    }\n}\n"));
+            sourceList.add(new GeneratedSource("fixture/app/Starter" + i + ".java", "package fixture.app;\npublic class Starter" + i +
+                    " {\n    public void start() throws Exception {\n        new Thread(new Task" + i + "()).start();\n        new Worker" + i +
+                    "().start();\n        new Job" + i + "().call();\n    }\n}\n"));
+        }
+        return sourceList;
+    }
+
+    // compile the sources into a temp directory and put the class files into the jar in the order of the names
+    private static void generateJar(Path jarPath, List<GeneratedSource> sourceList) throws IOException {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        if (javaCompiler == null) {
+            throw new IllegalStateException("java compiler not found, the fixture jars should be generated with a JDK");
+        }
+
+        Path tmpDir = Files.createTempDirectory("javacg-fixture");
+        try {
+            Path sourceDir = tmpDir.resolve("src");
+            Path classDir = tmpDir.resolve("classes");
+            Files.createDirectories(classDir);
+
+            List<String> compilerArgs = new ArrayList<>();
+            compilerArgs.add("-source");
+            compilerArgs.add("8");
+            compilerArgs.add("-target");
+            compilerArgs.add("8");
+            compilerArgs.add("-nowarn");
+            compilerArgs.add("-Xlint:-options");
+            compilerArgs.add("-d");
+            compilerArgs.add(classDir.toString());
+            for (GeneratedSource generatedSource : sourceList) {
+                Path sourcePath = sourceDir.resolve(generatedSource.path);
+                Files.createDirectories(sourcePath.getParent());
+                Files.write(sourcePath, generatedSource.content.getBytes(StandardCharsets.UTF_8));
+                compilerArgs.add(sourcePath.toString());
+            }
+
+            if (javaCompiler.run(null, null, null, compilerArgs.toArray(new String[0])) != 0) {
+                throw new IllegalStateException("compile fixture sources fail: " + jarPath);
+            }
+
+            List<Path> classFileList;
+            try (Stream<Path> stream = Files.walk(classDir)) {
+                classFileList = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarPath.toFile()))) {
+                for (Path classFile : classFileList) {
+                    JarEntry jarEntry = new JarEntry(classDir.relativize(classFile).toString().replace(File.separatorChar, '/'));
+                    jarEntry.setTime(ENTRY_TIME);
+                    jarOut.putNextEntry(jarEntry);
+                    jarOut.write(Files.readAllBytes(classFile));
+                    jarOut.closeEntry();
+                }
+            }
+            System.out.println("generate fixture jar: " + jarPath + " classes: " + classFileList.size());
+        } finally {
+            try (Stream<Path> stream = Files.walk(tmpDir)) {
+                stream.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static class GeneratedSource {
+        private final String path;
+        private final String content;
+
+        private GeneratedSource(String path, String content) {
+            this.path = path;
+            this.content = content;
+        }
+    }
+}
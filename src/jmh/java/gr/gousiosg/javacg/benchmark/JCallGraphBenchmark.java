@@ -0,0 +1,68 @@
+package gr.gousiosg.javacg.benchmark;
+
+import gr.gousiosg.javacg.stat.JCallGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: end to end JCallGraph.run on the fixture jars, the call graph is written to a temp file
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JCallGraphBenchmark {
+
+    @Param({FixtureJarGenerator.APP_JAR, FixtureJarGenerator.LAMBDA_JAR, FixtureJarGenerator.HIERARCHY_JAR, "all"})
+    public String fixture;
+
+    @Param({"1", "4"})
+    public String threads;
+
+    private String[] jarPaths;
+
+    private File outputFile;
+
+    private PrintStream origOut;
+
+    @Setup
+    public void setup() throws IOException {
+        if ("all".equals(fixture)) {
+            jarPaths = new String[]{BenchmarkFixtures.getFixtureJar(FixtureJarGenerator.APP_JAR).getPath(),
+                    BenchmarkFixtures.getFixtureJar(FixtureJarGenerator.LAMBDA_JAR).getPath(),
+                    BenchmarkFixtures.getFixtureJar(FixtureJarGenerator.HIERARCHY_JAR).getPath()};
+        } else {
+            jarPaths = new String[]{BenchmarkFixtures.getFixtureJar(fixture).getPath()};
+        }
+
+        outputFile = File.createTempFile("javacg-benchmark", ".txt");
+        System.setProperty("output.file", outputFile.getPath());
+        System.setProperty("threads", threads);
+        origOut = BenchmarkFixtures.silenceSystemOut();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        System.setOut(origOut);
+        Files.deleteIfExists(outputFile.toPath());
+        Files.deleteIfExists(new File(outputFile.getPath() + "-annotation.txt").toPath());
+    }
+
+    @Benchmark
+    public boolean run() {
+        if (!JCallGraph.run(jarPaths)) {
+            throw new IllegalStateException("JCallGraph.run fail");
+        }
+        return true;
+    }
+}
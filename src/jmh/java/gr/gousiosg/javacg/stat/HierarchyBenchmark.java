@@ -0,0 +1,86 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.benchmark.BenchmarkFixtures;
+import gr.gousiosg.javacg.benchmark.FixtureJarGenerator;
+import gr.gousiosg.javacg.dto.ClassVisitResult;
+import gr.gousiosg.javacg.output.CallGraphWriter;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import gr.gousiosg.javacg.reader.JarClassReader;
+import gr.gousiosg.javacg.reader.JavaClassCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the hierarchy phase of JCallGraph (ITF/SCC/CCS method calls) on hierarchy.jar, in the package of JCallGraph to
+ * call its package private steps. the phase adds the inherited methods into the children classes, so the pre handle and the
+ * merge of the visit results are done again before each invocation
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HierarchyBenchmark {
+
+    private ClassFileSource classFileSource;
+
+    private List<ClassVisitResult> classVisitResultList;
+
+    private PrintStream origOut;
+
+    @Setup(Level.Trial)
+    public void setupTrial() throws IOException {
+        origOut = BenchmarkFixtures.silenceSystemOut();
+        classFileSource = new JarClassReader(BenchmarkFixtures.getFixtureJar(FixtureJarGenerator.HIERARCHY_JAR).getPath());
+
+        JCallGraph.init();
+        if (!JCallGraph.preHandleClasses(classFileSource, new JavaClassCache(0))) {
+            throw new IllegalStateException("pre handle classes fail");
+        }
+        classVisitResultList = new ArrayList<>();
+        for (String entryName : classFileSource.getClassEntryNames()) {
+            classVisitResultList.add(JCallGraph.visitClass(classFileSource, entryName, null, null));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() throws IOException {
+        JCallGraph.init();
+        if (!JCallGraph.preHandleClasses(classFileSource, new JavaClassCache(0))) {
+            throw new IllegalStateException("pre handle classes fail");
+        }
+        CallGraphWriter discardWriter = BenchmarkFixtures.genDiscardWriter();
+        for (ClassVisitResult classVisitResult : classVisitResultList) {
+            JCallGraph.handleClassVisitResult(classVisitResult, discardWriter);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownTrial() throws IOException {
+        classFileSource.close();
+        System.setOut(origOut);
+    }
+
+    @Benchmark
+    public void hierarchyPhase(Blackhole blackhole) throws IOException {
+        CallGraphWriter resultWriter = BenchmarkFixtures.genBlackholeWriter(blackhole);
+        JCallGraph.buildExtendsTree();
+        JCallGraph.recordExtendsClassMethod(resultWriter);
+        JCallGraph.recordInterfaceCallClassMethod(resultWriter);
+    }
+
+    @Benchmark
+    public void recordInterfaceCallClassMethod(Blackhole blackhole) throws IOException {
+        JCallGraph.recordInterfaceCallClassMethod(BenchmarkFixtures.genBlackholeWriter(blackhole));
+    }
+}
@@ -0,0 +1,67 @@
+package gr.gousiosg.javacg.backend;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.MethodHeaderInfo;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import gr.gousiosg.javacg.stat.ClassVisitor;
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.Method;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: visit the class parsed by BCEL with ClassVisitor and MethodVisitor, the reference backend
+ */
+
+public class BcelClassVisitBackend implements ClassVisitBackend {
+
+    private final boolean lineNumberUsed;
+
+    /**
+     * @param lineNumberUsed if the source lines of the calls are resolved, when false the default line number is used
+     */
+    public BcelClassVisitBackend(boolean lineNumberUsed) {
+        this.lineNumberUsed = lineNumberUsed;
+    }
+
+    @Override
+    public boolean isJavaClassCacheUsed() {
+        return true;
+    }
+
+    @Override
+    public void visitClass(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass, ClassEventHandler classEventHandler)
+            throws IOException {
+        JavaClass javaClass = cachedJavaClass != null ? cachedJavaClass : classFileSource.parseClass(entryName);
+        // the header is generated before the visit, the lambda methods are renamed by DynamicCallManager
+        classEventHandler.visitClassHeader(genClassHeaderInfo(javaClass));
+
+        ClassVisitor classVisitor = new ClassVisitor(javaClass);
+        classVisitor.setClassEventHandler(classEventHandler);
+        classVisitor.setLineNumberUsed(lineNumberUsed);
+        classVisitor.start();
+    }
+
+    public static ClassHeaderInfo genClassHeaderInfo(JavaClass javaClass) {
+        Method[] methods = javaClass.getMethods();
+        List<MethodHeaderInfo> methodHeaderInfoList = new ArrayList<>(methods.length);
+        for (Method method : methods) {
+            methodHeaderInfoList.add(MethodHeaderInfo.genInstance(method.getName(), CommonUtil.argumentList(method.getArgumentTypes()),
+                    method.getAccessFlags()));
+        }
+
+        ClassHeaderInfo classHeaderInfo = new ClassHeaderInfo();
+        classHeaderInfo.setClassName(javaClass.getClassName());
+        classHeaderInfo.setSuperClassName(javaClass.getSuperclassName());
+        classHeaderInfo.setAccessFlags(javaClass.getAccessFlags());
+        classHeaderInfo.setInterfaceNameList(Arrays.asList(javaClass.getInterfaceNames()));
+        classHeaderInfo.setMethodHeaderInfoList(methodHeaderInfoList);
+        return classHeaderInfo;
+    }
+}
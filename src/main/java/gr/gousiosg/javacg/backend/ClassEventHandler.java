@@ -0,0 +1,34 @@
+package gr.gousiosg.javacg.backend;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: receive the facts and the invocations of one class from a class visit backend, the events are sent in the order
+ * of the BCEL visitors, so all the backends generate the same method calls
+ * <p>
+ * for each class: the header, the class references in the order of the constant pool, then for each method in the order of
+ * the class file: its lambda method calls, its annotations and its invocations in the order of the code
+ */
+
+public interface ClassEventHandler {
+
+    // the header of the class, read before the nested lambda methods are renamed
+    void visitClassHeader(ClassHeaderInfo classHeaderInfo);
+
+    // a class referenced in the constant pool, like "java.lang.String" or "[Ljava.lang.String;"
+    void visitClassReference(String referencedClassName);
+
+    // the annotations of a method which has annotations, the type names are like "Lcom/xxx/Annotation;"
+    void visitMethodAnnotations(String callerMethodWithArgs, List<String> annotationTypeNames);
+
+    // a lambda method of the class called by the method, without source line
+    void visitLambdaMethodCall(String callerMethodWithArgs, String lambdaMethodName, String lambdaMethodArgs);
+
+    // an invoke instruction of the method, or the method called through the lambda or method reference passed to the invocation
+    void visitInvoke(String callerMethodWithArgs, String callType, String calleeClassName, String calleeMethodName, String calleeMethodArgs,
+                     int sourceLine);
+}
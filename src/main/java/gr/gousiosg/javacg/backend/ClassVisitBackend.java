@@ -0,0 +1,32 @@
+package gr.gousiosg.javacg.backend;
+
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.IOException;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: read one class and send its facts and invocations to a ClassEventHandler, selected by "-Dclass.backend=bcel|streaming"
+ * <p>
+ * the implementations can be called by several threads, the state of one class is not shared
+ */
+
+public interface ClassVisitBackend {
+
+    // if the classes parsed by BCEL in the pre handle phase are used, when false the pre handle phase only reads the class headers
+    boolean isJavaClassCacheUsed();
+
+    /**
+     * visit one class
+     *
+     * @param classFileSource   the classes of the jar
+     * @param entryName         the entry name of the class
+     * @param cachedJavaClass   the class parsed in the pre handle phase, null when not cached
+     * @param classEventHandler receive the events of the class
+     * @throws IOException read class fail
+     */
+    void visitClass(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass, ClassEventHandler classEventHandler)
+            throws IOException;
+}
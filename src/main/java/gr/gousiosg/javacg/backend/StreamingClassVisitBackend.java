@@ -0,0 +1,464 @@
+package gr.gousiosg.javacg.backend;
+
+import gr.gousiosg.javacg.collection.IntArrayList;
+import gr.gousiosg.javacg.common.Constants;
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.reader.ClassFileBuffer;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import gr.gousiosg.javacg.reader.ClassHeaderReader;
+import gr.gousiosg.javacg.stat.ClassMethodIndex;
+import gr.gousiosg.javacg.stat.DynamicCallManager;
+import gr.gousiosg.javacg.util.BytecodeUtil;
+import gr.gousiosg.javacg.util.CommonUtil;
+import gr.gousiosg.javacg.util.LineNumberCursor;
+import org.apache.bcel.Const;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: visit the class file in the buffer of the reader without a BCEL parse, the constant pool is indexed once and the
+ * code of each method is walked by the length of the instructions, no Instruction or Constant objects are created
+ * <p>
+ * the events are the same as BcelClassVisitBackend: like ClassVisitor, the names of the nested lambda methods renamed by
+ * DynamicCallManager are seen by the method names and the method handles, but not by the invoke instructions which read the
+ * constant pool copied before the renaming
+ */
+
+public class StreamingClassVisitBackend implements ClassVisitBackend {
+
+    private static final String ATTRIBUTE_CODE = "Code";
+    private static final String ATTRIBUTE_LINE_NUMBER_TABLE = "LineNumberTable";
+    private static final String ATTRIBUTE_BOOTSTRAP_METHODS = "BootstrapMethods";
+    private static final String ATTRIBUTE_RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String ATTRIBUTE_RUNTIME_INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+
+    private static final String LAMBDA_METAFACTORY_CLASS_NAME = "java/lang/invoke/LambdaMetafactory";
+
+    // index of the bootstrap argument which is the method handle of the called method, the same as BootstrapMethodTable
+    private static final int CALL_HANDLE_INDEX_ARGUMENT = 1;
+
+    // the same as DynamicCallManager when the called constant is a string
+    private static final String RECORD_METHOD_NAME = "record";
+
+    private final boolean lineNumberUsed;
+
+    /**
+     * @param lineNumberUsed if the source lines of the calls are resolved, when false the default line number is used
+     */
+    public StreamingClassVisitBackend(boolean lineNumberUsed) {
+        this.lineNumberUsed = lineNumberUsed;
+    }
+
+    @Override
+    public boolean isJavaClassCacheUsed() {
+        return false;
+    }
+
+    @Override
+    public void visitClass(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass, ClassEventHandler classEventHandler)
+            throws IOException {
+        classFileSource.readClass(entryName, classBuffer -> {
+            visitClassBuffer(classBuffer, entryName, lineNumberUsed, classEventHandler);
+            return null;
+        });
+    }
+
+    // visit the class file in the buffer, which starts at position 0
+    public static void visitClassBuffer(ByteBuffer classBuffer, String entryName, boolean lineNumberUsed, ClassEventHandler classEventHandler)
+            throws IOException {
+        ClassFileBuffer classFileBuffer = ClassFileBuffer.open(classBuffer, entryName);
+        try {
+            new ClassFileVisitor(classFileBuffer, lineNumberUsed, classEventHandler).visit();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("truncated class file: " + entryName, e);
+        }
+    }
+
+    // the state of one class
+    private static class ClassFileVisitor {
+
+        private final ClassFileBuffer cfb;
+
+        private final boolean lineNumberUsed;
+
+        private final ClassEventHandler classEventHandler;
+
+        private final DynamicCallManager dcManager = new DynamicCallManager();
+
+        // the UTF-8 entries renamed by DynamicCallManager.getLinkedName, seen by the method names and the method handles
+        private String[] renamedUtf8s;
+
+        // offsets of the bootstrap methods in the BootstrapMethods attribute
+        private int[] bootstrapMethodOffsets;
+
+        // if the bootstrap method of each index is a method of LambdaMetafactory, 0 when not found yet, 1 yes, 2 no
+        private byte[] lambdaMetafactoryFlags;
+
+        ClassFileVisitor(ClassFileBuffer cfb, boolean lineNumberUsed, ClassEventHandler classEventHandler) {
+            this.cfb = cfb;
+            this.lineNumberUsed = lineNumberUsed;
+            this.classEventHandler = classEventHandler;
+        }
+
+        void visit() {
+            IntArrayList methodOffsets = new IntArrayList();
+            ClassHeaderInfo classHeaderInfo = ClassHeaderReader.read(cfb, methodOffsets);
+            classEventHandler.visitClassHeader(classHeaderInfo);
+
+            visitClassReferences();
+
+            int methodNum = methodOffsets.size() - 1;
+            readBootstrapMethods(methodOffsets.get(methodNum));
+
+            String[] methodNames = new String[methodNum];
+            String[] methodDescriptors = new String[methodNum];
+            for (int i = 0; i < methodNum; i++) {
+                int pos = methodOffsets.get(i);
+                methodNames[i] = cfb.getUtf8(cfb.getU2(pos + 2));
+                methodDescriptors[i] = cfb.getUtf8(cfb.getU2(pos + 4));
+            }
+            ClassMethodIndex methodIndex = new ClassMethodIndex(methodNames, methodDescriptors);
+            for (int i = 0; i < methodNum; i++) {
+                visitMethod(methodOffsets.get(i), methodIndex, i);
+            }
+        }
+
+        // the classes in the order of the constant pool, the same as ConstantPool.constantToString()
+        private void visitClassReferences() {
+            for (int i = 1; i < cfb.getConstantNum(); i++) {
+                if (cfb.getConstantTag(i) == ClassFileBuffer.CONSTANT_CLASS) {
+                    classEventHandler.visitClassReference(cfb.getClassName(i));
+                }
+            }
+        }
+
+        private void readBootstrapMethods(int classAttributesPos) {
+            int attributeNum = cfb.getU2(classAttributesPos);
+            int pos = classAttributesPos + 2;
+            for (int i = 0; i < attributeNum; i++) {
+                if (ATTRIBUTE_BOOTSTRAP_METHODS.equals(cfb.getUtf8(cfb.getU2(pos)))) {
+                    int bootstrapMethodNum = cfb.getU2(pos + 6);
+                    bootstrapMethodOffsets = new int[bootstrapMethodNum];
+                    lambdaMetafactoryFlags = new byte[bootstrapMethodNum];
+                    int bootstrapPos = pos + 8;
+                    for (int j = 0; j < bootstrapMethodNum; j++) {
+                        bootstrapMethodOffsets[j] = bootstrapPos;
+                        bootstrapPos += 4 + cfb.getU2(bootstrapPos + 2) * 2;
+                    }
+                    return;
+                }
+                pos += 6 + cfb.getInt(pos + 2);
+            }
+        }
+
+        private boolean hasBootstrapMethods() {
+            return bootstrapMethodOffsets != null && bootstrapMethodOffsets.length > 0;
+        }
+
+        // the UTF-8 entry after the renaming, the same as reading the constant pool of the JavaClass
+        private String getRenamedUtf8(int index) {
+            if (renamedUtf8s != null && renamedUtf8s[index] != null) {
+                return renamedUtf8s[index];
+            }
+            return cfb.getUtf8(index);
+        }
+
+        private void renameUtf8(int index, String newName) {
+            if (renamedUtf8s == null) {
+                renamedUtf8s = new String[cfb.getConstantNum()];
+            }
+            renamedUtf8s[index] = newName;
+        }
+
+        private void visitMethod(int methodPos, ClassMethodIndex methodIndex, int i) {
+            int accessFlags = cfb.getU2(methodPos);
+            int nameIndex = cfb.getU2(methodPos + 2);
+            boolean hasCode = (accessFlags & (Const.ACC_ABSTRACT | Const.ACC_NATIVE)) == 0;
+
+            int codeAttributePos = -1;
+            List<String> annotationTypeNames = null;
+            int attributeNum = cfb.getU2(methodPos + 6);
+            int pos = methodPos + 8;
+            for (int j = 0; j < attributeNum; j++) {
+                String attributeName = cfb.getUtf8(cfb.getU2(pos));
+                if (ATTRIBUTE_CODE.equals(attributeName)) {
+                    codeAttributePos = pos;
+                } else if (ATTRIBUTE_RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName) || ATTRIBUTE_RUNTIME_INVISIBLE_ANNOTATIONS.equals(attributeName)) {
+                    if (annotationTypeNames == null) {
+                        annotationTypeNames = new ArrayList<>();
+                    }
+                    readAnnotationTypeNames(pos + 6, annotationTypeNames);
+                }
+                pos += 6 + cfb.getInt(pos + 2);
+            }
+
+            hasCode = hasCode && codeAttributePos != -1;
+            int codeStart = hasCode ? codeAttributePos + 14 : 0;
+            int codeEnd = hasCode ? codeStart + cfb.getInt(codeAttributePos + 10) : 0;
+
+            // the same as DynamicCallManager.retrieveCalls and linkCalls
+            dcManager.clearLambdaMethodNameSet();
+            if (hasCode && hasBootstrapMethods()) {
+                retrieveDynamicCalls(codeStart, codeEnd, getRenamedUtf8(nameIndex));
+            }
+            String methodName = getRenamedUtf8(nameIndex);
+            String linkedName = dcManager.getLinkedName(methodName);
+            if (!linkedName.equals(methodName)) {
+                renameUtf8(nameIndex, linkedName);
+            }
+            methodIndex.rename(i, linkedName);
+
+            // record lambda method call
+            methodIndex.recordLambdaMethodCalls(dcManager.getLambdaMethodNameSet(), i, classEventHandler);
+
+            String callerMethodWithArgs = linkedName + methodIndex.getArgumentList(i);
+            if (annotationTypeNames != null && !annotationTypeNames.isEmpty()) {
+                classEventHandler.visitMethodAnnotations(callerMethodWithArgs, annotationTypeNames);
+            }
+
+            if (hasCode) {
+                visitCode(codeAttributePos, codeStart, codeEnd, callerMethodWithArgs);
+            }
+        }
+
+        private void retrieveDynamicCalls(int codeStart, int codeEnd, String callerName) {
+            for (int pos = codeStart; pos < codeEnd; pos += BytecodeUtil.getInstructionLength(cfb.getBuffer(), codeStart, pos)) {
+                if (cfb.getU1(pos) != Const.INVOKEDYNAMIC) {
+                    continue;
+                }
+                int callHandleIndex = getCallHandleIndex(getBootstrapIndex(cfb.getU2(pos + 1)));
+                if (callHandleIndex == 0) {
+                    continue;
+                }
+                dcManager.recordDynamicCall(getMethodNameFromHandle(callHandleIndex), callerName);
+            }
+        }
+
+        // the same as DynamicCallManager.getMethodNameFromHandle
+        private String getMethodNameFromHandle(int constantIndex) {
+            int tag = cfb.getConstantTag(constantIndex);
+            if (tag == ClassFileBuffer.CONSTANT_METHOD_HANDLE) {
+                int refIndex = cfb.getU2(cfb.getConstantOffset(constantIndex) + 1);
+                int nameAndTypeIndex = cfb.getU2(cfb.getConstantOffset(refIndex) + 2);
+                return getRenamedUtf8(cfb.getU2(cfb.getConstantOffset(nameAndTypeIndex)));
+            }
+            if (tag == ClassFileBuffer.CONSTANT_STRING) {
+                return RECORD_METHOD_NAME;
+            }
+            throw new IllegalStateException("impossible to get constant of tag " + tag + " in " + cfb.getEntryName());
+        }
+
+        // the index of the bootstrap method used by the invokedynamic instruction
+        private int getBootstrapIndex(int invokeDynamicIndex) {
+            return cfb.getU2(cfb.getConstantOffset(invokeDynamicIndex));
+        }
+
+        // the constant index of the called method handle, or 0 when the bootstrap method has no such argument
+        private int getCallHandleIndex(int bootstrapIndex) {
+            int bootstrapPos = bootstrapMethodOffsets[bootstrapIndex];
+            if (cfb.getU2(bootstrapPos + 2) <= CALL_HANDLE_INDEX_ARGUMENT) {
+                return 0;
+            }
+            return cfb.getU2(bootstrapPos + 4 + CALL_HANDLE_INDEX_ARGUMENT * 2);
+        }
+
+        // the same as BootstrapMethodTable.isLambdaMetafactory
+        private boolean isLambdaMetafactory(int bootstrapIndex) {
+            if (lambdaMetafactoryFlags[bootstrapIndex] == 0) {
+                int bootstrapHandleIndex = cfb.getU2(bootstrapMethodOffsets[bootstrapIndex]);
+                int bootstrapRefIndex = cfb.getU2(cfb.getConstantOffset(bootstrapHandleIndex) + 1);
+                String className = cfb.getClassInternalName(cfb.getU2(cfb.getConstantOffset(bootstrapRefIndex)));
+                lambdaMetafactoryFlags[bootstrapIndex] = (byte) (LAMBDA_METAFACTORY_CLASS_NAME.equals(className) ? 1 : 2);
+            }
+            return lambdaMetafactoryFlags[bootstrapIndex] == 1;
+        }
+
+        // the type names of the annotations in the attribute, like "Lcom/xxx/Annotation;"
+        private void readAnnotationTypeNames(int pos, List<String> annotationTypeNames) {
+            int annotationNum = cfb.getU2(pos);
+            pos += 2;
+            for (int i = 0; i < annotationNum; i++) {
+                annotationTypeNames.add(cfb.getUtf8(cfb.getU2(pos)));
+                pos = skipAnnotation(pos);
+            }
+        }
+
+        // return the offset after the annotation
+        private int skipAnnotation(int pos) {
+            int pairNum = cfb.getU2(pos + 2);
+            pos += 4;
+            for (int i = 0; i < pairNum; i++) {
+                pos = skipElementValue(pos + 2);
+            }
+            return pos;
+        }
+
+        // return the offset after the element value
+        private int skipElementValue(int pos) {
+            int tag = cfb.getU1(pos);
+            pos++;
+            switch (tag) {
+                case 'e':
+                    return pos + 4;
+                case '@':
+                    return skipAnnotation(pos);
+                case '[': {
+                    int valueNum = cfb.getU2(pos);
+                    pos += 2;
+                    for (int i = 0; i < valueNum; i++) {
+                        pos = skipElementValue(pos);
+                    }
+                    return pos;
+                }
+                default:
+                    // B C D F I J S Z s c
+                    return pos + 2;
+            }
+        }
+
+        // the same as MethodVisitor.start() and MethodVisitorExtended
+        private void visitCode(int codeAttributePos, int codeStart, int codeEnd, String callerMethodWithArgs) {
+            int codeLength = codeEnd - codeStart;
+            // the instruction starts are only needed to filter the line number entries
+            boolean[] instructionStarts = lineNumberUsed ? new boolean[codeLength] : null;
+            IntArrayList invokeOffsets = new IntArrayList();
+            // the offset of the instruction before each invoke instruction, -1 for the first instruction
+            IntArrayList prevOffsets = new IntArrayList();
+            int prevPos = -1;
+            for (int pos = codeStart; pos < codeEnd; pos += BytecodeUtil.getInstructionLength(cfb.getBuffer(), codeStart, pos)) {
+                if (instructionStarts != null) {
+                    instructionStarts[pos - codeStart] = true;
+                }
+                int opcode = cfb.getU1(pos);
+                if (opcode >= Const.INVOKEVIRTUAL && opcode <= Const.INVOKEDYNAMIC) {
+                    invokeOffsets.add(pos);
+                    prevOffsets.add(prevPos);
+                }
+                prevPos = pos;
+            }
+            if (invokeOffsets.isEmpty()) {
+                return;
+            }
+
+            LineNumberCursor lineNumberCursor = lineNumberUsed ? readLineNumbers(codeEnd, instructionStarts) : null;
+            for (int i = 0; i < invokeOffsets.size(); i++) {
+                int pos = invokeOffsets.get(i);
+                int sourceLine = lineNumberCursor == null ? Constants.DEFAULT_LINE_NUMBER : lineNumberCursor.getSourceLine(pos - codeStart);
+                int opcode = cfb.getU1(pos);
+                int constantIndex = cfb.getU2(pos + 1);
+                if (opcode == Const.INVOKEDYNAMIC) {
+                    int nameAndTypePos = cfb.getConstantOffset(cfb.getU2(cfb.getConstantOffset(constantIndex) + 2));
+                    String descriptor = cfb.getUtf8(cfb.getU2(nameAndTypePos + 2));
+                    classEventHandler.visitInvoke(callerMethodWithArgs, CallTypeEnum.CTE_RAW_INVOKE_DYNAMIC.getType(),
+                            CommonUtil.returnTypeName(descriptor), cfb.getUtf8(cfb.getU2(nameAndTypePos)), CommonUtil.argumentList(descriptor),
+                            sourceLine);
+                    continue;
+                }
+
+                String calleeClassName = cfb.getClassInternalName(cfb.getU2(cfb.getConstantOffset(constantIndex)));
+                // the same as InvokeInstruction.getReferenceType(), the class of the method of an array is the array type
+                calleeClassName = calleeClassName.startsWith("[") ? CommonUtil.typeName(calleeClassName) : calleeClassName.replace('/', '.');
+                int nameAndTypePos = cfb.getConstantOffset(cfb.getU2(cfb.getConstantOffset(constantIndex) + 2));
+                classEventHandler.visitInvoke(callerMethodWithArgs, getCallType(opcode), calleeClassName, cfb.getUtf8(cfb.getU2(nameAndTypePos)),
+                        CommonUtil.argumentList(cfb.getUtf8(cfb.getU2(nameAndTypePos + 2))), sourceLine);
+
+                int prevOffset = prevOffsets.get(i);
+                if (prevOffset != -1 && cfb.getU1(prevOffset) == Const.INVOKEDYNAMIC) {
+                    visitMethodReference(cfb.getU2(prevOffset + 1), callerMethodWithArgs, sourceLine);
+                }
+            }
+        }
+
+        // the lambda or method reference created by the previous instruction is the last argument of the current invocation
+        private void visitMethodReference(int invokeDynamicIndex, String callerMethodWithArgs, int sourceLine) {
+            if (!hasBootstrapMethods()) {
+                return;
+            }
+            int bootstrapIndex = getBootstrapIndex(invokeDynamicIndex);
+            if (!isLambdaMetafactory(bootstrapIndex)) {
+                return;
+            }
+            int callHandleIndex = getCallHandleIndex(bootstrapIndex);
+            if (callHandleIndex == 0 || cfb.getConstantTag(callHandleIndex) != ClassFileBuffer.CONSTANT_METHOD_HANDLE) {
+                return;
+            }
+
+            int handlePos = cfb.getConstantOffset(callHandleIndex);
+            int referenceKind = cfb.getU1(handlePos);
+            int refPos = cfb.getConstantOffset(cfb.getU2(handlePos + 1));
+            String refClassName = cfb.getClassName(cfb.getU2(refPos));
+            int nameAndTypePos = cfb.getConstantOffset(cfb.getU2(refPos + 2));
+            classEventHandler.visitInvoke(callerMethodWithArgs, getMethodReferenceCallType(referenceKind), refClassName,
+                    cfb.getUtf8(cfb.getU2(nameAndTypePos)), CommonUtil.argumentList(cfb.getUtf8(cfb.getU2(nameAndTypePos + 2))), sourceLine);
+        }
+
+        /*
+            the start pcs and the line numbers of the LineNumberTable attributes of the code, only the entries starting at an
+            instruction are kept, the same as MethodGen.getLineNumberTable()
+         */
+        private LineNumberCursor readLineNumbers(int codeEnd, boolean[] instructionStarts) {
+            int pos = codeEnd;
+            int exceptionNum = cfb.getU2(pos);
+            pos += 2 + exceptionNum * 8;
+            int attributeNum = cfb.getU2(pos);
+            pos += 2;
+
+            int[] startPcs = new int[0];
+            int[] lineNumbers = new int[0];
+            int size = 0;
+            for (int i = 0; i < attributeNum; i++) {
+                if (ATTRIBUTE_LINE_NUMBER_TABLE.equals(cfb.getUtf8(cfb.getU2(pos)))) {
+                    int entryNum = cfb.getU2(pos + 6);
+                    startPcs = Arrays.copyOf(startPcs, size + entryNum);
+                    lineNumbers = Arrays.copyOf(lineNumbers, size + entryNum);
+                    for (int j = 0; j < entryNum; j++) {
+                        int startPc = cfb.getU2(pos + 8 + j * 4);
+                        if (startPc < instructionStarts.length && instructionStarts[startPc]) {
+                            startPcs[size] = startPc;
+                            lineNumbers[size] = cfb.getU2(pos + 10 + j * 4);
+                            size++;
+                        }
+                    }
+                }
+                pos += 6 + cfb.getInt(pos + 2);
+            }
+            return new LineNumberCursor(startPcs, lineNumbers, size);
+        }
+    }
+
+    private static String getCallType(int opcode) {
+        switch (opcode) {
+            case Const.INVOKEVIRTUAL:
+                return CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL.getType();
+            case Const.INVOKESPECIAL:
+                return CallTypeEnum.CTE_RAW_INVOKE_SPECIAL.getType();
+            case Const.INVOKESTATIC:
+                return CallTypeEnum.CTE_RAW_INVOKE_STATIC.getType();
+            default:
+                return CallTypeEnum.CTE_RAW_INVOKE_INTERFACE.getType();
+        }
+    }
+
+    // the same as MethodVisitorExtended
+    private static String getMethodReferenceCallType(int referenceKind) {
+        switch (referenceKind) {
+            case Const.REF_invokeStatic:
+                return CallTypeEnum.CTE_RAW_INVOKE_STATIC.getType();
+            case Const.REF_invokeInterface:
+                return CallTypeEnum.CTE_RAW_INVOKE_INTERFACE.getType();
+            case Const.REF_invokeSpecial:
+            case Const.REF_newInvokeSpecial:
+                return CallTypeEnum.CTE_RAW_INVOKE_SPECIAL.getType();
+            default:
+                return CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL.getType();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package gr.gousiosg.javacg.cache;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.ClassVisitResult;
+import gr.gousiosg.javacg.dto.MethodCallDto;
+import gr.gousiosg.javacg.dto.MethodHeaderInfo;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: results of the classes handled by the last run, keyed by the CRC and size of each class file
+ * <p>
+ * the pre handle information and the method calls of a class not changed are reused without parsing it, the ITF/SCC/CCS
+ * method calls are always generated again from the reused information. only the classes found by the current run are
+ * written back, so the classes removed from the inputs do not stay in the cache
+ * <p>
+ * the options changing the results of the classes (like "-Dline.number") are written into the header, the cache written with
+ * other options is not used
+ */
+
+public class IncrementalClassCache {
+
+    private static final int MAGIC = 0x4a434743;
+    private static final int VERSION = 3;
+
+    private final String cacheFilePath;
+
+    // the options of the run, like "line.number=true class.backend=bcel"
+    private final String cacheOptions;
+
+    private final Map<String, ClassVisitResult> loadedResultMap;
+
+    private final Map<String, ClassVisitResult> usedResultMap = new LinkedHashMap<>();
+
+    private long hitNum;
+
+    private long missNum;
+
+    private IncrementalClassCache(String cacheFilePath, String cacheOptions, Map<String, ClassVisitResult> loadedResultMap) {
+        this.cacheFilePath = cacheFilePath;
+        this.cacheOptions = cacheOptions;
+        this.loadedResultMap = loadedResultMap;
+    }
+
+    public static IncrementalClassCache empty(String cacheFilePath, String cacheOptions) {
+        return new IncrementalClassCache(cacheFilePath, cacheOptions, new HashMap<>());
+    }
+
+    // the cache is empty when the file does not exist or is written with other options
+    public static IncrementalClassCache load(String cacheFilePath, String cacheOptions) throws IOException {
+        File cacheFile = new File(cacheFilePath);
+        if (!cacheFile.exists()) {
+            return empty(cacheFilePath, cacheOptions);
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("illegal incremental cache file or version: " + cacheFilePath);
+            }
+            String loadedCacheOptions = in.readUTF();
+            if (!cacheOptions.equals(loadedCacheOptions)) {
+                System.out.println("the options of the incremental cache are changed, all the classes are handled: " + loadedCacheOptions +
+                        " -> " + cacheOptions);
+                return empty(cacheFilePath, cacheOptions);
+            }
+
+            int resultNum = in.readInt();
+            Map<String, ClassVisitResult> loadedResultMap = new HashMap<>(resultNum * 4 / 3 + 1);
+            for (int i = 0; i < resultNum; i++) {
+                String classKey = in.readUTF();
+                loadedResultMap.put(classKey, readClassVisitResult(in));
+            }
+            System.out.println("load incremental cache: " + cacheFilePath + " classes: " + resultNum);
+            return new IncrementalClassCache(cacheFilePath, cacheOptions, loadedResultMap);
+        }
+    }
+
+    public ClassVisitResult get(String classKey) {
+        ClassVisitResult classVisitResult = usedResultMap.get(classKey);
+        return classVisitResult != null ? classVisitResult : loadedResultMap.get(classKey);
+    }
+
+    public void recordHit(String classKey, ClassVisitResult classVisitResult) {
+        hitNum++;
+        usedResultMap.put(classKey, classVisitResult);
+    }
+
+    public void recordMiss() {
+        missNum++;
+    }
+
+    public void put(String classKey, ClassVisitResult classVisitResult) {
+        usedResultMap.put(classKey, classVisitResult);
+    }
+
+    public String getStatistics() {
+        long total = hitNum + missNum;
+        return String.format("incremental cache hit: %d miss: %d hit rate: %.2f%%", hitNum, missNum, total == 0 ? 0D : hitNum * 100D / total);
+    }
+
+    // written into a temp file first, an interrupted run does not break the cache of the last run
+    public void save() throws IOException {
+        File tmpFile = new File(cacheFilePath + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(cacheOptions);
+            out.writeInt(usedResultMap.size());
+            for (Map.Entry<String, ClassVisitResult> entry : usedResultMap.entrySet()) {
+                out.writeUTF(entry.getKey());
+                writeClassVisitResult(out, entry.getValue());
+            }
+        }
+        Files.move(tmpFile.toPath(), Paths.get(cacheFilePath), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeClassVisitResult(DataOutputStream out, ClassVisitResult classVisitResult) throws IOException {
+        ClassHeaderInfo classHeaderInfo = classVisitResult.getClassHeaderInfo();
+        out.writeUTF(classHeaderInfo.getClassName());
+        out.writeUTF(classHeaderInfo.getSuperClassName());
+        out.writeInt(classHeaderInfo.getAccessFlags());
+        writeStringList(out, classHeaderInfo.getInterfaceNameList());
+        out.writeInt(classHeaderInfo.getMethodHeaderInfoList().size());
+        for (MethodHeaderInfo methodHeaderInfo : classHeaderInfo.getMethodHeaderInfoList()) {
+            out.writeUTF(methodHeaderInfo.getMethodName());
+            out.writeUTF(methodHeaderInfo.getMethodArgs());
+            out.writeInt(methodHeaderInfo.getAccessFlags());
+        }
+
+        out.writeInt(classVisitResult.getMethodCallList().size());
+        for (MethodCallDto methodCallDto : classVisitResult.getMethodCallList()) {
+            out.writeUTF(methodCallDto.getCallerClassName());
+            out.writeUTF(methodCallDto.getCalleeClassName());
+            // the call type is empty for a class reference, which has no method fields
+            if (methodCallDto.isClassReference()) {
+                out.writeUTF("");
+                continue;
+            }
+            out.writeUTF(methodCallDto.getCallType());
+            out.writeUTF(methodCallDto.getCallerMethodWithArgs());
+            out.writeUTF(methodCallDto.getCalleeMethodName());
+            out.writeUTF(methodCallDto.getCalleeMethodArgs());
+            out.writeInt(methodCallDto.getSourceLine());
+            out.writeUTF(methodCallDto.getFirstCallType() == null ? "" : methodCallDto.getFirstCallType().getType());
+            out.writeUTF(methodCallDto.getFirstCallClassName() == null ? "" : methodCallDto.getFirstCallClassName());
+        }
+
+        writeStringSetMap(out, classVisitResult.getCalleeMethodMap());
+        writeStringSetMap(out, classVisitResult.getMethodAnnotationMap());
+
+        out.writeInt(classVisitResult.getDependClassFlagMap().size());
+        for (Map.Entry<String, Integer> entry : classVisitResult.getDependClassFlagMap().entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static ClassVisitResult readClassVisitResult(DataInputStream in) throws IOException {
+        ClassHeaderInfo classHeaderInfo = new ClassHeaderInfo();
+        classHeaderInfo.setClassName(in.readUTF());
+        classHeaderInfo.setSuperClassName(in.readUTF());
+        classHeaderInfo.setAccessFlags(in.readInt());
+        classHeaderInfo.setInterfaceNameList(readStringList(in));
+        int methodNum = in.readInt();
+        List<MethodHeaderInfo> methodHeaderInfoList = new ArrayList<>(methodNum);
+        for (int i = 0; i < methodNum; i++) {
+            methodHeaderInfoList.add(MethodHeaderInfo.genInstance(in.readUTF(), in.readUTF(), in.readInt()));
+        }
+        classHeaderInfo.setMethodHeaderInfoList(methodHeaderInfoList);
+
+        int methodCallNum = in.readInt();
+        List<MethodCallDto> methodCallList = new ArrayList<>(methodCallNum);
+        for (int i = 0; i < methodCallNum; i++) {
+            String callerClassName = in.readUTF();
+            String calleeClassName = in.readUTF();
+            String callType = in.readUTF();
+            if (callType.isEmpty()) {
+                methodCallList.add(MethodCallDto.genClassReferenceInstance(callerClassName, calleeClassName));
+                continue;
+            }
+            String callerMethodWithArgs = in.readUTF();
+            MethodCallDto methodCallDto = MethodCallDto.genInstance(callerClassName, callerMethodWithArgs, callType, calleeClassName, in.readUTF(),
+                    in.readUTF(), in.readInt());
+            String firstCallType = in.readUTF();
+            String firstCallClassName = in.readUTF();
+            if (!firstCallType.isEmpty()) {
+                methodCallDto.setFirstCallType(CallTypeEnum.getFromType(firstCallType));
+                methodCallDto.setFirstCallClassName(firstCallClassName);
+            }
+            methodCallList.add(methodCallDto);
+        }
+
+        ClassVisitResult classVisitResult = new ClassVisitResult();
+        classVisitResult.setClassHeaderInfo(classHeaderInfo);
+        classVisitResult.setMethodCallList(methodCallList);
+        classVisitResult.setCalleeMethodMap(readStringSetMap(in));
+        classVisitResult.setMethodAnnotationMap(readStringSetMap(in));
+
+        int dependClassNum = in.readInt();
+        Map<String, Integer> dependClassFlagMap = new LinkedHashMap<>(dependClassNum);
+        for (int i = 0; i < dependClassNum; i++) {
+            dependClassFlagMap.put(in.readUTF(), in.readInt());
+        }
+        classVisitResult.setDependClassFlagMap(dependClassFlagMap);
+        return classVisitResult;
+    }
+
+    private static void writeStringList(DataOutputStream out, Collection<String> stringList) throws IOException {
+        out.writeInt(stringList.size());
+        for (String string : stringList) {
+            out.writeUTF(string);
+        }
+    }
+
+    private static List<String> readStringList(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<String> stringList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            stringList.add(in.readUTF());
+        }
+        return stringList;
+    }
+
+    private static void writeStringSetMap(DataOutputStream out, Map<String, Set<String>> stringSetMap) throws IOException {
+        out.writeInt(stringSetMap.size());
+        for (Map.Entry<String, Set<String>> entry : stringSetMap.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeStringList(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, Set<String>> readStringSetMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, Set<String>> stringSetMap = new LinkedHashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            stringSetMap.put(in.readUTF(), new LinkedHashSet<>(readStringList(in)));
+        }
+        return stringSetMap;
+    }
+}
@@ -0,0 +1,52 @@
+package gr.gousiosg.javacg.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: growable list of ints
+ */
+
+public class IntArrayList {
+
+    private static final int INIT_CAPACITY = 4;
+
+    private int[] elements;
+
+    private int size;
+
+    public IntArrayList() {
+        elements = new int[INIT_CAPACITY];
+    }
+
+    public void add(int element) {
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        elements[size++] = element;
+    }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + " size: " + size);
+        }
+        return elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+}
@@ -0,0 +1,57 @@
+package gr.gousiosg.javacg.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: map from dense non-negative int keys (symbol ids) to objects, backed by an array indexed by the key,
+ * null values are not supported. the keys are iterated in ascending order:
+ * for (int key = map.nextKey(-1); key >= 0; key = map.nextKey(key))
+ */
+
+public class IntArrayMap<V> {
+
+    private static final int INIT_CAPACITY = 64;
+
+    private Object[] values;
+
+    private int size;
+
+    public IntArrayMap() {
+        values = new Object[INIT_CAPACITY];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        return key < values.length ? (V) values[key] : null;
+    }
+
+    public void put(int key, V value) {
+        if (key >= values.length) {
+            values = Arrays.copyOf(values, Math.max(values.length * 2, key + 1));
+        }
+        if (values[key] == null) {
+            size++;
+        }
+        values[key] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // return the next key after the key, or -1 when there is none
+    public int nextKey(int key) {
+        for (int i = key + 1; i < values.length; i++) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
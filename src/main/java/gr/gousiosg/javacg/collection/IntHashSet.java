@@ -0,0 +1,97 @@
+package gr.gousiosg.javacg.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: open addressing set of non-negative ints (symbol ids), no boxing and no entry objects
+ */
+
+public class IntHashSet {
+
+    private static final int EMPTY = -1;
+
+    private static final int INIT_CAPACITY = 8;
+
+    private int[] keys;
+
+    private int size;
+
+    public IntHashSet() {
+        keys = new int[INIT_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public boolean add(int key) {
+        int mask = keys.length - 1;
+        int slot = SymbolTable.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        size++;
+        // keep the load factor under 3/4
+        if (size * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+        return true;
+    }
+
+    public boolean contains(int key) {
+        int mask = keys.length - 1;
+        int slot = SymbolTable.mix(key) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // the number of the slots, used to estimate the memory of the set
+    public int capacity() {
+        return keys.length;
+    }
+
+    public int[] toArray() {
+        int[] array = new int[size];
+        int index = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                array[index++] = key;
+            }
+        }
+        return array;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        keys = new int[newCapacity];
+        Arrays.fill(keys, EMPTY);
+        int mask = newCapacity - 1;
+        for (int key : oldKeys) {
+            if (key == EMPTY) {
+                continue;
+            }
+            int slot = SymbolTable.mix(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+        }
+    }
+}
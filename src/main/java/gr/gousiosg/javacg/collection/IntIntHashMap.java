@@ -0,0 +1,104 @@
+package gr.gousiosg.javacg.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: open addressing map from non-negative int keys (symbol ids) to int values
+ * <p>
+ * the entries are iterated by slot: for (int slot = map.nextSlot(-1); slot >= 0; slot = map.nextSlot(slot)),
+ * the map should not be modified during the iteration
+ */
+
+public class IntIntHashMap {
+
+    private static final int EMPTY = -1;
+
+    private static final int INIT_CAPACITY = 8;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    public IntIntHashMap() {
+        keys = new int[INIT_CAPACITY];
+        values = new int[INIT_CAPACITY];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    public void put(int key, int value) {
+        int slot = findSlot(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        // keep the load factor under 3/4
+        if (size * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public int get(int key, int defaultValue) {
+        int slot = findSlot(key);
+        return keys[slot] == key ? values[slot] : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return keys[findSlot(key)] == key;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // return the next used slot after the slot, or -1 when there is none
+    public int nextSlot(int slot) {
+        for (int i = slot + 1; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int keyAt(int slot) {
+        return keys[slot];
+    }
+
+    public int valueAt(int slot) {
+        return values[slot];
+    }
+
+    // the slot of the key, or the empty slot where the key should be put
+    private int findSlot(int key) {
+        int mask = keys.length - 1;
+        int slot = SymbolTable.mix(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[newCapacity];
+        values = new int[newCapacity];
+        Arrays.fill(keys, EMPTY);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = findSlot(oldKeys[i]);
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package gr.gousiosg.javacg.collection;
+
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: trie of string prefixes to int values, finds the value of the longest prefix of a string with one walk from the root,
+ * no object is created by a search
+ * <p>
+ * each node keeps its children in arrays sorted by char, the package names have few different chars at each level. the trie is
+ * only read after it is built, the searches can be done by several threads
+ */
+
+public class PrefixTrie {
+
+    private static final char[] NO_CHARS = new char[0];
+
+    private static final Node[] NO_NODES = new Node[0];
+
+    private static class Node {
+
+        private char[] childChars = NO_CHARS;
+
+        private Node[] children = NO_NODES;
+
+        // -1 when no prefix ends at this node
+        private int value = -1;
+
+        Node getChild(char ch) {
+            int index = Arrays.binarySearch(childChars, ch);
+            return index < 0 ? null : children[index];
+        }
+
+        Node getOrAddChild(char ch) {
+            int index = Arrays.binarySearch(childChars, ch);
+            if (index >= 0) {
+                return children[index];
+            }
+
+            index = -index - 1;
+            Node child = new Node();
+            char[] newChildChars = new char[childChars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(childChars, 0, newChildChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newChildChars[index] = ch;
+            newChildren[index] = child;
+            System.arraycopy(childChars, index, newChildChars, index + 1, childChars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            childChars = newChildChars;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * @param value not negative, replaces the value of the same prefix
+     */
+    public void put(String prefix, int value) {
+        Node node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.getOrAddChild(prefix.charAt(i));
+        }
+        node.value = value;
+    }
+
+    // the value of the longest prefix of the text, -1 when no prefix is found, the empty prefix is a prefix of all the texts
+    public int findLongestPrefix(String text) {
+        Node node = root;
+        int value = root.value;
+        for (int i = 0; i < text.length(); i++) {
+            node = node.getChild(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.value >= 0) {
+                value = node.value;
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,259 @@
+package gr.gousiosg.javacg.collection;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: map from dense non-negative int keys (symbol ids) to sets of ints, the memory used by the sets is bounded, the cold
+ * partitions are spilled into local files and read back when one of their keys is read
+ * <p>
+ * the keys are grouped into partitions of PARTITION_SIZE consecutive keys, the ids of the classes of one jar are mostly
+ * consecutive, so the partitions of the jars handled before are cold. when the approximate size of the sets in memory is larger
+ * than the max size, the least recently used partitions are appended to their spill files as runs (key, number of values,
+ * values) and dropped from memory. a value added to a spilled partition is kept in memory, a read of a spilled partition merges
+ * all its runs into memory and deletes its file
+ * <p>
+ * the sets returned by get() are only read until the next add(), not thread safe
+ */
+
+public class SpillableIntSetMap implements Closeable {
+
+    private static final int PARTITION_SHIFT = 10;
+
+    private static final int PARTITION_SIZE = 1 << PARTITION_SHIFT;
+
+    // the approximate size of an IntHashSet without its keys, and of its slot in the partition
+    private static final int SET_OVERHEAD_BYTES = 48;
+
+    // the approximate size of the map of a partition when it is full
+    private static final int PARTITION_MAP_BYTES = 16 + 4 * PARTITION_SIZE;
+
+    private final long maxMemoryBytes;
+
+    private final File spillDir;
+
+    // created in spillDir at the first spill
+    private File spillSubDir;
+
+    private IntArrayMap<IntHashSet>[] partitions;
+
+    // the approximate size of the sets of each partition in memory
+    private long[] partitionBytes;
+
+    // the access counter of the last use of each partition
+    private long[] partitionLastUses;
+
+    // if the partition has runs in its spill file which are not in memory
+    private boolean[] partitionSpilled;
+
+    private long memoryBytes;
+
+    private long accessCounter;
+
+    private long spillNum;
+
+    private long spillBytes;
+
+    private long loadNum;
+
+    /**
+     * @param maxMemoryBytes the max approximate size of the sets kept in memory, 0 for no limit
+     * @param spillDir       the parent directory of the spill files, its sub directory is created at the first spill
+     */
+    @SuppressWarnings("unchecked")
+    public SpillableIntSetMap(long maxMemoryBytes, File spillDir) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.spillDir = spillDir;
+        partitions = new IntArrayMap[16];
+        partitionBytes = new long[16];
+        partitionLastUses = new long[16];
+        partitionSpilled = new boolean[16];
+    }
+
+    public void add(int key, int value) throws IOException {
+        int partition = key >>> PARTITION_SHIFT;
+        IntArrayMap<IntHashSet> partitionMap = getPartitionMap(partition);
+        IntHashSet set = partitionMap.get(key & (PARTITION_SIZE - 1));
+        if (set == null) {
+            set = new IntHashSet();
+            partitionMap.put(key & (PARTITION_SIZE - 1), set);
+            addBytes(partition, SET_OVERHEAD_BYTES + 4L * set.capacity());
+        }
+        int oldCapacity = set.capacity();
+        if (set.add(value) && set.capacity() != oldCapacity) {
+            addBytes(partition, 4L * (set.capacity() - oldCapacity));
+        }
+        partitionLastUses[partition] = ++accessCounter;
+        spillIfNeeded(partition);
+    }
+
+    // the set of the key, null when no value is added for the key, the spilled runs of its partition are read back
+    public IntHashSet get(int key) throws IOException {
+        int partition = key >>> PARTITION_SHIFT;
+        if (partition >= partitions.length) {
+            return null;
+        }
+        if (partitionSpilled[partition]) {
+            loadPartition(partition);
+        }
+        IntArrayMap<IntHashSet> partitionMap = partitions[partition];
+        if (partitionMap == null) {
+            return null;
+        }
+        partitionLastUses[partition] = ++accessCounter;
+        return partitionMap.get(key & (PARTITION_SIZE - 1));
+    }
+
+    long getSpillNum() {
+        return spillNum;
+    }
+
+    long getLoadNum() {
+        return loadNum;
+    }
+
+    public String getStatistics() {
+        return String.format("callee method sets in memory: %.1f MB spill: %d (%.1f MB) load: %d", memoryBytes / 1024D / 1024D, spillNum,
+                spillBytes / 1024D / 1024D, loadNum);
+    }
+
+    private IntArrayMap<IntHashSet> getPartitionMap(int partition) {
+        if (partition >= partitions.length) {
+            int newLength = Math.max(partitions.length * 2, partition + 1);
+            partitions = Arrays.copyOf(partitions, newLength);
+            partitionBytes = Arrays.copyOf(partitionBytes, newLength);
+            partitionLastUses = Arrays.copyOf(partitionLastUses, newLength);
+            partitionSpilled = Arrays.copyOf(partitionSpilled, newLength);
+        }
+        IntArrayMap<IntHashSet> partitionMap = partitions[partition];
+        if (partitionMap == null) {
+            partitionMap = new IntArrayMap<>();
+            partitions[partition] = partitionMap;
+            addBytes(partition, PARTITION_MAP_BYTES);
+        }
+        return partitionMap;
+    }
+
+    private void addBytes(int partition, long bytes) {
+        partitionBytes[partition] += bytes;
+        memoryBytes += bytes;
+    }
+
+    // spill the least recently used partitions until 3/4 of the max size is used, the partition in use is kept
+    private void spillIfNeeded(int usedPartition) throws IOException {
+        if (maxMemoryBytes <= 0 || memoryBytes <= maxMemoryBytes) {
+            return;
+        }
+        while (memoryBytes > maxMemoryBytes / 4 * 3) {
+            int coldPartition = -1;
+            for (int partition = 0; partition < partitions.length; partition++) {
+                if (partition != usedPartition && partitionBytes[partition] > 0 &&
+                        (coldPartition < 0 || partitionLastUses[partition] < partitionLastUses[coldPartition])) {
+                    coldPartition = partition;
+                }
+            }
+            if (coldPartition < 0) {
+                // only the partition in use is in memory
+                return;
+            }
+            spillPartition(coldPartition);
+        }
+    }
+
+    private void spillPartition(int partition) throws IOException {
+        IntArrayMap<IntHashSet> partitionMap = partitions[partition];
+        File spillFile = getSpillFile(partition);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(spillFile, true)))) {
+            for (int key = partitionMap.nextKey(-1); key >= 0; key = partitionMap.nextKey(key)) {
+                int[] values = partitionMap.get(key).toArray();
+                out.writeInt(key);
+                out.writeInt(values.length);
+                for (int value : values) {
+                    out.writeInt(value);
+                }
+                spillBytes += 8L + 4L * values.length;
+            }
+        }
+
+        partitions[partition] = null;
+        memoryBytes -= partitionBytes[partition];
+        partitionBytes[partition] = 0;
+        partitionSpilled[partition] = true;
+        spillNum++;
+    }
+
+    // merge the runs of the spill file into memory, other partitions may be spilled for the loaded sets
+    private void loadPartition(int partition) throws IOException {
+        File spillFile = getSpillFile(partition);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+            IntArrayMap<IntHashSet> partitionMap = getPartitionMap(partition);
+            while (true) {
+                int key;
+                try {
+                    key = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                IntHashSet set = partitionMap.get(key);
+                if (set == null) {
+                    set = new IntHashSet();
+                    partitionMap.put(key, set);
+                    addBytes(partition, SET_OVERHEAD_BYTES + 4L * set.capacity());
+                }
+                int oldCapacity = set.capacity();
+                for (int i = in.readInt(); i > 0; i--) {
+                    set.add(in.readInt());
+                }
+                addBytes(partition, 4L * (set.capacity() - oldCapacity));
+            }
+        }
+
+        if (!spillFile.delete()) {
+            System.err.println("delete spill file fail: " + spillFile);
+        }
+        partitionSpilled[partition] = false;
+        loadNum++;
+        partitionLastUses[partition] = ++accessCounter;
+        spillIfNeeded(partition);
+    }
+
+    private File getSpillFile(int partition) throws IOException {
+        if (spillSubDir == null) {
+            spillSubDir = Files.createTempDirectory(spillDir.toPath(), "jcallgraph-spill").toFile();
+            System.out.println("spill callee method sets into: " + spillSubDir);
+        }
+        return new File(spillSubDir, "partition-" + partition + ".run");
+    }
+
+    // delete the spill files
+    @Override
+    public void close() {
+        if (spillSubDir == null) {
+            return;
+        }
+        File[] spillFiles = spillSubDir.listFiles();
+        if (spillFiles != null) {
+            for (File spillFile : spillFiles) {
+                if (!spillFile.delete()) {
+                    System.err.println("delete spill file fail: " + spillFile);
+                }
+            }
+        }
+        if (!spillSubDir.delete()) {
+            System.err.println("delete spill directory fail: " + spillSubDir);
+        }
+        spillSubDir = null;
+    }
+}
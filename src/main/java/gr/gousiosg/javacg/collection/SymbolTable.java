@@ -0,0 +1,160 @@
+package gr.gousiosg.javacg.collection;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: intern dictionary of strings (class names, methods with arguments), each distinct string gets a dense int id
+ * starting from 0 in the order of first use, so the global structures can be keyed and filled by ids instead of strings
+ * <p>
+ * not thread safe, the ids are only generated by the thread which merges the results of the visited classes
+ */
+
+public class SymbolTable {
+
+    private static final int INIT_CAPACITY = 1024;
+
+    private String[] symbols;
+
+    // (hash of the symbol << 32) | (id + 1) of the symbol in the slot, 0 for an empty slot. the strings are only compared when the
+    // hashes are the same, a probe does not read the symbols which are not matched
+    private long[] slots;
+
+    private int size;
+
+    public SymbolTable() {
+        symbols = new String[INIT_CAPACITY];
+        slots = new long[INIT_CAPACITY * 2];
+    }
+
+    // get the id of the symbol, a new id is generated when the symbol is used for the first time
+    public int getId(String symbol) {
+        int hash = symbol.hashCode();
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (true) {
+            long entry = slots[slot];
+            if (entry == 0) {
+                break;
+            }
+            int idPlusOne = (int) entry;
+            if ((int) (entry >>> 32) == hash && symbols[idPlusOne - 1].equals(symbol)) {
+                return idPlusOne - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return addSymbol(symbol, hash, slot);
+    }
+
+    // add the symbol into the empty slot
+    private int addSymbol(String symbol, int hash, int slot) {
+        int id = size++;
+        if (id == symbols.length) {
+            symbols = Arrays.copyOf(symbols, id * 2);
+        }
+        symbols[id] = symbol;
+        slots[slot] = toEntry(hash, id);
+        // keep the load factor of the slots under 1/2
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return id;
+    }
+
+    /**
+     * get the id of the symbol in the bytes, which are all ASCII, the string is only created when the symbol is used for the first time
+     *
+     * @param bytes  the bytes which contain the symbol
+     * @param offset the offset of the symbol
+     * @param length the length of the symbol
+     * @return the id of the symbol
+     */
+    public int getAsciiId(byte[] bytes, int offset, int length) {
+        // the same as String.hashCode() for ASCII characters
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (true) {
+            long entry = slots[slot];
+            if (entry == 0) {
+                break;
+            }
+            int idPlusOne = (int) entry;
+            if ((int) (entry >>> 32) == hash && equalsAscii(symbols[idPlusOne - 1], bytes, offset, length)) {
+                return idPlusOne - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return addSymbol(new String(bytes, offset, length, StandardCharsets.ISO_8859_1), hash, slot);
+    }
+
+    private static boolean equalsAscii(String symbol, byte[] bytes, int offset, int length) {
+        if (symbol.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (symbol.charAt(i) != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // get the id of the symbol, return -1 when the symbol is never used
+    public int findId(String symbol) {
+        int hash = symbol.hashCode();
+        int mask = slots.length - 1;
+        int slot = mix(hash) & mask;
+        while (true) {
+            long entry = slots[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int idPlusOne = (int) entry;
+            if ((int) (entry >>> 32) == hash && symbols[idPlusOne - 1].equals(symbol)) {
+                return idPlusOne - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public String getSymbol(int id) {
+        return symbols[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] newSlots = new long[newCapacity];
+        int mask = newCapacity - 1;
+        for (long entry : slots) {
+            if (entry == 0) {
+                continue;
+            }
+            int slot = mix((int) (entry >>> 32)) & mask;
+            while (newSlots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            newSlots[slot] = entry;
+        }
+        slots = newSlots;
+    }
+
+    private static long toEntry(int hash, int id) {
+        return ((long) hash << 32) | (id + 1);
+    }
+
+    // spread the bits of the hash over the slots, also used by the other hash tables and the method slots of the graph images
+    public static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,77 @@
+package gr.gousiosg.javacg.dto;
+
+import org.apache.bcel.Const;
+
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: class name, super class, interfaces and methods of a class, used by the pre handle phase and to find the
+ * information of super and children classes
+ */
+
+public class ClassHeaderInfo {
+
+    private String className;
+
+    private String superClassName;
+
+    private int accessFlags;
+
+    private List<String> interfaceNameList;
+
+    private List<MethodHeaderInfo> methodHeaderInfoList;
+
+    public boolean isInterface() {
+        return (accessFlags & Const.ACC_INTERFACE) != 0;
+    }
+
+    public boolean isClass() {
+        return !isInterface();
+    }
+
+    public boolean isAbstract() {
+        return (accessFlags & Const.ACC_ABSTRACT) != 0;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public void setClassName(String className) {
+        this.className = className;
+    }
+
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    public void setSuperClassName(String superClassName) {
+        this.superClassName = superClassName;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public void setAccessFlags(int accessFlags) {
+        this.accessFlags = accessFlags;
+    }
+
+    public List<String> getInterfaceNameList() {
+        return interfaceNameList;
+    }
+
+    public void setInterfaceNameList(List<String> interfaceNameList) {
+        this.interfaceNameList = interfaceNameList;
+    }
+
+    public List<MethodHeaderInfo> getMethodHeaderInfoList() {
+        return methodHeaderInfoList;
+    }
+
+    public void setMethodHeaderInfoList(List<MethodHeaderInfo> methodHeaderInfoList) {
+        this.methodHeaderInfoList = methodHeaderInfoList;
+    }
+}
@@ -0,0 +1,76 @@
+package gr.gousiosg.javacg.dto;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: result of visiting one class, merged into the global structures in the order of the jar entries
+ */
+
+public class ClassVisitResult {
+
+    // key of the class content in the incremental cache, null when the cache is not used
+    private String classKey;
+
+    private ClassHeaderInfo classHeaderInfo;
+
+    private List<MethodCallDto> methodCallList;
+
+    private Map<String, Set<String>> calleeMethodMap;
+
+    private Map<String, Set<String>> methodAnnotationMap;
+
+    // Runnable/Callable/Thread flags of the classes whose <init> or start() is called, when they change the class is visited again
+    private Map<String, Integer> dependClassFlagMap;
+
+    public String getClassKey() {
+        return classKey;
+    }
+
+    public void setClassKey(String classKey) {
+        this.classKey = classKey;
+    }
+
+    public ClassHeaderInfo getClassHeaderInfo() {
+        return classHeaderInfo;
+    }
+
+    public void setClassHeaderInfo(ClassHeaderInfo classHeaderInfo) {
+        this.classHeaderInfo = classHeaderInfo;
+    }
+
+    public List<MethodCallDto> getMethodCallList() {
+        return methodCallList;
+    }
+
+    public void setMethodCallList(List<MethodCallDto> methodCallList) {
+        this.methodCallList = methodCallList;
+    }
+
+    public Map<String, Set<String>> getCalleeMethodMap() {
+        return calleeMethodMap;
+    }
+
+    public void setCalleeMethodMap(Map<String, Set<String>> calleeMethodMap) {
+        this.calleeMethodMap = calleeMethodMap;
+    }
+
+    public Map<String, Set<String>> getMethodAnnotationMap() {
+        return methodAnnotationMap;
+    }
+
+    public void setMethodAnnotationMap(Map<String, Set<String>> methodAnnotationMap) {
+        this.methodAnnotationMap = methodAnnotationMap;
+    }
+
+    public Map<String, Integer> getDependClassFlagMap() {
+        return dependClassFlagMap;
+    }
+
+    public void setDependClassFlagMap(Map<String, Integer> dependClassFlagMap) {
+        this.dependClassFlagMap = dependClassFlagMap;
+    }
+}
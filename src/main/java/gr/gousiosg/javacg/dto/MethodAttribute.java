@@ -1,40 +1,35 @@
-package gr.gousiosg.javacg.dto;
-
-/**
- * @author adrninistrator
- * @date 2021/6/25
- * @description:
- */
-
-public class MethodAttribute {
-
-    private boolean abstractMethod;
-
-    private boolean publicMethod;
-
-    private boolean protectedMethod;
-
-    public boolean isAbstractMethod() {
-        return abstractMethod;
-    }
-
-    public void setAbstractMethod(boolean abstractMethod) {
-        this.abstractMethod = abstractMethod;
-    }
-
-    public boolean isPublicMethod() {
-        return publicMethod;
-    }
-
-    public void setPublicMethod(boolean publicMethod) {
-        this.publicMethod = publicMethod;
-    }
-
-    public boolean isProtectedMethod() {
-        return protectedMethod;
-    }
-
-    public void setProtectedMethod(boolean protectedMethod) {
-        this.protectedMethod = protectedMethod;
-    }
-}
+package gr.gousiosg.javacg.dto;
+
+/**
+ * @author adrninistrator
+ * @date 2021/6/25
+ * @description: the attributes of a method are kept as int flags in the method maps of ClassHierarchyIndex
+ */
+
+public class MethodAttribute {
+
+    public static final int FLAG_ABSTRACT = 1;
+
+    public static final int FLAG_PUBLIC = 1 << 1;
+
+    public static final int FLAG_PROTECTED = 1 << 2;
+
+    public static int genFlags(boolean abstractMethod, boolean publicMethod, boolean protectedMethod) {
+        return (abstractMethod ? FLAG_ABSTRACT : 0) | (publicMethod ? FLAG_PUBLIC : 0) | (protectedMethod ? FLAG_PROTECTED : 0);
+    }
+
+    public static boolean isAbstractMethod(int flags) {
+        return (flags & FLAG_ABSTRACT) != 0;
+    }
+
+    public static boolean isPublicMethod(int flags) {
+        return (flags & FLAG_PUBLIC) != 0;
+    }
+
+    public static boolean isProtectedMethod(int flags) {
+        return (flags & FLAG_PROTECTED) != 0;
+    }
+
+    private MethodAttribute() {
+    }
+}
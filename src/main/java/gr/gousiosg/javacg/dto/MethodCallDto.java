@@ -1,38 +1,144 @@
-package gr.gousiosg.javacg.dto;
-
-/**
- * @author adrninistrator
- * @date 2021/7/26
- * @description:
- */
-
-public class MethodCallDto {
-
-    private String methodCall;
-
-    private int sourceLine;
-
-    public static MethodCallDto genInstance(String methodCall, int sourceLine) {
-        MethodCallDto methodCallDto = new MethodCallDto();
-        methodCallDto.setMethodCall(methodCall);
-        methodCallDto.setSourceLine(sourceLine);
-        return methodCallDto;
-    }
-
-    //
-    public String getMethodCall() {
-        return methodCall;
-    }
-
-    public void setMethodCall(String methodCall) {
-        this.methodCall = methodCall;
-    }
-
-    public int getSourceLine() {
-        return sourceLine;
-    }
-
-    public void setSourceLine(int sourceLine) {
-        this.sourceLine = sourceLine;
-    }
-}
+package gr.gousiosg.javacg.dto;
+
+import gr.gousiosg.javacg.common.Constants;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+/**
+ * @author adrninistrator
+ * @date 2021/7/26
+ * @description:
+ */
+
+public class MethodCallDto {
+
+    /*
+        the fields are written by the CallGraphWriter one by one, the method call is not formatted into a string
+        for a class reference, callerClassName is the class, calleeClassName is the referenced class, the other fields are null
+     */
+    private String callerClassName;
+
+    // like "method(int,java.lang.String)", the same string is used by all the method calls of a caller method
+    private String callerMethodWithArgs;
+
+    private String callType;
+
+    private String calleeClassName;
+
+    private String calleeMethodName;
+
+    // like "(int,java.lang.String)"
+    private String calleeMethodArgs;
+
+    private int sourceLine;
+
+    /*
+        when not null, the method call is only written for the first caller of firstCallClassName,
+        the check is done when the result is written, in the order of the jar entries
+     */
+    private CallTypeEnum firstCallType;
+
+    private String firstCallClassName;
+
+    public static MethodCallDto genInstance(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                            String calleeMethodName, String calleeMethodArgs, int sourceLine) {
+        MethodCallDto methodCallDto = new MethodCallDto();
+        methodCallDto.setCallerClassName(callerClassName);
+        methodCallDto.setCallerMethodWithArgs(callerMethodWithArgs);
+        methodCallDto.setCallType(callType);
+        methodCallDto.setCalleeClassName(calleeClassName);
+        methodCallDto.setCalleeMethodName(calleeMethodName);
+        methodCallDto.setCalleeMethodArgs(calleeMethodArgs);
+        methodCallDto.setSourceLine(sourceLine);
+        return methodCallDto;
+    }
+
+    public static MethodCallDto genClassReferenceInstance(String className, String referencedClassName) {
+        return genInstance(className, null, null, referencedClassName, null, null, Constants.NONE_LINE_NUMBER);
+    }
+
+    public static MethodCallDto genFirstCallInstance(String callerClassName, String callerMethodWithArgs, CallTypeEnum firstCallType,
+                                                     String calleeMethodName) {
+        MethodCallDto methodCallDto = genInstance(callerClassName, callerMethodWithArgs, firstCallType.getType(), callerClassName,
+                calleeMethodName, "()", Constants.DEFAULT_LINE_NUMBER);
+        methodCallDto.setFirstCallType(firstCallType);
+        methodCallDto.setFirstCallClassName(callerClassName);
+        return methodCallDto;
+    }
+
+    public boolean isClassReference() {
+        return callType == null;
+    }
+
+    //
+    public String getCallerClassName() {
+        return callerClassName;
+    }
+
+    public void setCallerClassName(String callerClassName) {
+        this.callerClassName = callerClassName;
+    }
+
+    public String getCallerMethodWithArgs() {
+        return callerMethodWithArgs;
+    }
+
+    public void setCallerMethodWithArgs(String callerMethodWithArgs) {
+        this.callerMethodWithArgs = callerMethodWithArgs;
+    }
+
+    public String getCallType() {
+        return callType;
+    }
+
+    public void setCallType(String callType) {
+        this.callType = callType;
+    }
+
+    public String getCalleeClassName() {
+        return calleeClassName;
+    }
+
+    public void setCalleeClassName(String calleeClassName) {
+        this.calleeClassName = calleeClassName;
+    }
+
+    public String getCalleeMethodName() {
+        return calleeMethodName;
+    }
+
+    public void setCalleeMethodName(String calleeMethodName) {
+        this.calleeMethodName = calleeMethodName;
+    }
+
+    public String getCalleeMethodArgs() {
+        return calleeMethodArgs;
+    }
+
+    public void setCalleeMethodArgs(String calleeMethodArgs) {
+        this.calleeMethodArgs = calleeMethodArgs;
+    }
+
+    public int getSourceLine() {
+        return sourceLine;
+    }
+
+    public void setSourceLine(int sourceLine) {
+        this.sourceLine = sourceLine;
+    }
+
+    public CallTypeEnum getFirstCallType() {
+        return firstCallType;
+    }
+
+    public void setFirstCallType(CallTypeEnum firstCallType) {
+        this.firstCallType = firstCallType;
+    }
+
+    public String getFirstCallClassName() {
+        return firstCallClassName;
+    }
+
+    public void setFirstCallClassName(String firstCallClassName) {
+        this.firstCallClassName = firstCallClassName;
+    }
+}
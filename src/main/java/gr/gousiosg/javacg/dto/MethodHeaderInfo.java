@@ -0,0 +1,71 @@
+package gr.gousiosg.javacg.dto;
+
+import org.apache.bcel.Const;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: name, argument list and access flags of a method, enough for the pre handle phase
+ */
+
+public class MethodHeaderInfo {
+
+    private String methodName;
+
+    // like "(int,java.lang.String)"
+    private String methodArgs;
+
+    private int accessFlags;
+
+    public static MethodHeaderInfo genInstance(String methodName, String methodArgs, int accessFlags) {
+        MethodHeaderInfo methodHeaderInfo = new MethodHeaderInfo();
+        methodHeaderInfo.setMethodName(methodName);
+        methodHeaderInfo.setMethodArgs(methodArgs);
+        methodHeaderInfo.setAccessFlags(accessFlags);
+        return methodHeaderInfo;
+    }
+
+    public String getMethodWithArgs() {
+        return methodName + methodArgs;
+    }
+
+    public boolean isPublic() {
+        return (accessFlags & Const.ACC_PUBLIC) != 0;
+    }
+
+    public boolean isProtected() {
+        return (accessFlags & Const.ACC_PROTECTED) != 0;
+    }
+
+    public boolean isStatic() {
+        return (accessFlags & Const.ACC_STATIC) != 0;
+    }
+
+    public boolean isAbstract() {
+        return (accessFlags & Const.ACC_ABSTRACT) != 0;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+    }
+
+    public String getMethodArgs() {
+        return methodArgs;
+    }
+
+    public void setMethodArgs(String methodArgs) {
+        this.methodArgs = methodArgs;
+    }
+
+    public int getAccessFlags() {
+        return accessFlags;
+    }
+
+    public void setAccessFlags(int accessFlags) {
+        this.accessFlags = accessFlags;
+    }
+}
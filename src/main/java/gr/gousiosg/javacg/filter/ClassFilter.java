@@ -0,0 +1,155 @@
+package gr.gousiosg.javacg.filter;
+
+import gr.gousiosg.javacg.collection.PrefixTrie;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.zip.CRC32;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the include/exclude rules of "-Dclass.filter.file", one rule in each line like "-com.google." or
+ * "+com.google.common.base.", the empty lines and the lines starting with "#" are skipped
+ * <p>
+ * a rule is "+" to include or "-" to exclude, then a prefix of the class names, "*" for all the classes. the rule of the longest
+ * prefix of a class name is used, a class without rule is included. the prefix of a package ends with ".", so "com.google."
+ * does not match "com.googlex.A"
+ * <p>
+ * the rules are used at 3 stages: the class files of the excluded classes are not read (STAGE_CLASS), the calls of the methods
+ * of the excluded classes are not generated when the classes are visited (STAGE_CALLEE), and the lines of the output with an
+ * excluded class are not written (STAGE_OUTPUT). the number of the classes, the calls and the lines removed by each rule at each
+ * stage is counted, the counters can be updated by several threads
+ */
+
+public class ClassFilter {
+
+    public static final int STAGE_CLASS = 0;
+    public static final int STAGE_CALLEE = 1;
+    public static final int STAGE_OUTPUT = 2;
+
+    private static final int STAGE_NUM = 3;
+
+    private static final String ALL_CLASSES = "*";
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+
+    // the directories of the classes inside the spring boot fat jars and the wars, the class names start after them
+    private static final String[] CLASS_ROOT_PREFIXES = {"BOOT-INF/classes/", "WEB-INF/classes/"};
+
+    // the classes of a multi-release jar for the version N are in "META-INF/versions/N/"
+    private static final String VERSIONS_PREFIX = "META-INF/versions/";
+
+    // the rules in the order of the file, like "-com.google."
+    private final List<String> ruleList;
+
+    private final boolean[] ruleIncludes;
+
+    // prefix -> index of the rule
+    private final PrefixTrie ruleTrie;
+
+    // index of the rule * STAGE_NUM + stage -> number removed
+    private final AtomicLongArray removedNums;
+
+    private ClassFilter(List<String> ruleList, boolean[] ruleIncludes, PrefixTrie ruleTrie) {
+        this.ruleList = ruleList;
+        this.ruleIncludes = ruleIncludes;
+        this.ruleTrie = ruleTrie;
+        removedNums = new AtomicLongArray(ruleList.size() * STAGE_NUM);
+    }
+
+    public static ClassFilter load(String ruleFilePath) throws IOException {
+        List<String> ruleList = new ArrayList<>();
+        List<Boolean> ruleIncludeList = new ArrayList<>();
+        PrefixTrie ruleTrie = new PrefixTrie();
+        for (String line : Files.readAllLines(Paths.get(ruleFilePath), StandardCharsets.UTF_8)) {
+            String rule = line.trim();
+            if (rule.isEmpty() || rule.startsWith("#")) {
+                continue;
+            }
+
+            char type = rule.charAt(0);
+            String prefix = rule.substring(1).trim();
+            if ((type != '+' && type != '-') || prefix.isEmpty()) {
+                throw new IOException("illegal class filter rule, please use \"+prefix\" or \"-prefix\": " + line);
+            }
+            // a later rule of the same prefix replaces the former one
+            ruleTrie.put(ALL_CLASSES.equals(prefix) ? "" : prefix, ruleList.size());
+            ruleList.add(type + prefix);
+            ruleIncludeList.add(type == '+');
+        }
+
+        boolean[] ruleIncludes = new boolean[ruleIncludeList.size()];
+        for (int i = 0; i < ruleIncludes.length; i++) {
+            ruleIncludes[i] = ruleIncludeList.get(i);
+        }
+        return new ClassFilter(ruleList, ruleIncludes, ruleTrie);
+    }
+
+    public int getRuleNum() {
+        return ruleList.size();
+    }
+
+    // the hash of the rules in the order of the file, the results cached with other rules are not used
+    public String getRuleHash() {
+        CRC32 crc32 = new CRC32();
+        for (String rule : ruleList) {
+            crc32.update(rule.getBytes(StandardCharsets.UTF_8));
+            crc32.update('\n');
+        }
+        return Long.toHexString(crc32.getValue());
+    }
+
+    // if the class is excluded, the removal is counted for the rule at the stage
+    public boolean exclude(String className, int stage) {
+        int ruleIndex = ruleTrie.findLongestPrefix(className);
+        if (ruleIndex < 0 || ruleIncludes[ruleIndex]) {
+            return false;
+        }
+        removedNums.incrementAndGet(ruleIndex * STAGE_NUM + stage);
+        return true;
+    }
+
+    // if the class of the entry like "a/b/C.class" or "BOOT-INF/classes/a/b/C.class" is excluded, counted at STAGE_CLASS
+    public boolean excludeEntry(String entryName) {
+        return exclude(getEntryClassName(entryName), STAGE_CLASS);
+    }
+
+    // the class name of the entry, without the class root directory of the archive layouts
+    static String getEntryClassName(String entryName) {
+        int start = 0;
+        for (String classRootPrefix : CLASS_ROOT_PREFIXES) {
+            if (entryName.startsWith(classRootPrefix)) {
+                start = classRootPrefix.length();
+                break;
+            }
+        }
+        if (entryName.startsWith(VERSIONS_PREFIX, start)) {
+            int versionEnd = entryName.indexOf('/', start + VERSIONS_PREFIX.length());
+            if (versionEnd > 0) {
+                start = versionEnd + 1;
+            }
+        }
+        int end = entryName.endsWith(CLASS_FILE_SUFFIX) ? entryName.length() - CLASS_FILE_SUFFIX.length() : entryName.length();
+        return entryName.substring(start, end).replace('/', '.');
+    }
+
+    // one line for each exclude rule
+    public List<String> getStatistics() {
+        List<String> statisticList = new ArrayList<>(ruleList.size());
+        for (int i = 0; i < ruleList.size(); i++) {
+            if (ruleIncludes[i]) {
+                continue;
+            }
+            statisticList.add("class filter rule: " + ruleList.get(i) + " classes: " + removedNums.get(i * STAGE_NUM + STAGE_CLASS) +
+                    " method calls: " + removedNums.get(i * STAGE_NUM + STAGE_CALLEE) + " output lines: " +
+                    removedNums.get(i * STAGE_NUM + STAGE_OUTPUT));
+        }
+        return statisticList;
+    }
+}
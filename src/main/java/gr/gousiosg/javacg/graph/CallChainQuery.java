@@ -0,0 +1,409 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.collection.IntArrayList;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: find the methods which call the target methods transitively, by walking the reverse edges of a {@link CallGraphIndex}
+ * <p>
+ * usage: CallChainQuery callGraphFile [target...], when no target is given the targets are read from the standard input, one
+ * query for each line, so the call graph is only loaded once
+ * <p>
+ * a target is a method "a.b.C:f(int)", all the overloads of a method "a.b.C:f", all the methods of a class "a.b.C", or all the
+ * methods of a package "a.b." (ended with '.')
+ * <p>
+ * options: -Dquery.depth=N the max number of callers in a chain, -1 for no limit (default 10), -Dquery.max.results=N the max number
+ * of chains or tree lines (default 1000), -Dquery.output=chain|tree (default chain)
+ */
+
+public class CallChainQuery {
+
+    public static final String OUTPUT_CHAIN = "chain";
+    public static final String OUTPUT_TREE = "tree";
+
+    private static final int DEFAULT_MAX_DEPTH = 10;
+    private static final int DEFAULT_MAX_RESULTS = 1000;
+
+    private final CallGraphIndex callGraphIndex;
+
+    // the max number of callers from the target method, -1 for no limit
+    private final int maxDepth;
+
+    // the query stops when this number of chains or tree lines is written
+    private final int maxResults;
+
+    private final CallGraphEdgeFilter filter;
+
+    private int resultNum;
+
+    private boolean truncated;
+
+    public CallChainQuery(CallGraphIndex callGraphIndex, int maxDepth, int maxResults, CallGraphEdgeFilter filter) {
+        this.callGraphIndex = callGraphIndex;
+        this.maxDepth = maxDepth;
+        this.maxResults = maxResults;
+        this.filter = filter;
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("usage: " + CallChainQuery.class.getName() + " callGraphFile [target...]");
+            System.exit(1);
+        }
+
+        int maxDepth = Integer.parseInt(System.getProperty("query.depth", String.valueOf(DEFAULT_MAX_DEPTH)));
+        int maxResults = Integer.parseInt(System.getProperty("query.max.results", String.valueOf(DEFAULT_MAX_RESULTS)));
+        String outputType = System.getProperty("query.output", OUTPUT_CHAIN);
+        if (!OUTPUT_CHAIN.equals(outputType) && !OUTPUT_TREE.equals(outputType)) {
+            System.err.println("illegal query.output: " + outputType + ", only support " + OUTPUT_CHAIN + " " + OUTPUT_TREE);
+            System.exit(1);
+        }
+
+        long startTime = System.currentTimeMillis();
+        CallGraphIndex callGraphIndex;
+        try {
+            callGraphIndex = CallGraphIndexLoader.load(args[0]);
+        } catch (IOException e) {
+            System.err.println("load call graph fail: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        System.err.println("methods: " + callGraphIndex.getMethodNum() + " edges: " + callGraphIndex.getEdgeNum() + " load time: " +
+                (System.currentTimeMillis() - startTime) + " ms");
+
+        CallChainQuery query = new CallChainQuery(callGraphIndex, maxDepth, maxResults, CallGraphEdgeFilter.ALL);
+        if (args.length > 1) {
+            for (int i = 1; i < args.length; i++) {
+                query.query(args[i], OUTPUT_TREE.equals(outputType), System.out);
+            }
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            query.query(reader, OUTPUT_TREE.equals(outputType), System.out);
+        } catch (IOException e) {
+            System.err.println("read targets fail: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // run one query for each line of the reader which is not empty, the result of each query is flushed before the next line is read
+    public void query(BufferedReader reader, boolean tree, PrintStream out) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String target = line.trim();
+            if (!target.isEmpty()) {
+                query(target, tree, out);
+                out.flush();
+            }
+        }
+    }
+
+    // run one query and write the result, the number of the results and the time used are written to System.err
+    public void query(String target, boolean tree, PrintStream out) {
+        long startTime = System.nanoTime();
+        int[] targetIds = findMethodIds(target);
+        if (targetIds.length == 0) {
+            System.err.println("target not found: " + target);
+            return;
+        }
+
+        if (tree) {
+            writeTree(targetIds, out);
+        } else {
+            writeChains(targetIds, out);
+        }
+        System.err.println("target: " + target + " methods: " + targetIds.length + " results: " + resultNum +
+                (truncated ? " (truncated)" : "") + " time: " + (System.nanoTime() - startTime) / 1000_000 + " ms");
+    }
+
+    /**
+     * find the ids of the target methods
+     *
+     * @param target a method with arguments, a method without arguments, a class, or a package ended with '.'
+     * @return the ids of the methods in the call graph
+     */
+    public int[] findMethodIds(String target) {
+        if (target.indexOf('(') >= 0) {
+            int methodId = callGraphIndex.findMethodId(target);
+            return methodId < 0 ? new int[0] : new int[]{methodId};
+        }
+
+        String prefix;
+        if (target.indexOf(':') >= 0) {
+            // all the overloads of the method
+            prefix = target + "(";
+        } else if (target.endsWith(".")) {
+            prefix = target;
+        } else {
+            prefix = target + ":";
+        }
+
+        IntArrayList methodIdList = new IntArrayList();
+        for (int methodId = 0; methodId < callGraphIndex.getMethodNum(); methodId++) {
+            if (callGraphIndex.getMethod(methodId).startsWith(prefix)) {
+                methodIdList.add(methodId);
+            }
+        }
+        return methodIdList.toArray();
+    }
+
+    /**
+     * write the call chains from each target method to its callers, like "a.b.C:f() <- (M)a.b.D:g() 12 <- (I)a.b.E:h() 5", the
+     * type and the line are the ones of the call from the caller to the method before it
+     * <p>
+     * a chain is written when it reaches a method without callers, a method whose callers are all in the chain (a cycle), or the
+     * max depth, in the last case it is ended with " <- ..." if there are more callers. a caller which calls the method from
+     * several lines is only followed once
+     *
+     * @return the number of the written chains
+     */
+    public int writeChains(int[] targetIds, PrintStream out) {
+        resultNum = 0;
+        truncated = false;
+
+        int pathCapacity = maxDepth < 0 ? 16 : maxDepth + 1;
+        // the methods in the chain, the reverse edge which reached each of them, and the next reverse edge to try of each method
+        int[] pathMethods = new int[pathCapacity];
+        int[] pathEdges = new int[pathCapacity];
+        int[] pathCursors = new int[pathCapacity];
+        // if a caller of the method of each level has been followed
+        boolean[] pathExtended = new boolean[pathCapacity];
+        BitSet onPath = new BitSet(callGraphIndex.getMethodNum());
+        StringBuilder chain = new StringBuilder();
+
+        for (int targetId : targetIds) {
+            pathMethods[0] = targetId;
+            pathEdges[0] = -1;
+            pathCursors[0] = callGraphIndex.getCallerEdgeStart(targetId);
+            pathExtended[0] = false;
+            onPath.set(targetId);
+            int depth = 0;
+            while (depth >= 0) {
+                if (resultNum >= maxResults) {
+                    truncated = true;
+                    onPath.clear();
+                    return resultNum;
+                }
+
+                int methodId = pathMethods[depth];
+                int reverseEdge = depth == maxDepth ? -1 : nextCallerEdge(methodId, pathCursors[depth], onPath);
+                if (reverseEdge >= 0) {
+                    pathCursors[depth] = reverseEdge + 1;
+                    pathExtended[depth] = true;
+                    depth++;
+                    if (depth == pathMethods.length) {
+                        pathMethods = Arrays.copyOf(pathMethods, depth * 2);
+                        pathEdges = Arrays.copyOf(pathEdges, depth * 2);
+                        pathCursors = Arrays.copyOf(pathCursors, depth * 2);
+                        pathExtended = Arrays.copyOf(pathExtended, depth * 2);
+                    }
+                    int callerId = callGraphIndex.getCaller(reverseEdge);
+                    pathMethods[depth] = callerId;
+                    pathEdges[depth] = reverseEdge;
+                    pathCursors[depth] = callGraphIndex.getCallerEdgeStart(callerId);
+                    pathExtended[depth] = false;
+                    onPath.set(callerId);
+                    continue;
+                }
+
+                if (!pathExtended[depth]) {
+                    boolean moreCallers = depth == maxDepth &&
+                            nextCallerEdge(methodId, callGraphIndex.getCallerEdgeStart(methodId), onPath) >= 0;
+                    writeChain(pathMethods, pathEdges, depth, moreCallers, chain, out);
+                    resultNum++;
+                }
+                onPath.clear(methodId);
+                depth--;
+            }
+        }
+        return resultNum;
+    }
+
+    // the next reverse edge of the method from the cursor, whose caller is not in the excluded methods and is accepted by the filter,
+    // -1 when none
+    private int nextCallerEdge(int methodId, int cursor, BitSet excluded) {
+        int start = callGraphIndex.getCallerEdgeStart(methodId);
+        int end = callGraphIndex.getCallerEdgeEnd(methodId);
+        for (int reverseEdge = cursor; reverseEdge < end; reverseEdge++) {
+            int callerId = callGraphIndex.getCaller(reverseEdge);
+            // the callers of a method are sorted by id, the calls from the same caller are together and the first accepted one is used
+            if (reverseEdge > start && callerId == callGraphIndex.getCaller(reverseEdge - 1) &&
+                    isAccepted(reverseEdge - 1, methodId)) {
+                continue;
+            }
+            if (!excluded.get(callerId) && isAccepted(reverseEdge, methodId)) {
+                return reverseEdge;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isAccepted(int reverseEdge, int calleeId) {
+        if (filter == CallGraphEdgeFilter.ALL) {
+            return true;
+        }
+        int edge = callGraphIndex.getCallerEdge(reverseEdge);
+        return filter.accept(callGraphIndex.getCaller(reverseEdge), calleeId, callGraphIndex.getEdgeCallType(edge),
+                callGraphIndex.getEdgeSourceLine(edge));
+    }
+
+    private void writeChain(int[] pathMethods, int[] pathEdges, int depth, boolean moreCallers, StringBuilder chain, PrintStream out) {
+        chain.setLength(0);
+        chain.append(callGraphIndex.getMethod(pathMethods[0]));
+        for (int i = 1; i <= depth; i++) {
+            chain.append(" <- ");
+            appendCaller(chain, pathEdges[i]);
+        }
+        if (moreCallers) {
+            chain.append(" <- ...");
+        }
+        out.println(chain);
+    }
+
+    // "(M)a.b.D:g() 12", the call type and the source line of the call from the caller
+    private void appendCaller(StringBuilder stringBuilder, int reverseEdge) {
+        int edge = callGraphIndex.getCallerEdge(reverseEdge);
+        stringBuilder.append('(').append(callGraphIndex.getEdgeCallType(edge).getType()).append(')')
+                .append(callGraphIndex.getMethod(callGraphIndex.getCaller(reverseEdge)))
+                .append(' ').append(callGraphIndex.getEdgeSourceLine(edge));
+    }
+
+    /**
+     * write the callers of the target methods as a tree, each level is indented by two spaces, like
+     * <pre>
+     * a.b.C:f()
+     *   &lt;- (M)a.b.D:g() 12
+     *     &lt;- (I)a.b.E:h() 5
+     * </pre>
+     * the callers are found in breadth first order and each one is written once, under the method by which it is found first, so
+     * its level is its shortest distance to the targets and the tree is not deeper than needed. the search stops when the number
+     * of the found methods reaches the max number of results
+     *
+     * @return the number of the written lines
+     */
+    public int writeTree(int[] targetIds, PrintStream out) {
+        resultNum = 0;
+        truncated = false;
+
+        // the found methods in breadth first order, the targets first, with the index of the method which they call in the tree and
+        // the reverse edge of the call
+        IntArrayList foundMethods = new IntArrayList();
+        IntArrayList parents = new IntArrayList();
+        IntArrayList foundEdges = new IntArrayList();
+        BitSet found = new BitSet(callGraphIndex.getMethodNum());
+        for (int targetId : targetIds) {
+            if (foundMethods.size() >= maxResults) {
+                truncated = true;
+                break;
+            }
+            if (!found.get(targetId)) {
+                found.set(targetId);
+                foundMethods.add(targetId);
+                parents.add(-1);
+                foundEdges.add(-1);
+            }
+        }
+
+        int levelStart = 0;
+        for (int depth = 0; !truncated && (maxDepth < 0 || depth < maxDepth); depth++) {
+            int levelEnd = foundMethods.size();
+            if (levelStart == levelEnd) {
+                break;
+            }
+            for (int i = levelStart; i < levelEnd && !truncated; i++) {
+                int methodId = foundMethods.get(i);
+                for (int reverseEdge = nextCallerEdge(methodId, callGraphIndex.getCallerEdgeStart(methodId), found); reverseEdge >= 0;
+                     reverseEdge = nextCallerEdge(methodId, reverseEdge + 1, found)) {
+                    if (foundMethods.size() >= maxResults) {
+                        truncated = true;
+                        break;
+                    }
+                    int callerId = callGraphIndex.getCaller(reverseEdge);
+                    found.set(callerId);
+                    foundMethods.add(callerId);
+                    parents.add(i);
+                    foundEdges.add(reverseEdge);
+                }
+            }
+            levelStart = levelEnd;
+        }
+
+        // the children of each found method are after it in breadth first order, they are grouped by the parent for the output
+        int foundNum = foundMethods.size();
+        int[] childOffsets = new int[foundNum + 1];
+        for (int i = 0; i < foundNum; i++) {
+            if (parents.get(i) >= 0) {
+                childOffsets[parents.get(i) + 1]++;
+            }
+        }
+        for (int i = 0; i < foundNum; i++) {
+            childOffsets[i + 1] += childOffsets[i];
+        }
+        int[] children = new int[foundNum];
+        int[] positions = Arrays.copyOf(childOffsets, foundNum);
+        for (int i = 0; i < foundNum; i++) {
+            if (parents.get(i) >= 0) {
+                children[positions[parents.get(i)]++] = i;
+            }
+        }
+
+        // depth first output, the stack keeps the found index and the next child of each level
+        int[] stackFound = new int[16];
+        int[] stackCursors = new int[16];
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < foundNum && parents.get(i) < 0; i++) {
+            out.println(callGraphIndex.getMethod(foundMethods.get(i)));
+            resultNum++;
+            stackFound[0] = i;
+            stackCursors[0] = childOffsets[i];
+            int depth = 0;
+            while (depth >= 0) {
+                int current = stackFound[depth];
+                if (stackCursors[depth] == childOffsets[current + 1]) {
+                    depth--;
+                    continue;
+                }
+
+                int child = children[stackCursors[depth]++];
+                line.setLength(0);
+                for (int j = 0; j <= depth; j++) {
+                    line.append("  ");
+                }
+                line.append("<- ");
+                appendCaller(line, foundEdges.get(child));
+                out.println(line);
+                resultNum++;
+
+                depth++;
+                if (depth == stackFound.length) {
+                    stackFound = Arrays.copyOf(stackFound, depth * 2);
+                    stackCursors = Arrays.copyOf(stackCursors, depth * 2);
+                }
+                stackFound[depth] = child;
+                stackCursors[depth] = childOffsets[child];
+            }
+        }
+        return resultNum;
+    }
+
+    public int getResultNum() {
+        return resultNum;
+    }
+
+    // if the last query stopped at the max number of results
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
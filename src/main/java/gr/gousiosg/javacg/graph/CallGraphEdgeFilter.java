@@ -0,0 +1,17 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: decide if an edge of the call graph is followed by a traversal of {@link CallGraphIndex}
+ */
+
+@FunctionalInterface
+public interface CallGraphEdgeFilter {
+
+    CallGraphEdgeFilter ALL = (callerId, calleeId, callType, sourceLine) -> true;
+
+    boolean accept(int callerId, int calleeId, CallTypeEnum callType, int sourceLine);
+}
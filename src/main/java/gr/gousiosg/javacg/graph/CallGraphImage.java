@@ -0,0 +1,444 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.collection.SymbolTable;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: on-disk image of a {@link CallGraphIndex}, the arrays are written as they are in memory so the image is opened by
+ * mapping the sections with FileChannel.map, without parsing, and the index is queried through the mapped buffers
+ * <p>
+ * all the values are little endian, header: int magic, int version, int number of methods, int number of edges, int number of
+ * sections, the offset and the length (long) of each section, the CRC32 of the data after the header (long), the CRC32 of the
+ * header before it (long)
+ * <p>
+ * sections, each one starts at a multiple of 8: CALL_TYPES (the types joined by '\n', the index of a type is its code in
+ * CALL_TYPE_CODES), METHOD_BYTES (UTF-8 bytes of the methods), METHOD_OFFSETS (int, the start of each method in METHOD_BYTES and
+ * the end), METHOD_SLOTS (long, open addressing table of (hash &lt;&lt; 32) | (id + 1) to find a method without reading all of them),
+ * CALLEE_OFFSETS, CALLEES, CALL_TYPE_CODES (byte), SOURCE_LINES, CALLER_OFFSETS, CALLERS, CALLER_EDGES, like the arrays of
+ * CallGraphIndex
+ * <p>
+ * the header checksum is checked when the image is opened, the data checksum needs to read the whole file and is only checked when
+ * asked. each section is mapped separately, a section can not be larger than 2 GB
+ * <p>
+ * usage: CallGraphImage callGraphFile imageFile, write the image of an output file of JCallGraph (text or binary)
+ */
+
+public class CallGraphImage {
+
+    public static final int MAGIC = 0x4a434749;
+    public static final int VERSION = 1;
+
+    private static final int SECTION_CALL_TYPES = 0;
+    private static final int SECTION_METHOD_BYTES = 1;
+    private static final int SECTION_METHOD_OFFSETS = 2;
+    private static final int SECTION_METHOD_SLOTS = 3;
+    private static final int SECTION_CALLEE_OFFSETS = 4;
+    private static final int SECTION_CALLEES = 5;
+    private static final int SECTION_CALL_TYPE_CODES = 6;
+    private static final int SECTION_SOURCE_LINES = 7;
+    private static final int SECTION_CALLER_OFFSETS = 8;
+    private static final int SECTION_CALLERS = 9;
+    private static final int SECTION_CALLER_EDGES = 10;
+    private static final int SECTION_NUM = 11;
+
+    private static final int HEADER_SIZE = 4 * 5 + 16 * SECTION_NUM + 8 + 8;
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    // the data checksum is computed over mapped chunks of this size
+    private static final int CHECKSUM_CHUNK_SIZE = 64 * 1024 * 1024;
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("usage: " + CallGraphImage.class.getName() + " callGraphFile imageFile");
+            System.exit(1);
+        }
+
+        try {
+            long startTime = System.currentTimeMillis();
+            CallGraphIndex callGraphIndex = CallGraphIndexLoader.load(args[0]);
+            write(callGraphIndex, args[1]);
+            System.out.println("write graph image: " + args[1] + " methods: " + callGraphIndex.getMethodNum() + " edges: " +
+                    callGraphIndex.getEdgeNum() + " time: " + (System.currentTimeMillis() - startTime) + " ms");
+        } catch (IOException e) {
+            System.err.println("write graph image fail: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // if the file starts with the magic of the images
+    public static boolean isImageFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            ByteBuffer magicBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, magicBuffer);
+            return !magicBuffer.hasRemaining() && magicBuffer.getInt(0) == MAGIC;
+        }
+    }
+
+    public static void write(CallGraphIndex callGraphIndex, String imageFilePath) throws IOException {
+        MethodTable methodTable = callGraphIndex.getMethodTable();
+        int methodNum = methodTable.size();
+        long[] sectionOffsets = new long[SECTION_NUM];
+        long[] sectionLengths = new long[SECTION_NUM];
+
+        try (FileChannel channel = FileChannel.open(Paths.get(imageFilePath), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            SectionWriter writer = new SectionWriter(channel, HEADER_SIZE);
+
+            writer.startSection(SECTION_CALL_TYPES, sectionOffsets);
+            CallTypeEnum[] callTypeEnums = callGraphIndex.getCallTypeEnums();
+            for (int i = 0; i < callTypeEnums.length; i++) {
+                if (i > 0) {
+                    writer.putByte('\n');
+                }
+                writer.putBytes(callTypeEnums[i].getType().getBytes(StandardCharsets.UTF_8));
+            }
+            writer.endSection(SECTION_CALL_TYPES, sectionOffsets, sectionLengths);
+
+            writer.startSection(SECTION_METHOD_BYTES, sectionOffsets);
+            int[] methodOffsets = new int[methodNum + 1];
+            long methodBytesLength = 0;
+            for (int methodId = 0; methodId < methodNum; methodId++) {
+                byte[] methodBytes = methodTable.getMethod(methodId).getBytes(StandardCharsets.UTF_8);
+                writer.putBytes(methodBytes);
+                methodBytesLength += methodBytes.length;
+                if (methodBytesLength > Integer.MAX_VALUE) {
+                    throw new IOException("the methods are larger than 2 GB");
+                }
+                methodOffsets[methodId + 1] = (int) methodBytesLength;
+            }
+            writer.endSection(SECTION_METHOD_BYTES, sectionOffsets, sectionLengths);
+
+            writer.startSection(SECTION_METHOD_OFFSETS, sectionOffsets);
+            writer.putInts(IntBuffer.wrap(methodOffsets));
+            writer.endSection(SECTION_METHOD_OFFSETS, sectionOffsets, sectionLengths);
+
+            writer.startSection(SECTION_METHOD_SLOTS, sectionOffsets);
+            for (long slot : genMethodSlots(methodTable)) {
+                writer.putLong(slot);
+            }
+            writer.endSection(SECTION_METHOD_SLOTS, sectionOffsets, sectionLengths);
+
+            writeIntSection(writer, SECTION_CALLEE_OFFSETS, callGraphIndex.getCalleeOffsets(), sectionOffsets, sectionLengths);
+            writeIntSection(writer, SECTION_CALLEES, callGraphIndex.getCallees(), sectionOffsets, sectionLengths);
+
+            writer.startSection(SECTION_CALL_TYPE_CODES, sectionOffsets);
+            ByteBuffer callTypeCodes = callGraphIndex.getCallTypeCodes();
+            for (int i = 0; i < callTypeCodes.capacity(); i++) {
+                writer.putByte(callTypeCodes.get(i));
+            }
+            writer.endSection(SECTION_CALL_TYPE_CODES, sectionOffsets, sectionLengths);
+
+            writeIntSection(writer, SECTION_SOURCE_LINES, callGraphIndex.getSourceLines(), sectionOffsets, sectionLengths);
+            writeIntSection(writer, SECTION_CALLER_OFFSETS, callGraphIndex.getCallerOffsets(), sectionOffsets, sectionLengths);
+            writeIntSection(writer, SECTION_CALLERS, callGraphIndex.getCallers(), sectionOffsets, sectionLengths);
+            writeIntSection(writer, SECTION_CALLER_EDGES, callGraphIndex.getCallerEdges(), sectionOffsets, sectionLengths);
+            writer.flush();
+
+            // the header is written at last, with the checksums
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC);
+            header.putInt(VERSION);
+            header.putInt(methodNum);
+            header.putInt(callGraphIndex.getEdgeNum());
+            header.putInt(SECTION_NUM);
+            for (int i = 0; i < SECTION_NUM; i++) {
+                header.putLong(sectionOffsets[i]);
+                header.putLong(sectionLengths[i]);
+            }
+            header.putLong(writer.getChecksum());
+            header.putLong(genHeaderChecksum(header));
+            header.flip();
+            channel.position(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+        }
+    }
+
+    private static void writeIntSection(SectionWriter writer, int section, IntBuffer values, long[] sectionOffsets, long[] sectionLengths)
+            throws IOException {
+        writer.startSection(section, sectionOffsets);
+        writer.putInts(values);
+        writer.endSection(section, sectionOffsets, sectionLengths);
+    }
+
+    // the open addressing table of the methods, with the same hash and probe as SymbolTable
+    private static long[] genMethodSlots(MethodTable methodTable) {
+        int capacity = 2;
+        while (capacity < methodTable.size() * 2) {
+            capacity *= 2;
+        }
+        long[] slots = new long[capacity];
+        int mask = capacity - 1;
+        for (int methodId = 0; methodId < methodTable.size(); methodId++) {
+            int hash = methodTable.getMethod(methodId).hashCode();
+            int slot = SymbolTable.mix(hash) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = ((long) hash << 32) | (methodId + 1);
+        }
+        return slots;
+    }
+
+    // the CRC32 of the header before the header checksum
+    private static long genHeaderChecksum(ByteBuffer header) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(header.array(), 0, HEADER_SIZE - 8);
+        return crc32.getValue();
+    }
+
+    /**
+     * open the image by mapping its sections, the methods and the edges are read from the file when they are used
+     *
+     * @param imageFilePath the image file
+     * @param verifyData    true to check the checksum of all the data, it reads the whole file
+     * @return the index which reads the mapped sections
+     */
+    public static CallGraphIndex open(String imageFilePath, boolean verifyData) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(imageFilePath), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("graph image is not complete: " + imageFilePath);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("not a graph image: " + imageFilePath);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("unsupported graph image version: " + version);
+            }
+            if (header.getLong(HEADER_SIZE - 8) != genHeaderChecksum(header)) {
+                throw new IOException("the header checksum of the graph image is wrong: " + imageFilePath);
+            }
+            int methodNum = header.getInt(8);
+            int edgeNum = header.getInt(12);
+            if (header.getInt(16) != SECTION_NUM) {
+                throw new IOException("illegal section number of the graph image: " + header.getInt(16));
+            }
+
+            MappedByteBuffer[] sections = new MappedByteBuffer[SECTION_NUM];
+            for (int i = 0; i < SECTION_NUM; i++) {
+                long offset = header.getLong(20 + 16 * i);
+                long length = header.getLong(20 + 16 * i + 8);
+                if (offset < HEADER_SIZE || length < 0 || length > Integer.MAX_VALUE || offset + length > fileSize) {
+                    throw new IOException("illegal section " + i + " of the graph image, offset: " + offset + " length: " + length);
+                }
+                sections[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                sections[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+
+            if (verifyData) {
+                long checksum = genDataChecksum(channel, fileSize);
+                if (checksum != header.getLong(HEADER_SIZE - 16)) {
+                    throw new IOException("the data checksum of the graph image is wrong: " + imageFilePath);
+                }
+            }
+
+            checkLength(sections, SECTION_METHOD_OFFSETS, 4L * (methodNum + 1));
+            checkLength(sections, SECTION_CALLEE_OFFSETS, 4L * (methodNum + 1));
+            checkLength(sections, SECTION_CALLER_OFFSETS, 4L * (methodNum + 1));
+            checkLength(sections, SECTION_CALLEES, 4L * edgeNum);
+            checkLength(sections, SECTION_CALL_TYPE_CODES, edgeNum);
+            checkLength(sections, SECTION_SOURCE_LINES, 4L * edgeNum);
+            checkLength(sections, SECTION_CALLERS, 4L * edgeNum);
+            checkLength(sections, SECTION_CALLER_EDGES, 4L * edgeNum);
+
+            byte[] callTypeBytes = new byte[sections[SECTION_CALL_TYPES].capacity()];
+            sections[SECTION_CALL_TYPES].get(callTypeBytes);
+            String[] callTypes = new String(callTypeBytes, StandardCharsets.UTF_8).split("\n");
+            CallTypeEnum[] callTypeEnums = new CallTypeEnum[callTypes.length];
+            for (int i = 0; i < callTypes.length; i++) {
+                callTypeEnums[i] = CallTypeEnum.getFromType(callTypes[i]);
+            }
+
+            MethodTable methodTable = new MappedMethodTable(methodNum, sections[SECTION_METHOD_BYTES],
+                    sections[SECTION_METHOD_OFFSETS].asIntBuffer(), sections[SECTION_METHOD_SLOTS].asLongBuffer());
+            return new CallGraphIndex(methodTable, callTypeEnums, sections[SECTION_CALLEE_OFFSETS].asIntBuffer(),
+                    sections[SECTION_CALLEES].asIntBuffer(), sections[SECTION_CALL_TYPE_CODES], sections[SECTION_SOURCE_LINES].asIntBuffer(),
+                    sections[SECTION_CALLER_OFFSETS].asIntBuffer(), sections[SECTION_CALLERS].asIntBuffer(),
+                    sections[SECTION_CALLER_EDGES].asIntBuffer());
+        }
+    }
+
+    // read until the buffer is full or the end of the file
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return;
+            }
+        }
+    }
+
+    private static void checkLength(MappedByteBuffer[] sections, int section, long length) throws IOException {
+        if (sections[section].capacity() != length) {
+            throw new IOException("illegal length of section " + section + " of the graph image: " + sections[section].capacity());
+        }
+    }
+
+    private static long genDataChecksum(FileChannel channel, long fileSize) throws IOException {
+        CRC32 crc32 = new CRC32();
+        for (long position = HEADER_SIZE; position < fileSize; position += CHECKSUM_CHUNK_SIZE) {
+            crc32.update(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(CHECKSUM_CHUNK_SIZE, fileSize - position)));
+        }
+        return crc32.getValue();
+    }
+
+    // write the sections through a buffer, the checksum of the written data is kept
+    private static class SectionWriter {
+
+        private final FileChannel channel;
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        private final CRC32 crc32 = new CRC32();
+
+        private long position;
+
+        SectionWriter(FileChannel channel, long position) throws IOException {
+            this.channel = channel;
+            this.position = position;
+            channel.position(position);
+        }
+
+        void startSection(int section, long[] sectionOffsets) throws IOException {
+            while (position % 8 != 0) {
+                putByte(0);
+            }
+            sectionOffsets[section] = position;
+        }
+
+        void endSection(int section, long[] sectionOffsets, long[] sectionLengths) {
+            sectionLengths[section] = position - sectionOffsets[section];
+        }
+
+        void putByte(int value) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.put((byte) value);
+            position++;
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            for (byte b : bytes) {
+                putByte(b);
+            }
+        }
+
+        void putInts(IntBuffer values) throws IOException {
+            for (int i = 0; i < values.capacity(); i++) {
+                if (buffer.remaining() < 4) {
+                    flush();
+                }
+                buffer.putInt(values.get(i));
+                position += 4;
+            }
+        }
+
+        void putLong(long value) throws IOException {
+            if (buffer.remaining() < 8) {
+                flush();
+            }
+            buffer.putLong(value);
+            position += 8;
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            crc32.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        long getChecksum() {
+            return crc32.getValue();
+        }
+    }
+
+    // the methods in the mapped sections, a string is created each time a method is read
+    private static class MappedMethodTable implements MethodTable {
+
+        private final int size;
+
+        private final ByteBuffer methodBytes;
+
+        private final IntBuffer methodOffsets;
+
+        private final LongBuffer methodSlots;
+
+        MappedMethodTable(int size, ByteBuffer methodBytes, IntBuffer methodOffsets, LongBuffer methodSlots) {
+            this.size = size;
+            this.methodBytes = methodBytes;
+            this.methodOffsets = methodOffsets;
+            this.methodSlots = methodSlots;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int findId(String method) {
+            int hash = method.hashCode();
+            byte[] bytes = method.getBytes(StandardCharsets.UTF_8);
+            int mask = methodSlots.capacity() - 1;
+            int slot = SymbolTable.mix(hash) & mask;
+            while (true) {
+                long entry = methodSlots.get(slot);
+                if (entry == 0) {
+                    return -1;
+                }
+                int methodId = (int) entry - 1;
+                if ((int) (entry >>> 32) == hash && equalBytes(methodId, bytes)) {
+                    return methodId;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private boolean equalBytes(int methodId, byte[] bytes) {
+            int start = methodOffsets.get(methodId);
+            if (methodOffsets.get(methodId + 1) - start != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (methodBytes.get(start + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String getMethod(int methodId) {
+            int start = methodOffsets.get(methodId);
+            byte[] bytes = new byte[methodOffsets.get(methodId + 1) - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = methodBytes.get(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.collection.IntArrayList;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.BitSet;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the method calls of a call graph in compressed sparse row arrays over int method ids, built by
+ * {@link CallGraphIndexBuilder}
+ * <p>
+ * the edges are sorted by caller, the edges of the caller id are [calleeOffsets[id], calleeOffsets[id + 1]), the call type and
+ * the source line of each edge are kept in parallel primitive arrays. the reverse arrays sort the same edges by callee and keep
+ * the index of the forward edge, so the call type and the source line are not duplicated
+ * <p>
+ * the methods are like "a.b.C:method(int,java.lang.String)", the index is not modified after it is built and can be read by
+ * several threads
+ * <p>
+ * the arrays are read through buffers, they wrap the arrays of {@link CallGraphIndexBuilder} or are mapped from a graph image file by
+ * {@link CallGraphImage}, the absolute get methods of the buffers are used so the buffers are shared by the threads
+ */
+
+public class CallGraphIndex {
+
+    private final MethodTable methodTable;
+
+    // the call type of each code in callTypes
+    private final CallTypeEnum[] callTypeEnums;
+
+    // forward: edges sorted by caller
+    private final IntBuffer calleeOffsets;
+    private final IntBuffer callees;
+    private final ByteBuffer callTypes;
+    private final IntBuffer sourceLines;
+
+    // reverse: edges sorted by callee
+    private final IntBuffer callerOffsets;
+    private final IntBuffer callers;
+    // index of the forward edge of each reverse edge
+    private final IntBuffer callerEdges;
+
+    CallGraphIndex(MethodTable methodTable, CallTypeEnum[] callTypeEnums, IntBuffer calleeOffsets, IntBuffer callees, ByteBuffer callTypes,
+                   IntBuffer sourceLines, IntBuffer callerOffsets, IntBuffer callers, IntBuffer callerEdges) {
+        this.methodTable = methodTable;
+        this.callTypeEnums = callTypeEnums;
+        this.calleeOffsets = calleeOffsets;
+        this.callees = callees;
+        this.callTypes = callTypes;
+        this.sourceLines = sourceLines;
+        this.callerOffsets = callerOffsets;
+        this.callers = callers;
+        this.callerEdges = callerEdges;
+    }
+
+    public int getMethodNum() {
+        return methodTable.size();
+    }
+
+    public int getEdgeNum() {
+        return callees.capacity();
+    }
+
+    // the id of the method, -1 when the method is not in the call graph
+    public int findMethodId(String method) {
+        return methodTable.findId(method);
+    }
+
+    public String getMethod(int methodId) {
+        return methodTable.getMethod(methodId);
+    }
+
+    // the number of the calls from the method, with the duplicated calls from different source lines
+    public int getFanOut(int methodId) {
+        return calleeOffsets.get(methodId + 1) - calleeOffsets.get(methodId);
+    }
+
+    // the number of the calls to the method, with the duplicated calls from different source lines
+    public int getFanIn(int methodId) {
+        return callerOffsets.get(methodId + 1) - callerOffsets.get(methodId);
+    }
+
+    // the ids of the methods called by the method, in the order of the output file
+    public int[] getCallees(int methodId) {
+        return copyRange(callees, calleeOffsets.get(methodId), calleeOffsets.get(methodId + 1));
+    }
+
+    // the ids of the methods which call the method
+    public int[] getCallers(int methodId) {
+        return copyRange(callers, callerOffsets.get(methodId), callerOffsets.get(methodId + 1));
+    }
+
+    private static int[] copyRange(IntBuffer buffer, int start, int end) {
+        int[] result = new int[end - start];
+        for (int i = start; i < end; i++) {
+            result[i - start] = buffer.get(i);
+        }
+        return result;
+    }
+
+    /*
+        the edges can also be read without copying: the forward edges of the caller are [getCalleeEdgeStart(id), getCalleeEdgeEnd(id)),
+        the reverse edges of the callee are [getCallerEdgeStart(id), getCallerEdgeEnd(id)), getCallerEdge(i) gives the forward edge
+     */
+    public int getCalleeEdgeStart(int methodId) {
+        return calleeOffsets.get(methodId);
+    }
+
+    public int getCalleeEdgeEnd(int methodId) {
+        return calleeOffsets.get(methodId + 1);
+    }
+
+    public int getCallerEdgeStart(int methodId) {
+        return callerOffsets.get(methodId);
+    }
+
+    public int getCallerEdgeEnd(int methodId) {
+        return callerOffsets.get(methodId + 1);
+    }
+
+    // the caller of the reverse edge
+    public int getCaller(int reverseEdge) {
+        return callers.get(reverseEdge);
+    }
+
+    // the forward edge of the reverse edge
+    public int getCallerEdge(int reverseEdge) {
+        return callerEdges.get(reverseEdge);
+    }
+
+    public int getEdgeCallee(int edge) {
+        return callees.get(edge);
+    }
+
+    public CallTypeEnum getEdgeCallType(int edge) {
+        return callTypeEnums[callTypes.get(edge)];
+    }
+
+    public int getEdgeSourceLine(int edge) {
+        return sourceLines.get(edge);
+    }
+
+    /**
+     * find the methods reachable from the method, in breadth first order
+     *
+     * @param methodId the start method, it is the first one of the result
+     * @param reverse  false to follow the calls to the callees, true to follow them back to the callers
+     * @param maxDepth the max number of edges from the start method, -1 for no limit
+     * @param filter   the edges which are followed
+     * @return the ids of the reachable methods
+     */
+    public int[] traverse(int methodId, boolean reverse, int maxDepth, CallGraphEdgeFilter filter) {
+        BitSet visited = new BitSet(getMethodNum());
+        IntArrayList result = new IntArrayList();
+        visited.set(methodId);
+        result.add(methodId);
+
+        int levelStart = 0;
+        for (int depth = 0; maxDepth < 0 || depth < maxDepth; depth++) {
+            int levelEnd = result.size();
+            if (levelStart == levelEnd) {
+                break;
+            }
+            for (int i = levelStart; i < levelEnd; i++) {
+                int currentId = result.get(i);
+                if (reverse) {
+                    for (int j = callerOffsets.get(currentId); j < callerOffsets.get(currentId + 1); j++) {
+                        int callerId = callers.get(j);
+                        int edge = callerEdges.get(j);
+                        if (!visited.get(callerId) && filter.accept(callerId, currentId, getEdgeCallType(edge), sourceLines.get(edge))) {
+                            visited.set(callerId);
+                            result.add(callerId);
+                        }
+                    }
+                } else {
+                    for (int edge = calleeOffsets.get(currentId); edge < calleeOffsets.get(currentId + 1); edge++) {
+                        int calleeId = callees.get(edge);
+                        if (!visited.get(calleeId) && filter.accept(currentId, calleeId, getEdgeCallType(edge), sourceLines.get(edge))) {
+                            visited.set(calleeId);
+                            result.add(calleeId);
+                        }
+                    }
+                }
+            }
+            levelStart = levelEnd;
+        }
+        return result.toArray();
+    }
+
+    // the approximate size of the arrays of the index in bytes, the method strings are not included
+    public long getArrayBytes() {
+        return 4L * (calleeOffsets.capacity() + callees.capacity() + sourceLines.capacity() + callerOffsets.capacity() + callers.capacity() +
+                callerEdges.capacity()) + callTypes.capacity();
+    }
+
+    // the call type of each code in getCallTypeCodes()
+    CallTypeEnum[] getCallTypeEnums() {
+        return callTypeEnums;
+    }
+
+    /*
+        the buffers are used by CallGraphImage to write the image, they should not be modified
+     */
+    MethodTable getMethodTable() {
+        return methodTable;
+    }
+
+    IntBuffer getCalleeOffsets() {
+        return calleeOffsets;
+    }
+
+    IntBuffer getCallees() {
+        return callees;
+    }
+
+    ByteBuffer getCallTypeCodes() {
+        return callTypes;
+    }
+
+    IntBuffer getSourceLines() {
+        return sourceLines;
+    }
+
+    IntBuffer getCallerOffsets() {
+        return callerOffsets;
+    }
+
+    IntBuffer getCallers() {
+        return callers;
+    }
+
+    IntBuffer getCallerEdges() {
+        return callerEdges;
+    }
+}
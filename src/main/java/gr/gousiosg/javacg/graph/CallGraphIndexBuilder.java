@@ -0,0 +1,177 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.collection.SymbolTable;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.output.CallGraphWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: collect the method calls into primitive arrays and build a {@link CallGraphIndex}, used as the extra writer of
+ * JCallGraph.run(args, writer) or fed by {@link CallGraphIndexLoader} from an output file
+ * <p>
+ * the jar and class reference records are not kept, the duplicated method calls are kept like in the output file, build() can
+ * only be called once
+ */
+
+public class CallGraphIndexBuilder implements CallGraphWriter {
+
+    private static final int INIT_CAPACITY = 1024;
+
+    private static final CallTypeEnum[] CALL_TYPES = CallTypeEnum.values();
+
+    private static final Map<String, CallTypeEnum> CALL_TYPE_MAP = new HashMap<>();
+
+    static {
+        for (CallTypeEnum callTypeEnum : CallTypeEnum.values()) {
+            CALL_TYPE_MAP.put(callTypeEnum.getType(), callTypeEnum);
+        }
+    }
+
+    private final SymbolTable methodSymbolTable = new SymbolTable();
+
+    private int[] edgeCallers = new int[INIT_CAPACITY];
+    private int[] edgeCallees = new int[INIT_CAPACITY];
+    private byte[] edgeCallTypes = new byte[INIT_CAPACITY];
+    private int[] edgeSourceLines = new int[INIT_CAPACITY];
+    private int edgeNum;
+
+    @Override
+    public void writeJar(int jarNum, String jarName) {
+    }
+
+    @Override
+    public void writeClassReference(String className, String referencedClassName) {
+    }
+
+    @Override
+    public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) {
+        addMethodCall(callerClassName + ":" + callerMethodWithArgs, calleeClassName + ":" + calleeMethodName + calleeMethodArgs,
+                getCallTypeEnum(callType), sourceLine);
+    }
+
+    // the methods are like "a.b.C:method(int)"
+    public void addMethodCall(String callerMethod, String calleeMethod, CallTypeEnum callType, int sourceLine) {
+        addMethodCall(methodSymbolTable.getId(callerMethod), methodSymbolTable.getId(calleeMethod), callType, sourceLine);
+    }
+
+    // the id of the method in the bytes of the file, which are all ASCII
+    int getAsciiMethodId(byte[] bytes, int offset, int length) {
+        return methodSymbolTable.getAsciiId(bytes, offset, length);
+    }
+
+    int getMethodId(String method) {
+        return methodSymbolTable.getId(method);
+    }
+
+    void addMethodCall(int callerId, int calleeId, CallTypeEnum callType, int sourceLine) {
+        if (edgeNum == edgeCallers.length) {
+            int newCapacity = edgeNum * 2;
+            edgeCallers = Arrays.copyOf(edgeCallers, newCapacity);
+            edgeCallees = Arrays.copyOf(edgeCallees, newCapacity);
+            edgeCallTypes = Arrays.copyOf(edgeCallTypes, newCapacity);
+            edgeSourceLines = Arrays.copyOf(edgeSourceLines, newCapacity);
+        }
+        edgeCallers[edgeNum] = callerId;
+        edgeCallees[edgeNum] = calleeId;
+        edgeCallTypes[edgeNum] = (byte) callType.ordinal();
+        edgeSourceLines[edgeNum] = sourceLine;
+        edgeNum++;
+    }
+
+    public static CallTypeEnum getCallTypeEnum(String callType) {
+        CallTypeEnum callTypeEnum = CALL_TYPE_MAP.get(callType);
+        return callTypeEnum == null ? CallTypeEnum.CTE_ILLEGAL : callTypeEnum;
+    }
+
+    public int getEdgeNum() {
+        return edgeNum;
+    }
+
+    // sort the collected edges by caller and by callee with counting sorts, the order of the edges of one method is kept
+    public CallGraphIndex build() {
+        int methodNum = methodSymbolTable.size();
+
+        int[] calleeOffsets = genOffsets(edgeCallers, methodNum);
+        int[] callees = new int[edgeNum];
+        byte[] callTypes = new byte[edgeNum];
+        int[] sourceLines = new int[edgeNum];
+        int[] positions = Arrays.copyOf(calleeOffsets, methodNum);
+        for (int i = 0; i < edgeNum; i++) {
+            int edge = positions[edgeCallers[i]]++;
+            callees[edge] = edgeCallees[i];
+            callTypes[edge] = edgeCallTypes[i];
+            sourceLines[edge] = edgeSourceLines[i];
+        }
+
+        // the collected arrays are not used any more
+        edgeCallers = null;
+        edgeCallTypes = null;
+        edgeSourceLines = null;
+
+        int[] callerOffsets = genOffsets(edgeCallees, methodNum);
+        edgeCallees = null;
+        int[] callers = new int[edgeNum];
+        int[] callerEdges = new int[edgeNum];
+        System.arraycopy(callerOffsets, 0, positions, 0, methodNum);
+        for (int callerId = 0; callerId < methodNum; callerId++) {
+            for (int edge = calleeOffsets[callerId]; edge < calleeOffsets[callerId + 1]; edge++) {
+                int reverseEdge = positions[callees[edge]]++;
+                callers[reverseEdge] = callerId;
+                callerEdges[reverseEdge] = edge;
+            }
+        }
+
+        // the codes of the call types are their ordinals
+        return new CallGraphIndex(new SymbolMethodTable(methodSymbolTable), CALL_TYPES, IntBuffer.wrap(calleeOffsets), IntBuffer.wrap(callees),
+                ByteBuffer.wrap(callTypes), IntBuffer.wrap(sourceLines), IntBuffer.wrap(callerOffsets), IntBuffer.wrap(callers),
+                IntBuffer.wrap(callerEdges));
+    }
+
+    // the start offset of each method id in the sorted edges, followed by the number of the edges
+    private int[] genOffsets(int[] edgeMethodIds, int methodNum) {
+        int[] offsets = new int[methodNum + 1];
+        for (int i = 0; i < edgeNum; i++) {
+            offsets[edgeMethodIds[i] + 1]++;
+        }
+        for (int i = 0; i < methodNum; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        return offsets;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private static class SymbolMethodTable implements MethodTable {
+
+        private final SymbolTable symbolTable;
+
+        SymbolMethodTable(SymbolTable symbolTable) {
+            this.symbolTable = symbolTable;
+        }
+
+        @Override
+        public int size() {
+            return symbolTable.size();
+        }
+
+        @Override
+        public int findId(String method) {
+            return symbolTable.findId(method);
+        }
+
+        @Override
+        public String getMethod(int methodId) {
+            return symbolTable.getSymbol(methodId);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.output.BinaryCallGraphReader;
+import gr.gousiosg.javacg.output.BinaryCallGraphWriter;
+import gr.gousiosg.javacg.output.CallGraphWriter;
+
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: load an output file of JCallGraph into a {@link CallGraphIndex}, the text and the binary formats and the graph
+ * images are recognized by the first bytes of the file, a graph image is mapped instead of loaded, its data checksum is checked
+ * when "-Dgraph.image.verify=true"
+ * <p>
+ * usage: CallGraphIndexLoader callGraphFile, the size of the loaded index and the time used are printed
+ */
+
+public class CallGraphIndexLoader {
+
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private static final CallTypeEnum[] CALL_TYPES = CallTypeEnum.values();
+
+    // the types of CALL_TYPES in bytes
+    private static final byte[][] CALL_TYPE_BYTES = new byte[CALL_TYPES.length][];
+
+    static {
+        for (int i = 0; i < CALL_TYPES.length; i++) {
+            CALL_TYPE_BYTES[i] = CALL_TYPES[i].getType().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("usage: " + CallGraphIndexLoader.class.getName() + " callGraphFile");
+            System.exit(1);
+        }
+
+        long startTime = System.currentTimeMillis();
+        CallGraphIndex callGraphIndex;
+        try {
+            callGraphIndex = load(args[0]);
+        } catch (IOException e) {
+            System.err.println("load call graph fail: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+            return;
+        }
+        long loadTime = System.currentTimeMillis() - startTime;
+
+        Runtime runtime = Runtime.getRuntime();
+        System.out.println("methods: " + callGraphIndex.getMethodNum() + " edges: " + callGraphIndex.getEdgeNum() + " arrays: " +
+                callGraphIndex.getArrayBytes() / 1024 / 1024 + " MB heap used: " + (runtime.totalMemory() - runtime.freeMemory()) / 1024 / 1024 +
+                " MB load time: " + loadTime + " ms");
+    }
+
+    public static CallGraphIndex load(String callGraphFilePath) throws IOException {
+        if (CallGraphImage.isImageFile(callGraphFilePath)) {
+            return CallGraphImage.open(callGraphFilePath, Boolean.getBoolean("graph.image.verify"));
+        }
+        if (isBinaryFile(callGraphFilePath)) {
+            return loadBinary(callGraphFilePath);
+        }
+        return loadText(callGraphFilePath);
+    }
+
+    private static boolean isBinaryFile(String callGraphFilePath) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(callGraphFilePath))) {
+            return in.available() >= 4 && in.readInt() == BinaryCallGraphWriter.MAGIC;
+        }
+    }
+
+    /*
+        the method call lines are like "M:a.b.C:f(int) (M)a.b.D:g() 12 1", the other lines are skipped. the file is parsed as bytes,
+        the ASCII methods are found in the symbol table without creating a string for each line
+     */
+    public static CallGraphIndex loadText(String callGraphFilePath) throws IOException {
+        TextLineParser parser = new TextLineParser();
+        try (InputStream in = new FileInputStream(callGraphFilePath)) {
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length = 0;
+            int readLength;
+            while ((readLength = in.read(buffer, length, buffer.length - length)) >= 0) {
+                length += readLength;
+                int lineStart = 0;
+                for (int lineEnd = indexOf(buffer, '\n', 0, length); lineEnd >= 0; lineEnd = indexOf(buffer, '\n', lineStart, length)) {
+                    parser.addMethodCall(buffer, lineStart, lineEnd);
+                    lineStart = lineEnd + 1;
+                }
+                // keep the incomplete line for the next read
+                System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+                length -= lineStart;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            if (length > 0) {
+                parser.addMethodCall(buffer, 0, length);
+            }
+        }
+        return parser.builder.build();
+    }
+
+    // parse the lines of a text file, the method calls of one caller are written together, so the last caller is kept
+    private static class TextLineParser {
+
+        private final CallGraphIndexBuilder builder = new CallGraphIndexBuilder();
+
+        private byte[] lastCaller = new byte[256];
+        private int lastCallerLength = -1;
+        private int lastCallerId;
+
+        void addMethodCall(byte[] buffer, int start, int end) throws IOException {
+            int prefixLength = CallGraphWriter.METHOD_CALL_PREFIX.length();
+            if (end - start < prefixLength || buffer[start] != 'M' || buffer[start + 1] != ':') {
+                return;
+            }
+            if (buffer[end - 1] == '\r') {
+                end--;
+            }
+
+            int callerStart = start + prefixLength;
+            int callerEnd = indexOf(buffer, ' ', callerStart, end);
+            int callTypeEnd = callerEnd < 0 ? -1 : indexOf(buffer, ')', callerEnd + 2, end);
+            int calleeEnd = callTypeEnd < 0 ? -1 : indexOf(buffer, ' ', callTypeEnd + 1, end);
+            int sourceLineEnd = calleeEnd < 0 ? -1 : indexOf(buffer, ' ', calleeEnd + 1, end);
+            if (sourceLineEnd < 0 || buffer[callerEnd + 1] != '(') {
+                throw new IOException("illegal method call line: " + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+            }
+
+            int callerId = getCallerId(buffer, callerStart, callerEnd);
+            int calleeId = getMethodId(buffer, callTypeEnd + 1, calleeEnd);
+            builder.addMethodCall(callerId, calleeId, getCallTypeEnum(buffer, callerEnd + 2, callTypeEnd),
+                    parseInt(buffer, calleeEnd + 1, sourceLineEnd));
+        }
+
+        private int getCallerId(byte[] buffer, int start, int end) {
+            int length = end - start;
+            if (length == lastCallerLength && equalBytes(lastCaller, length, buffer, start)) {
+                return lastCallerId;
+            }
+
+            lastCallerId = getMethodId(buffer, start, end);
+            if (lastCaller.length < length) {
+                lastCaller = new byte[length * 2];
+            }
+            System.arraycopy(buffer, start, lastCaller, 0, length);
+            lastCallerLength = length;
+            return lastCallerId;
+        }
+
+        private int getMethodId(byte[] buffer, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (buffer[i] < 0) {
+                    // not ASCII
+                    return builder.getMethodId(new String(buffer, start, end - start, StandardCharsets.UTF_8));
+                }
+            }
+            return builder.getAsciiMethodId(buffer, start, end - start);
+        }
+    }
+
+    private static CallTypeEnum getCallTypeEnum(byte[] buffer, int start, int end) {
+        for (int i = 0; i < CALL_TYPE_BYTES.length; i++) {
+            byte[] callTypeBytes = CALL_TYPE_BYTES[i];
+            if (callTypeBytes.length == end - start && equalBytes(callTypeBytes, callTypeBytes.length, buffer, start)) {
+                return CALL_TYPES[i];
+            }
+        }
+        return CallTypeEnum.CTE_ILLEGAL;
+    }
+
+    private static boolean equalBytes(byte[] bytes, int length, byte[] buffer, int start) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] != buffer[start + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] buffer, char ch, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (buffer[i] == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // parse the decimal int in [start, end) without creating a string
+    private static int parseInt(byte[] buffer, int start, int end) throws IOException {
+        boolean negative = buffer[start] == '-';
+        int value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("illegal number: " + new String(buffer, start, end - start, StandardCharsets.UTF_8));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    // the symbol ids of the file are dense, they are mapped to the method ids without searching the method strings again
+    public static CallGraphIndex loadBinary(String callGraphFilePath) throws IOException {
+        CallGraphIndexBuilder builder = new CallGraphIndexBuilder();
+        // symbol id of the file -> method id + 1, 0 when not found yet
+        int[] methodIds = new int[1024];
+        try (BinaryCallGraphReader reader = new BinaryCallGraphReader(new FileInputStream(callGraphFilePath))) {
+            int recordType;
+            while ((recordType = reader.next()) != BinaryCallGraphReader.RECORD_END) {
+                if (recordType != BinaryCallGraphReader.RECORD_METHOD_CALL) {
+                    continue;
+                }
+                if (methodIds.length < reader.getSymbolNum()) {
+                    methodIds = Arrays.copyOf(methodIds, Math.max(methodIds.length * 2, reader.getSymbolNum()));
+                }
+                int callerId = getBinaryMethodId(builder, reader, reader.getCallerId(), methodIds);
+                int calleeId = getBinaryMethodId(builder, reader, reader.getCalleeId(), methodIds);
+                builder.addMethodCall(callerId, calleeId, reader.getCallTypeEnum(), reader.getSourceLine());
+            }
+        }
+        return builder.build();
+    }
+
+    private static int getBinaryMethodId(CallGraphIndexBuilder builder, BinaryCallGraphReader reader, int symbolId, int[] methodIds) {
+        if (methodIds[symbolId] == 0) {
+            methodIds[symbolId] = builder.getMethodId(reader.getSymbol(symbolId)) + 1;
+        }
+        return methodIds[symbolId] - 1;
+    }
+}
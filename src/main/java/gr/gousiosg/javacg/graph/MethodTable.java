@@ -0,0 +1,18 @@
+package gr.gousiosg.javacg.graph;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the methods of a {@link CallGraphIndex} by id, kept in a SymbolTable when the index is built, or read from the
+ * mapped bytes of a graph image
+ */
+
+interface MethodTable {
+
+    int size();
+
+    // the id of the method, -1 when the method is not in the table
+    int findId(String method);
+
+    String getMethod(int methodId);
+}
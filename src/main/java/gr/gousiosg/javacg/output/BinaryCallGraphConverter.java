@@ -0,0 +1,59 @@
+package gr.gousiosg.javacg.output;
+
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: convert a binary call graph file into the text format, the result is the same as the text output of JCallGraph
+ * <p>
+ * usage: BinaryCallGraphConverter binaryFile textFile
+ */
+
+public class BinaryCallGraphConverter {
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("usage: " + BinaryCallGraphConverter.class.getName() + " binaryFile textFile");
+            System.exit(1);
+        }
+
+        if (!convert(args[0], args[1])) {
+            System.exit(1);
+        }
+    }
+
+    public static boolean convert(String binaryFilePath, String textFilePath) {
+        try (BinaryCallGraphReader reader = new BinaryCallGraphReader(new FileInputStream(binaryFilePath));
+             CallGraphWriter writer = new TextCallGraphWriter(new OutputStreamWriter(new FileOutputStream(textFilePath)))) {
+            int recordType;
+            while ((recordType = reader.next()) != BinaryCallGraphReader.RECORD_END) {
+                switch (recordType) {
+                    case BinaryCallGraphReader.RECORD_JAR:
+                        writer.writeJar(reader.getJarNum(), reader.getJarName());
+                        break;
+                    case BinaryCallGraphReader.RECORD_CLASS_REFERENCE:
+                        writer.writeClassReference(reader.getClassName(), reader.getReferencedClassName());
+                        break;
+                    default:
+                        String callerMethod = reader.getCallerMethod();
+                        String calleeMethod = reader.getCalleeMethod();
+                        int indexCaller = callerMethod.indexOf(':');
+                        int indexCallee = calleeMethod.indexOf(':');
+                        writer.writeMethodCall(callerMethod.substring(0, indexCaller), callerMethod.substring(indexCaller + 1), reader.getCallType(),
+                                calleeMethod.substring(0, indexCallee), calleeMethod.substring(indexCallee + 1), "", reader.getSourceLine(),
+                                reader.getJarNum());
+                        break;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("convert binary call graph fail: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: read the binary format written by {@link BinaryCallGraphWriter} as a stream, one record for each call of
+ * {@link #next()}, the getters return the fields of the current record
+ */
+
+public class BinaryCallGraphReader implements Closeable {
+
+    public static final int RECORD_END = BinaryCallGraphWriter.TAG_END;
+    public static final int RECORD_JAR = BinaryCallGraphWriter.TAG_JAR;
+    public static final int RECORD_CLASS_REFERENCE = BinaryCallGraphWriter.TAG_CLASS_REFERENCE;
+    public static final int RECORD_METHOD_CALL = BinaryCallGraphWriter.TAG_METHOD_CALL;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final InputStream in;
+
+    // the bytes are read into the buffer, readByte() is called for each field and is not synchronized like BufferedInputStream
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int bufferPos;
+    private int bufferLimit;
+
+    private final List<String> symbolList = new ArrayList<>();
+
+    private final String[] callTypes;
+
+    private final CallTypeEnum[] callTypeEnums;
+
+    private int jarNum;
+    private int firstId;
+    private int secondId;
+    private int callTypeCode;
+    private int sourceLine;
+
+    public BinaryCallGraphReader(InputStream inputStream) throws IOException {
+        in = inputStream;
+        int magic = (readByte() << 24) | (readByte() << 16) | (readByte() << 8) | readByte();
+        if (magic != BinaryCallGraphWriter.MAGIC) {
+            throw new IOException("not a binary call graph file");
+        }
+        int version = readVarInt();
+        if (version != BinaryCallGraphWriter.VERSION) {
+            throw new IOException("unsupported binary call graph version: " + version);
+        }
+
+        callTypes = new String[readVarInt()];
+        for (int i = 0; i < callTypes.length; i++) {
+            callTypes[i] = readString();
+        }
+        callTypeEnums = new CallTypeEnum[callTypes.length];
+        for (int i = 0; i < callTypes.length; i++) {
+            callTypeEnums[i] = CallTypeEnum.getFromType(callTypes[i]);
+        }
+    }
+
+    // read the next record, return its type, RECORD_END at the end of the file
+    public int next() throws IOException {
+        while (true) {
+            int tag = readByte();
+            switch (tag) {
+                case BinaryCallGraphWriter.TAG_STRING:
+                    symbolList.add(readString());
+                    continue;
+                case BinaryCallGraphWriter.TAG_JAR:
+                    jarNum = readVarInt();
+                    firstId = readVarInt();
+                    return RECORD_JAR;
+                case BinaryCallGraphWriter.TAG_CLASS_REFERENCE:
+                    firstId = readVarInt();
+                    secondId = readVarInt();
+                    return RECORD_CLASS_REFERENCE;
+                case BinaryCallGraphWriter.TAG_METHOD_CALL:
+                    firstId = readVarInt();
+                    secondId = readVarInt();
+                    callTypeCode = readVarInt();
+                    int zigzagLine = readVarInt();
+                    sourceLine = (zigzagLine >>> 1) ^ -(zigzagLine & 1);
+                    jarNum = readVarInt();
+                    return RECORD_METHOD_CALL;
+                case BinaryCallGraphWriter.TAG_END:
+                    return RECORD_END;
+                default:
+                    throw new IOException("illegal record tag: " + tag);
+            }
+        }
+    }
+
+    public int getJarNum() {
+        return jarNum;
+    }
+
+    public String getJarName() {
+        return symbolList.get(firstId);
+    }
+
+    public String getClassName() {
+        return symbolList.get(firstId);
+    }
+
+    public String getReferencedClassName() {
+        return symbolList.get(secondId);
+    }
+
+    public int getCallerId() {
+        return firstId;
+    }
+
+    public int getCalleeId() {
+        return secondId;
+    }
+
+    public String getCallerMethod() {
+        return symbolList.get(firstId);
+    }
+
+    public String getCalleeMethod() {
+        return symbolList.get(secondId);
+    }
+
+    public String getCallType() {
+        return callTypes[callTypeCode];
+    }
+
+    public CallTypeEnum getCallTypeEnum() {
+        return callTypeEnums[callTypeCode];
+    }
+
+    public int getSourceLine() {
+        return sourceLine;
+    }
+
+    // the symbols read until now
+    public String getSymbol(int id) {
+        return symbolList.get(id);
+    }
+
+    public int getSymbolNum() {
+        return symbolList.size();
+    }
+
+    private int readByte() throws IOException {
+        if (bufferPos == bufferLimit) {
+            fillBuffer();
+        }
+        return buffer[bufferPos++] & 0xff;
+    }
+
+    private void fillBuffer() throws IOException {
+        int readLength;
+        do {
+            readLength = in.read(buffer, 0, buffer.length);
+        } while (readLength == 0);
+        if (readLength < 0) {
+            throw new EOFException("binary call graph file is not complete");
+        }
+        bufferPos = 0;
+        bufferLimit = readLength;
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("illegal varint");
+    }
+
+    private String readString() throws IOException {
+        byte[] bytes = new byte[readVarInt()];
+        int length = 0;
+        while (length < bytes.length) {
+            if (bufferPos == bufferLimit) {
+                fillBuffer();
+            }
+            int copyLength = Math.min(bytes.length - length, bufferLimit - bufferPos);
+            System.arraycopy(buffer, bufferPos, bytes, length, copyLength);
+            bufferPos += copyLength;
+            length += copyLength;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,144 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: compact binary format of the call graph
+ * <p>
+ * header: magic "JCGB", varint version, varint number of call types, then each call type as a string, the index of a
+ * call type in this table is its code in the records, so changing CallTypeEnum does not break the files already written
+ * <p>
+ * records, each one starts with a tag byte:
+ * STRING: varint length and UTF-8 bytes, the string gets the next id of the symbol table (starting from 0), it is written
+ * just before the first record using it, so the file can be written and read as a stream
+ * JAR: varint jar number, varint id of the jar name
+ * CLASS_REFERENCE: varint id of the class, varint id of the referenced class
+ * METHOD_CALL: varint id of the caller method, varint id of the callee method, varint call type code, zigzag varint source
+ * line, varint jar number
+ * END: the end of the file, a file without it is not complete
+ */
+
+public class BinaryCallGraphWriter implements CallGraphWriter {
+
+    public static final int MAGIC = 0x4a434742;
+    public static final int VERSION = 1;
+
+    public static final int TAG_END = 0;
+    public static final int TAG_STRING = 1;
+    public static final int TAG_JAR = 2;
+    public static final int TAG_CLASS_REFERENCE = 3;
+    public static final int TAG_METHOD_CALL = 4;
+
+    private final OutputStream out;
+
+    private final Map<String, Integer> symbolIdMap = new HashMap<>();
+
+    private final Map<String, Integer> callTypeCodeMap = new HashMap<>();
+
+    private String lastCallerClassName;
+    private String lastCallerMethodWithArgs;
+    private int lastCallerId;
+
+    public BinaryCallGraphWriter(OutputStream outputStream) throws IOException {
+        out = new BufferedOutputStream(outputStream, 64 * 1024);
+        writeInt32(MAGIC);
+        writeVarInt(VERSION);
+
+        CallTypeEnum[] callTypeEnums = CallTypeEnum.values();
+        writeVarInt(callTypeEnums.length);
+        for (int i = 0; i < callTypeEnums.length; i++) {
+            callTypeCodeMap.put(callTypeEnums[i].getType(), i);
+            writeStringBytes(callTypeEnums[i].getType());
+        }
+    }
+
+    @Override
+    public void writeJar(int jarNum, String jarName) throws IOException {
+        int jarNameId = getSymbolId(jarName);
+        out.write(TAG_JAR);
+        writeVarInt(jarNum);
+        writeVarInt(jarNameId);
+    }
+
+    @Override
+    public void writeClassReference(String className, String referencedClassName) throws IOException {
+        int classId = getSymbolId(className);
+        int referencedClassId = getSymbolId(referencedClassName);
+        out.write(TAG_CLASS_REFERENCE);
+        writeVarInt(classId);
+        writeVarInt(referencedClassId);
+    }
+
+    @Override
+    public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) throws IOException {
+        Integer callTypeCode = callTypeCodeMap.get(callType);
+        if (callTypeCode == null) {
+            throw new IllegalArgumentException("unknown call type: " + callType);
+        }
+
+        // the method calls of one caller method share the same strings, only look up the caller symbol when it changes
+        if (callerClassName != lastCallerClassName || callerMethodWithArgs != lastCallerMethodWithArgs) {
+            lastCallerId = getSymbolId(callerClassName + ":" + callerMethodWithArgs);
+            lastCallerClassName = callerClassName;
+            lastCallerMethodWithArgs = callerMethodWithArgs;
+        }
+        int calleeId = getSymbolId(calleeClassName + ":" + calleeMethodName + calleeMethodArgs);
+        out.write(TAG_METHOD_CALL);
+        writeVarInt(lastCallerId);
+        writeVarInt(calleeId);
+        writeVarInt(callTypeCode);
+        writeVarInt((sourceLine << 1) ^ (sourceLine >> 31));
+        writeVarInt(jarNum);
+    }
+
+    // get the id of the string, write its definition when it is used for the first time
+    private int getSymbolId(String symbol) throws IOException {
+        Integer symbolId = symbolIdMap.get(symbol);
+        if (symbolId != null) {
+            return symbolId;
+        }
+
+        symbolId = symbolIdMap.size();
+        symbolIdMap.put(symbol, symbolId);
+        out.write(TAG_STRING);
+        writeStringBytes(symbol);
+        return symbolId;
+    }
+
+    private void writeStringBytes(String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.write((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private void writeInt32(int value) throws IOException {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.write(TAG_END);
+        out.close();
+    }
+}
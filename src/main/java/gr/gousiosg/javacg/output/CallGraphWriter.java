@@ -0,0 +1,42 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.dto.MethodCallDto;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: write the call graph, the methods are like "a.b.C:method(int,java.lang.String)",
+ * the parts of the method call are passed one by one so that the writer does not need to format a string for each edge
+ */
+
+public interface CallGraphWriter extends Closeable {
+
+    String CLASS_REFERENCE_PREFIX = "C:";
+    String METHOD_CALL_PREFIX = "M:";
+    String JAR_PREFIX = "J:";
+
+    void writeJar(int jarNum, String jarName) throws IOException;
+
+    void writeClassReference(String className, String referencedClassName) throws IOException;
+
+    /*
+        the caller method is callerClassName + ":" + callerMethodWithArgs,
+        the callee method is calleeClassName + ":" + calleeMethodName + calleeMethodArgs
+     */
+    void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName, String calleeMethodName,
+                         String calleeMethodArgs, int sourceLine, int jarNum) throws IOException;
+
+    default void writeMethodCallDto(MethodCallDto methodCallDto, int jarNum) throws IOException {
+        if (methodCallDto.isClassReference()) {
+            writeClassReference(methodCallDto.getCallerClassName(), methodCallDto.getCalleeClassName());
+            return;
+        }
+
+        writeMethodCall(methodCallDto.getCallerClassName(), methodCallDto.getCallerMethodWithArgs(), methodCallDto.getCallType(),
+                methodCallDto.getCalleeClassName(), methodCallDto.getCalleeMethodName(), methodCallDto.getCalleeMethodArgs(),
+                methodCallDto.getSourceLine(), jarNum);
+    }
+}
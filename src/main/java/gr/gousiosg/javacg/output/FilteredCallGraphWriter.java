@@ -0,0 +1,52 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.filter.ClassFilter;
+
+import java.io.IOException;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: write to another writer only the class references and the method calls without a class excluded by
+ * "-Dclass.filter.file", like the edges of the class hierarchy from an included class to an excluded class
+ */
+
+public class FilteredCallGraphWriter implements CallGraphWriter {
+
+    private final CallGraphWriter callGraphWriter;
+
+    private final ClassFilter classFilter;
+
+    public FilteredCallGraphWriter(CallGraphWriter callGraphWriter, ClassFilter classFilter) {
+        this.callGraphWriter = callGraphWriter;
+        this.classFilter = classFilter;
+    }
+
+    @Override
+    public void writeJar(int jarNum, String jarName) throws IOException {
+        callGraphWriter.writeJar(jarNum, jarName);
+    }
+
+    @Override
+    public void writeClassReference(String className, String referencedClassName) throws IOException {
+        if (classFilter.exclude(className, ClassFilter.STAGE_OUTPUT) || classFilter.exclude(referencedClassName, ClassFilter.STAGE_OUTPUT)) {
+            return;
+        }
+        callGraphWriter.writeClassReference(className, referencedClassName);
+    }
+
+    @Override
+    public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) throws IOException {
+        if (classFilter.exclude(callerClassName, ClassFilter.STAGE_OUTPUT) || classFilter.exclude(calleeClassName, ClassFilter.STAGE_OUTPUT)) {
+            return;
+        }
+        callGraphWriter.writeMethodCall(callerClassName, callerMethodWithArgs, callType, calleeClassName, calleeMethodName, calleeMethodArgs,
+                sourceLine, jarNum);
+    }
+
+    @Override
+    public void close() throws IOException {
+        callGraphWriter.close();
+    }
+}
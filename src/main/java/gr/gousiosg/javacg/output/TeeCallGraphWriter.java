@@ -0,0 +1,51 @@
+package gr.gousiosg.javacg.output;
+
+import java.io.IOException;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: write the call graph to the output file and to another writer of the caller (e.g. CallGraphIndexBuilder)
+ */
+
+public class TeeCallGraphWriter implements CallGraphWriter {
+
+    private final CallGraphWriter firstWriter;
+
+    private final CallGraphWriter secondWriter;
+
+    public TeeCallGraphWriter(CallGraphWriter firstWriter, CallGraphWriter secondWriter) {
+        this.firstWriter = firstWriter;
+        this.secondWriter = secondWriter;
+    }
+
+    @Override
+    public void writeJar(int jarNum, String jarName) throws IOException {
+        firstWriter.writeJar(jarNum, jarName);
+        secondWriter.writeJar(jarNum, jarName);
+    }
+
+    @Override
+    public void writeClassReference(String className, String referencedClassName) throws IOException {
+        firstWriter.writeClassReference(className, referencedClassName);
+        secondWriter.writeClassReference(className, referencedClassName);
+    }
+
+    @Override
+    public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) throws IOException {
+        firstWriter.writeMethodCall(callerClassName, callerMethodWithArgs, callType, calleeClassName, calleeMethodName, calleeMethodArgs,
+                sourceLine, jarNum);
+        secondWriter.writeMethodCall(callerClassName, callerMethodWithArgs, callType, calleeClassName, calleeMethodName, calleeMethodArgs,
+                sourceLine, jarNum);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            firstWriter.close();
+        } finally {
+            secondWriter.close();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.common.Constants;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the default text format, "J:jarNum jarName", "C:class referencedClass" and
+ * "M:callerMethod (callType)calleeMethod sourceLine jarNum", the parts are written directly to the buffer without formatting
+ */
+
+public class TextCallGraphWriter implements CallGraphWriter {
+
+    private final BufferedWriter resultWriter;
+
+    // enough for the digits of Integer.MIN_VALUE
+    private final char[] intBuffer = new char[11];
+
+    public TextCallGraphWriter(Writer writer) {
+        resultWriter = writer instanceof BufferedWriter ? (BufferedWriter) writer : new BufferedWriter(writer);
+    }
+
+    @Override
+    public void writeJar(int jarNum, String jarName) throws IOException {
+        resultWriter.write(JAR_PREFIX);
+        writeInt(jarNum);
+        resultWriter.write(' ');
+        resultWriter.write(jarName);
+        resultWriter.write(Constants.NEW_LINE);
+    }
+
+    @Override
+    public void writeClassReference(String className, String referencedClassName) throws IOException {
+        resultWriter.write(CLASS_REFERENCE_PREFIX);
+        resultWriter.write(className);
+        resultWriter.write(' ');
+        resultWriter.write(referencedClassName);
+        resultWriter.write(Constants.NEW_LINE);
+    }
+
+    @Override
+    public void writeMethodCall(String callerClassName, String callerMethodWithArgs, String callType, String calleeClassName,
+                                String calleeMethodName, String calleeMethodArgs, int sourceLine, int jarNum) throws IOException {
+        resultWriter.write(METHOD_CALL_PREFIX);
+        resultWriter.write(callerClassName);
+        resultWriter.write(':');
+        resultWriter.write(callerMethodWithArgs);
+        resultWriter.write(" (");
+        resultWriter.write(callType);
+        resultWriter.write(')');
+        resultWriter.write(calleeClassName);
+        resultWriter.write(':');
+        resultWriter.write(calleeMethodName);
+        resultWriter.write(calleeMethodArgs);
+        resultWriter.write(' ');
+        writeInt(sourceLine);
+        resultWriter.write(' ');
+        writeInt(jarNum);
+        resultWriter.write(Constants.NEW_LINE);
+    }
+
+    // write the decimal digits of the value without creating a string
+    private void writeInt(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            resultWriter.write(String.valueOf(value));
+            return;
+        }
+
+        int pos = intBuffer.length;
+        int remain = Math.abs(value);
+        do {
+            intBuffer[--pos] = (char) ('0' + remain % 10);
+            remain /= 10;
+        } while (remain != 0);
+
+        if (value < 0) {
+            intBuffer[--pos] = '-';
+        }
+        resultWriter.write(intBuffer, pos, intBuffer.length - pos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        resultWriter.close();
+    }
+}
@@ -0,0 +1,50 @@
+package gr.gousiosg.javacg.reader;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: read a ByteBuffer without copying it into a byte array first
+ */
+
+public class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer byteBuffer;
+
+    public ByteBufferInputStream(ByteBuffer byteBuffer) {
+        this.byteBuffer = byteBuffer;
+    }
+
+    @Override
+    public int read() {
+        return byteBuffer.hasRemaining() ? byteBuffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        if (!byteBuffer.hasRemaining()) {
+            return -1;
+        }
+
+        int readLength = Math.min(len, byteBuffer.remaining());
+        byteBuffer.get(b, off, readLength);
+        return readLength;
+    }
+
+    @Override
+    public long skip(long n) {
+        int skipLength = (int) Math.max(0, Math.min(n, byteBuffer.remaining()));
+        byteBuffer.position(byteBuffer.position() + skipLength);
+        return skipLength;
+    }
+
+    @Override
+    public int available() {
+        return byteBuffer.remaining();
+    }
+}
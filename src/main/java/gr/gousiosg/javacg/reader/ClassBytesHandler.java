@@ -0,0 +1,16 @@
+package gr.gousiosg.javacg.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: handle the bytes of a class file read by ClassFileSource.readClass
+ */
+
+public interface ClassBytesHandler<T> {
+
+    // the buffer starts at position 0 and is only valid during the call, the reader may reuse it for the next class
+    T handle(ByteBuffer classBuffer) throws IOException;
+}
@@ -0,0 +1,207 @@
+package gr.gousiosg.javacg.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: a class file in a buffer with the offsets of its constant pool entries, used to read a class without a full parse
+ * <p>
+ * the constant pool is walked once when the buffer is opened, only the UTF-8 entries which are used are decoded, the buffer is
+ * read with absolute gets from position 0 and its position is not changed
+ */
+
+public class ClassFileBuffer {
+
+    public static final int CONSTANT_UTF8 = 1;
+    public static final int CONSTANT_INTEGER = 3;
+    public static final int CONSTANT_FLOAT = 4;
+    public static final int CONSTANT_LONG = 5;
+    public static final int CONSTANT_DOUBLE = 6;
+    public static final int CONSTANT_CLASS = 7;
+    public static final int CONSTANT_STRING = 8;
+    public static final int CONSTANT_FIELDREF = 9;
+    public static final int CONSTANT_METHODREF = 10;
+    public static final int CONSTANT_INTERFACE_METHODREF = 11;
+    public static final int CONSTANT_NAME_AND_TYPE = 12;
+    public static final int CONSTANT_METHOD_HANDLE = 15;
+    public static final int CONSTANT_METHOD_TYPE = 16;
+    public static final int CONSTANT_DYNAMIC = 17;
+    public static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    public static final int CONSTANT_MODULE = 19;
+    public static final int CONSTANT_PACKAGE = 20;
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final ByteBuffer buffer;
+
+    private final String entryName;
+
+    // offset of each constant pool entry, after the tag
+    private int[] constantOffsets;
+
+    private String[] utf8Cache;
+
+    // offset of the access flags, after the constant pool
+    private int constantPoolEnd;
+
+    private char[] charBuffer = new char[64];
+
+    private ClassFileBuffer(ByteBuffer buffer, String entryName) {
+        this.buffer = buffer;
+        this.entryName = entryName;
+    }
+
+    public static ClassFileBuffer open(ByteBuffer buffer, String entryName) throws IOException {
+        ClassFileBuffer classFileBuffer = new ClassFileBuffer(buffer, entryName);
+        try {
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("not a class file: " + entryName);
+            }
+            classFileBuffer.readConstantPool();
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("truncated class file: " + entryName, e);
+        }
+        return classFileBuffer;
+    }
+
+    // record the offsets of the constant pool entries
+    private void readConstantPool() throws IOException {
+        int pos = 8;
+        int constantNum = getU2(pos);
+        pos += 2;
+        constantOffsets = new int[constantNum];
+        utf8Cache = new String[constantNum];
+        for (int i = 1; i < constantNum; i++) {
+            int tag = getU1(pos);
+            constantOffsets[i] = pos + 1;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    pos += 3 + getU2(pos + 1);
+                    break;
+                case CONSTANT_CLASS:
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    pos += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    pos += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    pos += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    // takes two entries
+                    pos += 9;
+                    i++;
+                    break;
+                default:
+                    throw new IOException("illegal constant pool tag " + tag + " in " + entryName);
+            }
+        }
+        constantPoolEnd = pos;
+    }
+
+    public String getEntryName() {
+        return entryName;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int getConstantPoolEnd() {
+        return constantPoolEnd;
+    }
+
+    public int getConstantNum() {
+        return constantOffsets.length;
+    }
+
+    // tag of the constant pool entry, 0 for index 0 and the second entry of long and double
+    public int getConstantTag(int index) {
+        int offset = constantOffsets[index];
+        return offset == 0 ? 0 : getU1(offset - 1);
+    }
+
+    // offset of the constant pool entry, after the tag
+    public int getConstantOffset(int index) {
+        return constantOffsets[index];
+    }
+
+    public int getU1(int pos) {
+        return buffer.get(pos) & 0xff;
+    }
+
+    public int getU2(int pos) {
+        return buffer.getShort(pos) & 0xffff;
+    }
+
+    public int getInt(int pos) {
+        return buffer.getInt(pos);
+    }
+
+    // skip the attributes at the offset (count and attributes), return the offset after them
+    public int skipAttributes(int pos) {
+        int attributeNum = getU2(pos);
+        pos += 2;
+        for (int i = 0; i < attributeNum; i++) {
+            pos += 6 + getInt(pos + 2);
+        }
+        return pos;
+    }
+
+    // name of the CONSTANT_Class entry, like "java/lang/String"
+    public String getClassInternalName(int classIndex) {
+        return getUtf8(getU2(constantOffsets[classIndex]));
+    }
+
+    // name of the CONSTANT_Class entry, like "java.lang.String", the same as JavaClass.getClassName()
+    public String getClassName(int classIndex) {
+        return getClassInternalName(classIndex).replace('/', '.');
+    }
+
+    // decode the modified UTF-8 of the class file, the same as DataInput.readUTF()
+    public String getUtf8(int index) {
+        String utf8 = utf8Cache[index];
+        if (utf8 != null) {
+            return utf8;
+        }
+
+        int offset = constantOffsets[index];
+        int length = getU2(offset);
+        if (charBuffer.length < length) {
+            charBuffer = new char[length];
+        }
+        int pos = offset + 2;
+        int end = pos + length;
+        int charNum = 0;
+        while (pos < end) {
+            int b = buffer.get(pos) & 0xff;
+            if (b < 0x80) {
+                charBuffer[charNum++] = (char) b;
+                pos++;
+            } else if ((b & 0xe0) == 0xc0) {
+                charBuffer[charNum++] = (char) (((b & 0x1f) << 6) | (buffer.get(pos + 1) & 0x3f));
+                pos += 2;
+            } else {
+                charBuffer[charNum++] = (char) (((b & 0x0f) << 12) | ((buffer.get(pos + 1) & 0x3f) << 6) | (buffer.get(pos + 2) & 0x3f));
+                pos += 3;
+            }
+        }
+        utf8 = new String(charBuffer, 0, charNum);
+        utf8Cache[index] = utf8;
+        return utf8;
+    }
+}
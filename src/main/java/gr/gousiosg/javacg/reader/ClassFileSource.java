@@ -0,0 +1,46 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the classes of one input jar, parseClass can be called by several threads
+ */
+
+public interface ClassFileSource extends Closeable {
+
+    // class entry names in the order of the jar
+    List<String> getClassEntryNames();
+
+    // uncompressed size of the class file, 0 when unknown
+    int getClassSize(String entryName);
+
+    JavaClass parseClass(String entryName) throws IOException;
+
+    // read the bytes of the class without parsing it, can be called by several threads
+    <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException;
+
+    // read only the header of the class (names, access flags and methods), without a full parse, can be called by several threads
+    default ClassHeaderInfo readClassHeader(String entryName) throws IOException {
+        return readClass(entryName, classBuffer -> ClassHeaderReader.read(classBuffer, entryName));
+    }
+
+    // key of the class content, entry name with the CRC and size of the class file, used by the incremental cache
+    String getClassKey(String entryName) throws IOException;
+
+    // names of the jar/war/ear files inside this input, in the order of the input
+    List<String> getNestedArchiveNames();
+
+    // content of one nested archive, not copied when it can be read in place
+    ByteBuffer readNestedArchive(String archiveName) throws IOException;
+
+    // information about the bytes read, printed after the jar is handled, null when nothing to report
+    String getReadStatistics();
+}
@@ -0,0 +1,97 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.collection.IntArrayList;
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.MethodHeaderInfo;
+import gr.gousiosg.javacg.util.CommonUtil;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: read the class name, super class, interfaces, access flags and method headers of a class file, used by the pre
+ * handle phase instead of a full parse
+ * <p>
+ * the bodies of the attributes (Code and the others) are skipped by their length
+ */
+
+public class ClassHeaderReader {
+
+    public static final String OBJECT_CLASS_NAME = "java.lang.Object";
+
+    public static ClassHeaderInfo read(ByteBuffer buffer, String entryName) throws IOException {
+        ClassFileBuffer classFileBuffer = ClassFileBuffer.open(buffer, entryName);
+        try {
+            return read(classFileBuffer, null);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("truncated class file: " + entryName, e);
+        }
+    }
+
+    /**
+     * read the header of the class
+     *
+     * @param classFileBuffer the opened class file
+     * @param methodOffsets   when not null, the offsets of the method_info structures are added into it, followed by the offset
+     *                        of the attributes of the class
+     * @return the header of the class
+     */
+    public static ClassHeaderInfo read(ClassFileBuffer classFileBuffer, IntArrayList methodOffsets) {
+        int pos = classFileBuffer.getConstantPoolEnd();
+
+        int accessFlags = classFileBuffer.getU2(pos);
+        int thisClassIndex = classFileBuffer.getU2(pos + 2);
+        int superClassIndex = classFileBuffer.getU2(pos + 4);
+        int interfaceNum = classFileBuffer.getU2(pos + 6);
+        pos += 8;
+
+        List<String> interfaceNameList;
+        if (interfaceNum == 0) {
+            interfaceNameList = Collections.emptyList();
+        } else {
+            interfaceNameList = new ArrayList<>(interfaceNum);
+            for (int i = 0; i < interfaceNum; i++) {
+                interfaceNameList.add(classFileBuffer.getClassName(classFileBuffer.getU2(pos)));
+                pos += 2;
+            }
+        }
+
+        // fields
+        int fieldNum = classFileBuffer.getU2(pos);
+        pos += 2;
+        for (int i = 0; i < fieldNum; i++) {
+            pos = classFileBuffer.skipAttributes(pos + 6);
+        }
+
+        int methodNum = classFileBuffer.getU2(pos);
+        pos += 2;
+        List<MethodHeaderInfo> methodHeaderInfoList = new ArrayList<>(methodNum);
+        for (int i = 0; i < methodNum; i++) {
+            if (methodOffsets != null) {
+                methodOffsets.add(pos);
+            }
+            int methodAccessFlags = classFileBuffer.getU2(pos);
+            String methodName = classFileBuffer.getUtf8(classFileBuffer.getU2(pos + 2));
+            String methodArgs = CommonUtil.argumentList(classFileBuffer.getUtf8(classFileBuffer.getU2(pos + 4)));
+            methodHeaderInfoList.add(MethodHeaderInfo.genInstance(methodName, methodArgs, methodAccessFlags));
+            pos = classFileBuffer.skipAttributes(pos + 6);
+        }
+        if (methodOffsets != null) {
+            methodOffsets.add(pos);
+        }
+
+        ClassHeaderInfo classHeaderInfo = new ClassHeaderInfo();
+        classHeaderInfo.setClassName(classFileBuffer.getClassName(thisClassIndex));
+        // the same as JavaClass.getSuperclassName(), java.lang.Object has no super class
+        classHeaderInfo.setSuperClassName(superClassIndex == 0 ? OBJECT_CLASS_NAME : classFileBuffer.getClassName(superClassIndex));
+        classHeaderInfo.setAccessFlags(accessFlags);
+        classHeaderInfo.setInterfaceNameList(interfaceNameList);
+        classHeaderInfo.setMethodHeaderInfoList(methodHeaderInfoList);
+        return classHeaderInfo;
+    }
+}
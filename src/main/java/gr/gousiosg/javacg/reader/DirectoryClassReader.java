@@ -0,0 +1,110 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: read the classes of an exploded directory (build output, exploded war), the files are walked in name order
+ */
+
+public class DirectoryClassReader implements ClassFileSource {
+
+    private final Path rootPath;
+
+    private final List<String> classEntryNameList = new ArrayList<>();
+
+    private final List<String> nestedArchiveNameList = new ArrayList<>();
+
+    public DirectoryClassReader(String dirPath) throws IOException {
+        rootPath = Paths.get(dirPath);
+        List<Path> filePathList;
+        try (Stream<Path> pathStream = Files.walk(rootPath)) {
+            filePathList = pathStream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+
+        for (Path filePath : filePathList) {
+            // entry names use "/" like the jar entries
+            String entryName = rootPath.relativize(filePath).toString().replace('\\', '/');
+            if (entryName.endsWith(".class")) {
+                classEntryNameList.add(entryName);
+            } else if (isArchiveName(entryName)) {
+                nestedArchiveNameList.add(entryName);
+            }
+        }
+    }
+
+    public static boolean isArchiveName(String name) {
+        return name.endsWith(".jar") || name.endsWith(".war") || name.endsWith(".ear");
+    }
+
+    @Override
+    public List<String> getClassEntryNames() {
+        return Collections.unmodifiableList(classEntryNameList);
+    }
+
+    @Override
+    public int getClassSize(String entryName) {
+        try {
+            return (int) Files.size(rootPath.resolve(entryName));
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public JavaClass parseClass(String entryName) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(rootPath.resolve(entryName))) {
+            return new ClassParser(inputStream, entryName).parse();
+        }
+    }
+
+    @Override
+    public <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException {
+        return classBytesHandler.handle(ByteBuffer.wrap(Files.readAllBytes(rootPath.resolve(entryName))));
+    }
+
+    @Override
+    public String getClassKey(String entryName) throws IOException {
+        return CommonUtil.genClassKey(entryName, Files.readAllBytes(rootPath.resolve(entryName)));
+    }
+
+    @Override
+    public List<String> getNestedArchiveNames() {
+        return Collections.unmodifiableList(nestedArchiveNameList);
+    }
+
+    @Override
+    public ByteBuffer readNestedArchive(String archiveName) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(rootPath.resolve(archiveName), StandardOpenOption.READ)) {
+            return fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+        }
+    }
+
+    @Override
+    public String getReadStatistics() {
+        return null;
+    }
+
+    @Override
+    public void close() {
+        classEntryNameList.clear();
+        nestedArchiveNameList.clear();
+    }
+}
@@ -0,0 +1,87 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.filter.ClassFilter;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the classes of one input without the classes excluded by "-Dclass.filter.file", the class files of the excluded
+ * classes are neither read nor parsed, the entries are filtered once by their names when the source is created
+ * <p>
+ * the other methods use the underlying source, which is closed by this source
+ */
+
+public class FilteredClassFileSource implements ClassFileSource {
+
+    private final ClassFileSource classFileSource;
+
+    private final List<String> classEntryNames;
+
+    public FilteredClassFileSource(ClassFileSource classFileSource, ClassFilter classFilter) {
+        this.classFileSource = classFileSource;
+        List<String> allClassEntryNames = classFileSource.getClassEntryNames();
+        classEntryNames = new ArrayList<>(allClassEntryNames.size());
+        for (String entryName : allClassEntryNames) {
+            if (!classFilter.excludeEntry(entryName)) {
+                classEntryNames.add(entryName);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getClassEntryNames() {
+        return classEntryNames;
+    }
+
+    @Override
+    public int getClassSize(String entryName) {
+        return classFileSource.getClassSize(entryName);
+    }
+
+    @Override
+    public JavaClass parseClass(String entryName) throws IOException {
+        return classFileSource.parseClass(entryName);
+    }
+
+    @Override
+    public <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException {
+        return classFileSource.readClass(entryName, classBytesHandler);
+    }
+
+    @Override
+    public ClassHeaderInfo readClassHeader(String entryName) throws IOException {
+        return classFileSource.readClassHeader(entryName);
+    }
+
+    @Override
+    public String getClassKey(String entryName) throws IOException {
+        return classFileSource.getClassKey(entryName);
+    }
+
+    @Override
+    public List<String> getNestedArchiveNames() {
+        return classFileSource.getNestedArchiveNames();
+    }
+
+    @Override
+    public ByteBuffer readNestedArchive(String archiveName) throws IOException {
+        return classFileSource.readNestedArchive(archiveName);
+    }
+
+    @Override
+    public String getReadStatistics() {
+        return classFileSource.getReadStatistics();
+    }
+
+    @Override
+    public void close() throws IOException {
+        classFileSource.close();
+    }
+}
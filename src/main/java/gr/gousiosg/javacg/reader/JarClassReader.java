@@ -0,0 +1,147 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: open a jar file once and read the bytes of its classes, the same instance is used by all the phases of one jar
+ */
+
+public class JarClassReader implements ClassFileSource {
+
+    private final JarFile jarFile;
+
+    // class entries in the order of the jar
+    private final Map<String, JarEntry> classEntryMap = new LinkedHashMap<>();
+
+    private final Map<String, JarEntry> nestedArchiveMap = new LinkedHashMap<>();
+
+    public JarClassReader(String jarFilePath) throws IOException {
+        jarFile = new JarFile(jarFilePath);
+        for (Enumeration<JarEntry> enumeration = jarFile.entries(); enumeration.hasMoreElements(); ) {
+            JarEntry jarEntry = enumeration.nextElement();
+            if (jarEntry.isDirectory()) {
+                continue;
+            }
+            if (jarEntry.getName().endsWith(".class")) {
+                classEntryMap.put(jarEntry.getName(), jarEntry);
+            } else if (DirectoryClassReader.isArchiveName(jarEntry.getName())) {
+                nestedArchiveMap.put(jarEntry.getName(), jarEntry);
+            }
+        }
+    }
+
+    @Override
+    public List<String> getClassEntryNames() {
+        return Collections.unmodifiableList(new ArrayList<>(classEntryMap.keySet()));
+    }
+
+    @Override
+    public int getClassSize(String entryName) {
+        JarEntry jarEntry = classEntryMap.get(entryName);
+        return jarEntry == null || jarEntry.getSize() < 0 ? 0 : (int) jarEntry.getSize();
+    }
+
+    // read the bytes of one class, can be called by several threads
+    public byte[] readClassBytes(String entryName) throws IOException {
+        JarEntry jarEntry = classEntryMap.get(entryName);
+        if (jarEntry == null) {
+            throw new IOException("class entry not found: " + entryName);
+        }
+
+        try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+            return readAllBytes(inputStream, jarEntry.getSize());
+        }
+    }
+
+    @Override
+    public JavaClass parseClass(String entryName) throws IOException {
+        return new ClassParser(new ByteArrayInputStream(readClassBytes(entryName)), entryName).parse();
+    }
+
+    @Override
+    public <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException {
+        return classBytesHandler.handle(ByteBuffer.wrap(readClassBytes(entryName)));
+    }
+
+    @Override
+    public List<String> getNestedArchiveNames() {
+        return Collections.unmodifiableList(new ArrayList<>(nestedArchiveMap.keySet()));
+    }
+
+    @Override
+    public ByteBuffer readNestedArchive(String archiveName) throws IOException {
+        JarEntry jarEntry = nestedArchiveMap.get(archiveName);
+        if (jarEntry == null) {
+            throw new IOException("nested archive not found: " + archiveName);
+        }
+
+        try (InputStream inputStream = jarFile.getInputStream(jarEntry)) {
+            return ByteBuffer.wrap(readAllBytes(inputStream, jarEntry.getSize()));
+        }
+    }
+
+    @Override
+    public String getClassKey(String entryName) throws IOException {
+        JarEntry jarEntry = classEntryMap.get(entryName);
+        if (jarEntry == null) {
+            throw new IOException("class entry not found: " + entryName);
+        }
+        if (jarEntry.getCrc() < 0 || jarEntry.getSize() < 0) {
+            return CommonUtil.genClassKey(entryName, readClassBytes(entryName));
+        }
+        return CommonUtil.genClassKey(entryName, jarEntry.getCrc(), jarEntry.getSize());
+    }
+
+    @Override
+    public String getReadStatistics() {
+        return null;
+    }
+
+    public static byte[] readAllBytes(InputStream inputStream, long size) throws IOException {
+        byte[] buffer = new byte[size > 0 ? (int) size : 8192];
+        int length = 0;
+        int readLength;
+        while ((readLength = inputStream.read(buffer, length, buffer.length - length)) > 0) {
+            length += readLength;
+            if (length == buffer.length) {
+                int next = inputStream.read();
+                if (next < 0) {
+                    return buffer;
+                }
+                byte[] newBuffer = new byte[buffer.length * 2];
+                System.arraycopy(buffer, 0, newBuffer, 0, length);
+                newBuffer[length++] = (byte) next;
+                buffer = newBuffer;
+            }
+        }
+
+        if (length == buffer.length) {
+            return buffer;
+        }
+        byte[] result = new byte[length];
+        System.arraycopy(buffer, 0, result, 0, length);
+        return result;
+    }
+
+    @Override
+    public void close() throws IOException {
+        jarFile.close();
+    }
+}
@@ -0,0 +1,69 @@
+package gr.gousiosg.javacg.reader;
+
+import org.apache.bcel.classfile.JavaClass;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: keep the classes parsed in the pre handle phase for the visit phase, bounded by the size of the class files
+ * <p>
+ * the two phases read the classes in the same order, so the first classes are kept until the limit is reached and removed
+ * when they are visited, evicting the least recently used class would make every class of a big jar miss
+ */
+
+public class JavaClassCache {
+
+    private final long maxBytes;
+
+    private final Map<String, JavaClass> javaClassMap = new HashMap<>();
+
+    private final Map<String, Integer> classSizeMap = new HashMap<>();
+
+    private long usedBytes;
+
+    private long hitNum;
+
+    private long missNum;
+
+    public JavaClassCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    // if a class of the size can be kept, the pre handle phase only parses the whole class when it is kept
+    public boolean canPut(int classSize) {
+        return usedBytes + classSize <= maxBytes;
+    }
+
+    public void put(String entryName, JavaClass javaClass, int classSize) {
+        if (!canPut(classSize) || javaClassMap.containsKey(entryName)) {
+            return;
+        }
+        javaClassMap.put(entryName, javaClass);
+        classSizeMap.put(entryName, classSize);
+        usedBytes += classSize;
+    }
+
+    // the class is removed, it is visited only once
+    public JavaClass remove(String entryName) {
+        JavaClass javaClass = javaClassMap.remove(entryName);
+        if (javaClass == null) {
+            missNum++;
+            return null;
+        }
+
+        hitNum++;
+        usedBytes -= classSizeMap.remove(entryName);
+        return javaClass;
+    }
+
+    public long getHitNum() {
+        return hitNum;
+    }
+
+    public long getMissNum() {
+        return missNum;
+    }
+}
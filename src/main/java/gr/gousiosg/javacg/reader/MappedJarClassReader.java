@@ -0,0 +1,360 @@
+package gr.gousiosg.javacg.reader;
+
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: memory map a jar file and parse its central directory, stored classes are read from the mapped buffer
+ * directly, deflated classes are inflated into buffers reused by the threads of this reader, the native memory of their
+ * inflaters is released when the reader is closed
+ * <p>
+ * a nested archive already in memory (or mapped as a part of its outer archive) is read in the same way, without temp file
+ * <p>
+ * zip64 archives and jar files bigger than 2 GB are not supported, use the default reader for them
+ */
+
+public class MappedJarClassReader implements ClassFileSource {
+
+    private static final int EOCD_SIGNATURE = 0x06054b50;
+    private static final int CEN_SIGNATURE = 0x02014b50;
+    private static final int LOC_SIGNATURE = 0x04034b50;
+
+    private static final int EOCD_SIZE = 22;
+    private static final int CEN_HEADER_SIZE = 46;
+    private static final int LOC_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+
+    private final ByteBuffer mappedBuffer;
+
+    // true when the file is mapped by this reader, false for a nested archive
+    private final boolean mapped;
+
+    // class entries in the order of the central directory
+    private final Map<String, ZipEntryInfo> classEntryMap = new LinkedHashMap<>();
+
+    private final Map<String, ZipEntryInfo> nestedArchiveMap = new LinkedHashMap<>();
+
+    private final AtomicLong inflatedBytes = new AtomicLong();
+
+    private final AtomicLong storedBytes = new AtomicLong();
+
+    // the buffers not used by a thread, at most one for each thread reading the classes at the same time
+    private final Queue<InflateBuffer> inflateBufferQueue = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean closed;
+
+    public MappedJarClassReader(String jarFilePath) throws IOException {
+        // the mapping stays valid after the channel is closed, it is released when the buffer is garbage collected
+        try (FileChannel fileChannel = FileChannel.open(Paths.get(jarFilePath), StandardOpenOption.READ)) {
+            if (fileChannel.size() > Integer.MAX_VALUE) {
+                throw new IOException("jar file bigger than 2 GB can't be mapped: " + jarFilePath);
+            }
+            mappedBuffer = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size()).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        mapped = true;
+
+        readCentralDirectory(jarFilePath);
+    }
+
+    // read an archive whose content is already in the buffer, the position of the buffer is the start of the archive
+    public MappedJarClassReader(ByteBuffer archiveBuffer, String archiveName) throws IOException {
+        mappedBuffer = archiveBuffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+        mapped = false;
+
+        readCentralDirectory(archiveName);
+    }
+
+    private void readCentralDirectory(String jarFilePath) throws IOException {
+        int eocdOffset = findEndOfCentralDirectory();
+        if (eocdOffset < 0) {
+            throw new IOException("end of central directory not found: " + jarFilePath);
+        }
+
+        int entryNum = mappedBuffer.getShort(eocdOffset + 10) & 0xffff;
+        long cenOffset = mappedBuffer.getInt(eocdOffset + 16) & 0xffffffffL;
+        if (entryNum == 0xffff || cenOffset == 0xffffffffL) {
+            throw new IOException("zip64 jar file is not supported: " + jarFilePath);
+        }
+
+        int offset = (int) cenOffset;
+        for (int i = 0; i < entryNum; i++) {
+            if (mappedBuffer.getInt(offset) != CEN_SIGNATURE) {
+                throw new IOException("illegal central directory header at " + offset + ": " + jarFilePath);
+            }
+
+            int method = mappedBuffer.getShort(offset + 10) & 0xffff;
+            long crc = mappedBuffer.getInt(offset + 16) & 0xffffffffL;
+            long compressedSize = mappedBuffer.getInt(offset + 20) & 0xffffffffL;
+            long size = mappedBuffer.getInt(offset + 24) & 0xffffffffL;
+            int nameLength = mappedBuffer.getShort(offset + 28) & 0xffff;
+            int extraLength = mappedBuffer.getShort(offset + 30) & 0xffff;
+            int commentLength = mappedBuffer.getShort(offset + 32) & 0xffff;
+            long locOffset = mappedBuffer.getInt(offset + 42) & 0xffffffffL;
+
+            String name = readString(offset + CEN_HEADER_SIZE, nameLength);
+            boolean classEntry = name.endsWith(".class");
+            if (classEntry || DirectoryClassReader.isArchiveName(name)) {
+                if (method != METHOD_STORED && method != METHOD_DEFLATED) {
+                    throw new IOException("unsupported compression method " + method + " for " + name + ": " + jarFilePath);
+                }
+                ZipEntryInfo zipEntryInfo = new ZipEntryInfo(method, crc, (int) compressedSize, (int) size, (int) locOffset);
+                if (classEntry) {
+                    classEntryMap.put(name, zipEntryInfo);
+                } else {
+                    nestedArchiveMap.put(name, zipEntryInfo);
+                }
+            }
+            offset += CEN_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+    }
+
+    private int findEndOfCentralDirectory() {
+        int minOffset = Math.max(0, mappedBuffer.capacity() - EOCD_SIZE - MAX_COMMENT_SIZE);
+        for (int offset = mappedBuffer.capacity() - EOCD_SIZE; offset >= minOffset; offset--) {
+            if (mappedBuffer.getInt(offset) == EOCD_SIGNATURE) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    private String readString(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer nameBuffer = mappedBuffer.duplicate();
+        nameBuffer.position(offset);
+        nameBuffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // the data offset is read from the local header, its extra field can differ from the central directory
+    private int getDataOffset(String entryName, ZipEntryInfo zipEntryInfo) throws IOException {
+        int locOffset = zipEntryInfo.locOffset;
+        if (mappedBuffer.getInt(locOffset) != LOC_SIGNATURE) {
+            throw new IOException("illegal local header for " + entryName);
+        }
+        int nameLength = mappedBuffer.getShort(locOffset + 26) & 0xffff;
+        int extraLength = mappedBuffer.getShort(locOffset + 28) & 0xffff;
+        return locOffset + LOC_HEADER_SIZE + nameLength + extraLength;
+    }
+
+    @Override
+    public List<String> getClassEntryNames() {
+        return Collections.unmodifiableList(new ArrayList<>(classEntryMap.keySet()));
+    }
+
+    @Override
+    public int getClassSize(String entryName) {
+        ZipEntryInfo zipEntryInfo = classEntryMap.get(entryName);
+        return zipEntryInfo == null ? 0 : zipEntryInfo.size;
+    }
+
+    @Override
+    public JavaClass parseClass(String entryName) throws IOException {
+        ZipEntryInfo zipEntryInfo = classEntryMap.get(entryName);
+        if (zipEntryInfo == null) {
+            throw new IOException("class entry not found: " + entryName);
+        }
+
+        ByteBuffer dataBuffer = getDataBuffer(entryName, zipEntryInfo);
+        if (zipEntryInfo.method == METHOD_STORED) {
+            storedBytes.addAndGet(zipEntryInfo.size);
+            return new ClassParser(new ByteBufferInputStream(dataBuffer), entryName).parse();
+        }
+        InflateBuffer inflateBuffer = takeInflateBuffer();
+        try {
+            int length = inflateBuffer.inflate(dataBuffer, zipEntryInfo.size, entryName);
+            inflatedBytes.addAndGet(length);
+            // the class is parsed before the buffer is reused by another thread
+            InputStream inputStream = new ByteArrayInputStream(inflateBuffer.output, 0, length);
+            return new ClassParser(inputStream, entryName).parse();
+        } finally {
+            releaseInflateBuffer(inflateBuffer);
+        }
+    }
+
+    @Override
+    public <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException {
+        ZipEntryInfo zipEntryInfo = classEntryMap.get(entryName);
+        if (zipEntryInfo == null) {
+            throw new IOException("class entry not found: " + entryName);
+        }
+
+        ByteBuffer dataBuffer = getDataBuffer(entryName, zipEntryInfo);
+        if (zipEntryInfo.method == METHOD_STORED) {
+            // the class is read from the mapped file directly
+            storedBytes.addAndGet(zipEntryInfo.size);
+            return classBytesHandler.handle(dataBuffer);
+        }
+        InflateBuffer inflateBuffer = takeInflateBuffer();
+        try {
+            int length = inflateBuffer.inflate(dataBuffer, zipEntryInfo.size, entryName);
+            inflatedBytes.addAndGet(length);
+            // the class is handled before the buffer is reused by another thread
+            return classBytesHandler.handle(ByteBuffer.wrap(inflateBuffer.output, 0, length).slice());
+        } finally {
+            releaseInflateBuffer(inflateBuffer);
+        }
+    }
+
+    private InflateBuffer takeInflateBuffer() {
+        InflateBuffer inflateBuffer = inflateBufferQueue.poll();
+        return inflateBuffer == null ? new InflateBuffer() : inflateBuffer;
+    }
+
+    private void releaseInflateBuffer(InflateBuffer inflateBuffer) {
+        inflateBufferQueue.add(inflateBuffer);
+        // a buffer released after the reader is closed is not kept
+        if (closed) {
+            endInflateBuffers();
+        }
+    }
+
+    private void endInflateBuffers() {
+        InflateBuffer inflateBuffer;
+        while ((inflateBuffer = inflateBufferQueue.poll()) != null) {
+            inflateBuffer.inflater.end();
+        }
+    }
+
+    @Override
+    public String getClassKey(String entryName) throws IOException {
+        ZipEntryInfo zipEntryInfo = classEntryMap.get(entryName);
+        if (zipEntryInfo == null) {
+            throw new IOException("class entry not found: " + entryName);
+        }
+        return CommonUtil.genClassKey(entryName, zipEntryInfo.crc, zipEntryInfo.size);
+    }
+
+    @Override
+    public List<String> getNestedArchiveNames() {
+        return Collections.unmodifiableList(new ArrayList<>(nestedArchiveMap.keySet()));
+    }
+
+    // a stored nested archive is a view of this buffer, a deflated one is inflated into its own array
+    @Override
+    public ByteBuffer readNestedArchive(String archiveName) throws IOException {
+        ZipEntryInfo zipEntryInfo = nestedArchiveMap.get(archiveName);
+        if (zipEntryInfo == null) {
+            throw new IOException("nested archive not found: " + archiveName);
+        }
+
+        ByteBuffer dataBuffer = getDataBuffer(archiveName, zipEntryInfo);
+        if (zipEntryInfo.method == METHOD_STORED) {
+            storedBytes.addAndGet(zipEntryInfo.size);
+            return dataBuffer;
+        }
+
+        InflateBuffer inflateBuffer = new InflateBuffer();
+        int length;
+        try {
+            length = inflateBuffer.inflate(dataBuffer, zipEntryInfo.size, archiveName);
+        } finally {
+            inflateBuffer.inflater.end();
+        }
+        inflatedBytes.addAndGet(length);
+        return ByteBuffer.wrap(inflateBuffer.output, 0, length);
+    }
+
+    private ByteBuffer getDataBuffer(String entryName, ZipEntryInfo zipEntryInfo) throws IOException {
+        ByteBuffer dataBuffer = mappedBuffer.duplicate();
+        int dataOffset = getDataOffset(entryName, zipEntryInfo);
+        dataBuffer.position(dataOffset);
+        dataBuffer.limit(dataOffset + zipEntryInfo.compressedSize);
+        return dataBuffer.slice();
+    }
+
+    @Override
+    public String getReadStatistics() {
+        return (mapped ? "mapped bytes: " : "nested archive bytes: ") + mappedBuffer.capacity() + " stored bytes: " + storedBytes.get() +
+                " inflated bytes: " + inflatedBytes.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        endInflateBuffers();
+        classEntryMap.clear();
+        nestedArchiveMap.clear();
+    }
+
+    private static class ZipEntryInfo {
+        private final int method;
+        private final long crc;
+        private final int compressedSize;
+        private final int size;
+        private final int locOffset;
+
+        private ZipEntryInfo(int method, long crc, int compressedSize, int size, int locOffset) {
+            this.method = method;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.locOffset = locOffset;
+        }
+    }
+
+    // Inflater.setInput(ByteBuffer) needs Java 11, the compressed bytes are copied into a reused array
+    private static class InflateBuffer {
+        private final Inflater inflater = new Inflater(true);
+        private byte[] input = new byte[8192];
+        private byte[] output = new byte[8192];
+
+        private int inflate(ByteBuffer compressedBuffer, int size, String entryName) throws IOException {
+            int compressedSize = compressedBuffer.remaining();
+            inflater.reset();
+            if (input.length < compressedSize + 1) {
+                input = new byte[compressedSize + 1];
+            }
+            if (output.length < size) {
+                output = new byte[size];
+            }
+            compressedBuffer.get(input, 0, compressedSize);
+            // an extra dummy byte is needed by the nowrap inflater
+            input[compressedSize] = 0;
+
+            inflater.setInput(input, 0, compressedSize + 1);
+            try {
+                int length = 0;
+                while (length < size && !inflater.finished()) {
+                    int inflateLength = inflater.inflate(output, length, size - length);
+                    if (inflateLength == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += inflateLength;
+                }
+                if (length != size) {
+                    throw new IOException("inflated size " + length + " is not " + size + " for " + entryName);
+                }
+                return length;
+            } catch (DataFormatException e) {
+                throw new IOException("inflate fail for " + entryName, e);
+            }
+        }
+    }
+}
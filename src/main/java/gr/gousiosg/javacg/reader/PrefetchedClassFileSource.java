@@ -0,0 +1,89 @@
+package gr.gousiosg.javacg.reader;
+
+import org.apache.bcel.classfile.ClassParser;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the classes of one input whose bytes are read ahead by another thread, a class put into this source is parsed or
+ * read from its bytes once and then removed, the other classes and the other methods use the underlying source
+ * <p>
+ * put, parseClass and readClass can be called by several threads, the underlying source is not closed by this source
+ */
+
+public class PrefetchedClassFileSource implements ClassFileSource {
+
+    private final ClassFileSource classFileSource;
+
+    private final Map<String, byte[]> classBytesMap = new ConcurrentHashMap<>();
+
+    public PrefetchedClassFileSource(ClassFileSource classFileSource) {
+        this.classFileSource = classFileSource;
+    }
+
+    // the bytes of the class file, read by the next parseClass or readClass of the entry
+    public void put(String entryName, byte[] classBytes) {
+        classBytesMap.put(entryName, classBytes);
+    }
+
+    @Override
+    public List<String> getClassEntryNames() {
+        return classFileSource.getClassEntryNames();
+    }
+
+    @Override
+    public int getClassSize(String entryName) {
+        return classFileSource.getClassSize(entryName);
+    }
+
+    @Override
+    public JavaClass parseClass(String entryName) throws IOException {
+        byte[] classBytes = classBytesMap.remove(entryName);
+        if (classBytes == null) {
+            return classFileSource.parseClass(entryName);
+        }
+        return new ClassParser(new ByteArrayInputStream(classBytes), entryName).parse();
+    }
+
+    @Override
+    public <T> T readClass(String entryName, ClassBytesHandler<T> classBytesHandler) throws IOException {
+        byte[] classBytes = classBytesMap.remove(entryName);
+        if (classBytes == null) {
+            return classFileSource.readClass(entryName, classBytesHandler);
+        }
+        return classBytesHandler.handle(ByteBuffer.wrap(classBytes));
+    }
+
+    @Override
+    public String getClassKey(String entryName) throws IOException {
+        return classFileSource.getClassKey(entryName);
+    }
+
+    @Override
+    public List<String> getNestedArchiveNames() {
+        return classFileSource.getNestedArchiveNames();
+    }
+
+    @Override
+    public ByteBuffer readNestedArchive(String archiveName) throws IOException {
+        return classFileSource.readNestedArchive(archiveName);
+    }
+
+    @Override
+    public String getReadStatistics() {
+        return classFileSource.getReadStatistics();
+    }
+
+    @Override
+    public void close() {
+        classBytesMap.clear();
+    }
+}
@@ -0,0 +1,130 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.util.BytecodeUtil;
+import org.apache.bcel.Const;
+import org.apache.bcel.classfile.Attribute;
+import org.apache.bcel.classfile.BootstrapMethod;
+import org.apache.bcel.classfile.BootstrapMethods;
+import org.apache.bcel.classfile.Constant;
+import org.apache.bcel.classfile.ConstantCP;
+import org.apache.bcel.classfile.ConstantInvokeDynamic;
+import org.apache.bcel.classfile.ConstantMethodHandle;
+import org.apache.bcel.classfile.ConstantPool;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the bootstrap methods of one class, found once and shared by the methods of the class
+ * <p>
+ * the names of the called methods are not cached, DynamicCallManager.linkCalls renames the lambda methods in the constant pool
+ * and the method handles read the new names
+ */
+
+public class BootstrapMethodTable {
+
+    // index of the bootstrap argument which is the method handle of the called method (LambdaMetafactory)
+    private static final int CALL_HANDLE_INDEX_ARGUMENT = 1;
+
+    private static final BootstrapMethod[] EMPTY_BOOTSTRAP_METHODS = new BootstrapMethod[0];
+
+    private static final String LAMBDA_METAFACTORY_CLASS_NAME = "java.lang.invoke.LambdaMetafactory";
+
+    private static final byte LAMBDA_METAFACTORY_UNKNOWN = 0;
+    private static final byte LAMBDA_METAFACTORY_YES = 1;
+    private static final byte LAMBDA_METAFACTORY_NO = 2;
+
+    private final ConstantPool constantPool;
+
+    private final BootstrapMethod[] bootstrapMethods;
+
+    // if the bootstrap method of each index is a method of LambdaMetafactory, found when used for the first time
+    private final byte[] lambdaMetafactoryFlags;
+
+    public BootstrapMethodTable(JavaClass javaClass) {
+        constantPool = javaClass.getConstantPool();
+        bootstrapMethods = findBootstrapMethods(javaClass);
+        lambdaMetafactoryFlags = new byte[bootstrapMethods.length];
+    }
+
+    private static BootstrapMethod[] findBootstrapMethods(JavaClass javaClass) {
+        for (Attribute attribute : javaClass.getAttributes()) {
+            if (attribute instanceof BootstrapMethods) {
+                return ((BootstrapMethods) attribute).getBootstrapMethods();
+            }
+        }
+        return EMPTY_BOOTSTRAP_METHODS;
+    }
+
+    public boolean isEmpty() {
+        return bootstrapMethods.length == 0;
+    }
+
+    // the index of the bootstrap method used by the invokedynamic instruction, the argument is the constant index of the instruction
+    public int getBootstrapIndex(int invokeDynamicIndex) {
+        return ((ConstantInvokeDynamic) constantPool.getConstant(invokeDynamicIndex)).getBootstrapMethodAttrIndex();
+    }
+
+    public BootstrapMethod getBootstrapMethod(int bootstrapIndex) {
+        return bootstrapMethods[bootstrapIndex];
+    }
+
+    // the constant of the called method handle, or null when the bootstrap method has no such argument
+    public Constant getCallHandleConstant(int bootstrapIndex) {
+        int[] bootstrapArguments = bootstrapMethods[bootstrapIndex].getBootstrapArguments();
+        if (bootstrapArguments.length <= CALL_HANDLE_INDEX_ARGUMENT) {
+            return null;
+        }
+        return constantPool.getConstant(bootstrapArguments[CALL_HANDLE_INDEX_ARGUMENT]);
+    }
+
+    // the called method handle, or null when the argument is not a method handle
+    public ConstantMethodHandle getCallMethodHandle(int bootstrapIndex) {
+        Constant constant = getCallHandleConstant(bootstrapIndex);
+        return constant instanceof ConstantMethodHandle ? (ConstantMethodHandle) constant : null;
+    }
+
+    // the method reference of the called method handle, or null when the argument is not a method handle
+    public ConstantCP getCallMethodRef(int bootstrapIndex) {
+        ConstantMethodHandle methodHandle = getCallMethodHandle(bootstrapIndex);
+        if (methodHandle == null) {
+            return null;
+        }
+        return (ConstantCP) constantPool.getConstant(methodHandle.getReferenceIndex());
+    }
+
+    // if the bootstrap method is LambdaMetafactory.metafactory or altMetafactory, used for the lambdas and the method references
+    public boolean isLambdaMetafactory(int bootstrapIndex) {
+        if (lambdaMetafactoryFlags[bootstrapIndex] == LAMBDA_METAFACTORY_UNKNOWN) {
+            ConstantMethodHandle bootstrapHandle = (ConstantMethodHandle) constantPool.getConstant(
+                    bootstrapMethods[bootstrapIndex].getBootstrapMethodRef());
+            ConstantCP bootstrapRef = (ConstantCP) constantPool.getConstant(bootstrapHandle.getReferenceIndex());
+            lambdaMetafactoryFlags[bootstrapIndex] = LAMBDA_METAFACTORY_CLASS_NAME.equals(bootstrapRef.getClass(constantPool)) ?
+                    LAMBDA_METAFACTORY_YES : LAMBDA_METAFACTORY_NO;
+        }
+        return lambdaMetafactoryFlags[bootstrapIndex] == LAMBDA_METAFACTORY_YES;
+    }
+
+    /*
+        return the offset of the next invokedynamic instruction in the code from the offset (included), or -1 when there is none,
+        the instructions are walked by their length, the instruction objects are not created
+     */
+    public static int nextInvokeDynamicOffset(ByteBuffer code, int offset) {
+        int pos = offset;
+        while (pos < code.limit()) {
+            int opcode = code.get(pos) & 0xff;
+            if (opcode == Const.INVOKEDYNAMIC) {
+                return pos;
+            }
+            pos += BytecodeUtil.getInstructionLength(code, 0, pos);
+        }
+        return -1;
+    }
+
+    // the constant index of the invokedynamic instruction at the offset
+    public static int getInvokeDynamicIndex(ByteBuffer code, int offset) {
+        return code.getShort(offset + 1) & 0xffff;
+    }
+}
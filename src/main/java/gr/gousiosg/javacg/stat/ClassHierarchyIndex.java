@@ -0,0 +1,550 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.collection.IntArrayList;
+import gr.gousiosg.javacg.collection.IntArrayMap;
+import gr.gousiosg.javacg.collection.IntHashSet;
+import gr.gousiosg.javacg.collection.IntIntHashMap;
+import gr.gousiosg.javacg.collection.SpillableIntSetMap;
+import gr.gousiosg.javacg.collection.SymbolTable;
+import gr.gousiosg.javacg.common.Constants;
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.MethodAttribute;
+import gr.gousiosg.javacg.dto.MethodHeaderInfo;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.output.CallGraphWriter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the class hierarchy of the classes of a jar, or of all the jars with "-Dglobal.hierarchy=true", used to generate
+ * the method calls between the interfaces and the implementation classes (ITF) and between the super and the children classes
+ * (SCC, CCS). each method call is written with the jar number of the implementation or child class
+ * <p>
+ * the classes are keyed by the ids of the class symbol table. each class has its super class, its direct interfaces, the ids of
+ * its methods, and the children classes in the extends tree. the super interfaces of an interface are closed transitively into
+ * a bitset of class ids when it is first used, so a class implementing an interface which extends other interfaces also
+ * implements the other interfaces
+ * <p>
+ * the extends tree contains the classes whose super class is not a "java." class and their super classes, it is built when all the
+ * headers are added, so a super class may be in a jar added before its children. it is walked from each class whose super class
+ * is not in the tree, with a stack of arrays, so a deep hierarchy is not limited by the thread stack
+ * <p>
+ * with the rapid type analysis ("-Drta=true"), the ITF and SCC method calls are only written to the classes which are allocated,
+ * or whose children classes are allocated, since only their objects can receive the calls. the CCS method calls are kept
+ */
+
+public class ClassHierarchyIndex {
+
+    private static final String JAVA_PACKAGE_PREFIX = "java.";
+
+    private static final int INTERFACE_METHOD_FLAGS = MethodAttribute.genFlags(true, true, false);
+
+    // the super interface closure of an interface which does not extend other interfaces
+    private static final BitSet NO_SUPER_INTERFACE = new BitSet(0);
+
+    // the called methods of an interface which are not called
+    private static final IntHashSet NO_CALLED_METHOD = new IntHashSet();
+
+    private final SymbolTable classSymbolTable;
+
+    private final SymbolTable methodSymbolTable;
+
+    // class id -> class or interface, the first header of a class name is used
+    private final IntArrayMap<ClassNode> classNodeMap = new IntArrayMap<>();
+
+    // the classes in the order their headers are added
+    private final IntArrayList classIdList = new IntArrayList();
+
+    // the classes whose super class is not a "java." class, and their super classes
+    private final BitSet extendsClassesSet = new BitSet();
+
+    // super class id -> children classes in the extends tree, in the order their headers are added
+    private final IntArrayMap<IntArrayList> childrenClassIdMap = new IntArrayMap<>();
+
+    // interface id -> the super interfaces of the interface, transitively, without the interface itself
+    private final IntArrayMap<BitSet> superInterfaceClosureMap = new IntArrayMap<>();
+
+    // interface id -> the abstract methods of the interface which are called, after all the classes are visited
+    private final IntArrayMap<IntHashSet> calledInterfaceMethodMap = new IntArrayMap<>();
+
+    private final boolean rtaUsed;
+
+    // the classes whose objects are created by a "new" or a constructor reference
+    private final BitSet allocatedClassesSet = new BitSet();
+
+    // the allocated classes and their super classes, set when the extends tree is built
+    private BitSet liveClassesSet;
+
+    // the ITF and SCC method calls not written to the classes which are not live
+    private long prunedMethodCallNum;
+
+    private static class ClassNode {
+
+        private boolean interfaceType;
+
+        private boolean abstractClass;
+
+        // the number of the jar of the first header
+        private int jarNum;
+
+        // the id of the super class, -1 when it is a "java." class
+        private int superClassId;
+
+        private int[] interfaceIds;
+
+        // class: the public methods which are not abstract or static, null when the class has no interface or no method
+        private int[] implMethodIds;
+
+        // interface: the abstract methods, sorted, null when the interface has no method
+        private int[] abstractMethodIds;
+
+        // class: the id and the flags of MethodAttribute of each method used in the extends tree, null when there is no such method
+        private int[] methodIdAndFlags;
+
+        // class in the extends tree: method id -> flags of MethodAttribute, the methods of the super classes are added into it
+        private IntIntHashMap methodAttributeMap;
+    }
+
+    /**
+     * @param rtaUsed if the ITF and SCC method calls are only written to the allocated classes and their super classes
+     */
+    public ClassHierarchyIndex(SymbolTable classSymbolTable, SymbolTable methodSymbolTable, boolean rtaUsed) {
+        this.classSymbolTable = classSymbolTable;
+        this.methodSymbolTable = methodSymbolTable;
+        this.rtaUsed = rtaUsed;
+    }
+
+    /**
+     * add the header of a class or an interface read in the pre handle phase
+     *
+     * @return true when it is the first header of the class name
+     */
+    public boolean addClassHeader(int classId, ClassHeaderInfo classHeaderInfo, int jarNum) {
+        String superClassName = classHeaderInfo.getSuperClassName();
+        int superClassId = -1;
+        if (!superClassName.startsWith(JAVA_PACKAGE_PREFIX)) {
+            superClassId = classSymbolTable.getId(superClassName);
+            extendsClassesSet.set(classId);
+            extendsClassesSet.set(superClassId);
+        }
+
+        if (classNodeMap.get(classId) != null) {
+            return false;
+        }
+
+        ClassNode classNode = new ClassNode();
+        classNode.interfaceType = classHeaderInfo.isInterface();
+        classNode.abstractClass = classHeaderInfo.isAbstract();
+        classNode.jarNum = jarNum;
+        classNode.superClassId = superClassId;
+
+        List<String> interfaceNameList = classHeaderInfo.getInterfaceNameList();
+        classNode.interfaceIds = new int[interfaceNameList.size()];
+        for (int i = 0; i < classNode.interfaceIds.length; i++) {
+            classNode.interfaceIds[i] = classSymbolTable.getId(interfaceNameList.get(i));
+        }
+
+        List<MethodHeaderInfo> methodHeaderInfoList = classHeaderInfo.getMethodHeaderInfoList();
+        if (!methodHeaderInfoList.isEmpty()) {
+            if (classNode.interfaceType) {
+                classNode.abstractMethodIds = genInterfaceAbstractMethodIds(methodHeaderInfoList);
+            } else {
+                if (classNode.interfaceIds.length > 0) {
+                    classNode.implMethodIds = genImplClassMethodIds(methodHeaderInfoList);
+                }
+                classNode.methodIdAndFlags = genMethodIdAndFlags(methodHeaderInfoList);
+            }
+        }
+        classNodeMap.put(classId, classNode);
+        classIdList.add(classId);
+        return true;
+    }
+
+    // a class whose constructor is called to create an object, used with the rapid type analysis
+    public void addAllocatedClass(int classId) {
+        allocatedClassesSet.set(classId);
+    }
+
+    /**
+     * build the extends tree after all the headers are added: the children classes of each super class, and the methods of each
+     * class in the tree, then add the abstract methods of the interfaces of the abstract super classes into the super classes
+     * <p>
+     * called once before the method calls are written
+     */
+    public void buildExtendsTree() {
+        for (int i = 0; i < classIdList.size(); i++) {
+            int classId = classIdList.get(i);
+            ClassNode classNode = classNodeMap.get(classId);
+            if (classNode.interfaceType || !extendsClassesSet.get(classId)) {
+                continue;
+            }
+
+            if (classNode.superClassId >= 0) {
+                IntArrayList childrenClassIdList = childrenClassIdMap.get(classNode.superClassId);
+                if (childrenClassIdList == null) {
+                    childrenClassIdList = new IntArrayList();
+                    childrenClassIdMap.put(classNode.superClassId, childrenClassIdList);
+                }
+                childrenClassIdList.add(classId);
+            }
+
+            IntIntHashMap methodAttributeMap = new IntIntHashMap();
+            if (classNode.methodIdAndFlags != null) {
+                for (int j = 0; j < classNode.methodIdAndFlags.length; j += 2) {
+                    methodAttributeMap.put(classNode.methodIdAndFlags[j], classNode.methodIdAndFlags[j + 1]);
+                }
+            }
+            classNode.methodAttributeMap = methodAttributeMap;
+        }
+
+        addInterfaceMethods4SuperClass();
+
+        if (rtaUsed) {
+            liveClassesSet = genLiveClassesSet();
+        }
+    }
+
+    // an object of an allocated class also runs the methods it inherits from its super classes
+    private BitSet genLiveClassesSet() {
+        BitSet classesSet = new BitSet();
+        for (int classId = allocatedClassesSet.nextSetBit(0); classId >= 0; classId = allocatedClassesSet.nextSetBit(classId + 1)) {
+            int liveClassId = classId;
+            while (liveClassId >= 0 && !classesSet.get(liveClassId)) {
+                classesSet.set(liveClassId);
+                ClassNode classNode = classNodeMap.get(liveClassId);
+                liveClassId = classNode == null ? -1 : classNode.superClassId;
+            }
+        }
+        return classesSet;
+    }
+
+    // if the methods of the class can receive the ITF and SCC method calls
+    private boolean isLiveClass(int classId) {
+        return liveClassesSet == null || liveClassesSet.get(classId);
+    }
+
+    public String getRtaStatistics() {
+        return "rta allocated classes: " + allocatedClassesSet.cardinality() + " live classes: " +
+                (liveClassesSet == null ? 0 : liveClassesSet.cardinality()) + " pruned ITF/SCC method calls: " + prunedMethodCallNum;
+    }
+
+    /*
+        add the abstract methods of the interfaces of the abstract super classes into the super classes, so they are seen by the children.
+        only the interfaces declared by the super classes are used, an abstract method from a super interface would hide the methods
+        the children inherit from their super classes
+     */
+    private void addInterfaceMethods4SuperClass() {
+        for (int superClassId = childrenClassIdMap.nextKey(-1); superClassId >= 0; superClassId = childrenClassIdMap.nextKey(superClassId)) {
+            ClassNode superClassNode = classNodeMap.get(superClassId);
+            if (superClassNode == null || superClassNode.methodAttributeMap == null || !superClassNode.abstractClass ||
+                    superClassNode.implMethodIds == null) {
+                // the methods of a class in other jar can't be found
+                continue;
+            }
+
+            for (int interfaceId : superClassNode.interfaceIds) {
+                ClassNode interfaceNode = classNodeMap.get(interfaceId);
+                if (interfaceNode == null || interfaceNode.abstractMethodIds == null) {
+                    continue;
+                }
+                for (int interfaceMethodId : interfaceNode.abstractMethodIds) {
+                    if (!superClassNode.methodAttributeMap.containsKey(interfaceMethodId)) {
+                        superClassNode.methodAttributeMap.put(interfaceMethodId, INTERFACE_METHOD_FLAGS);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * write the method calls between the super and the children classes, the abstract methods of a super class call the methods of
+     * the children classes (SCC), the children classes call the public/protected methods of a super class they don't override (CCS).
+     * the classes are walked from the top classes, the methods of a super class are added into its children
+     * <p>
+     * buildExtendsTree is called before
+     *
+     * @param calleeMethodMap class id -> the methods called on the class
+     */
+    public void writeExtendsClassMethodCalls(SpillableIntSetMap calleeMethodMap, CallGraphWriter resultWriter) throws IOException {
+        // the classes from the top class to the current class, and the index of the current child of each class
+        int[] classIdStack = new int[16];
+        int[] childIndexStack = new int[16];
+
+        for (int topClassId = classNodeMap.nextKey(-1); topClassId >= 0; topClassId = classNodeMap.nextKey(topClassId)) {
+            ClassNode topClassNode = classNodeMap.get(topClassId);
+            if (topClassNode.methodAttributeMap == null || childrenClassIdMap.get(topClassId) == null ||
+                    isExtendsTreeClass(topClassNode.superClassId)) {
+                // not a top class of the extends tree
+                continue;
+            }
+            System.out.println("handleOneTopSuperClass: " + classSymbolTable.getSymbol(topClassId));
+
+            int level = 0;
+            classIdStack[0] = topClassId;
+            childIndexStack[0] = -1;
+            while (level >= 0) {
+                IntArrayList childrenClassIdList = childrenClassIdMap.get(classIdStack[level]);
+                int childIndex = ++childIndexStack[level];
+                if (childrenClassIdList == null || childIndex >= childrenClassIdList.size()) {
+                    level--;
+                    continue;
+                }
+
+                int childClassId = childrenClassIdList.get(childIndex);
+                handleSuperAndChildClass(classIdStack[level], childClassId, calleeMethodMap, resultWriter);
+
+                level++;
+                if (level == classIdStack.length) {
+                    classIdStack = Arrays.copyOf(classIdStack, level * 2);
+                    childIndexStack = Arrays.copyOf(childIndexStack, level * 2);
+                }
+                classIdStack[level] = childClassId;
+                childIndexStack[level] = -1;
+            }
+        }
+    }
+
+    private boolean isExtendsTreeClass(int classId) {
+        if (classId < 0) {
+            return false;
+        }
+        ClassNode classNode = classNodeMap.get(classId);
+        return classNode != null && classNode.methodAttributeMap != null;
+    }
+
+    private void handleSuperAndChildClass(int superClassId, int childClassId, SpillableIntSetMap calleeMethodMap, CallGraphWriter resultWriter)
+            throws IOException {
+        String superClassName = classSymbolTable.getSymbol(superClassId);
+        String childClassName = classSymbolTable.getSymbol(childClassId);
+        ClassNode childClassNode = classNodeMap.get(childClassId);
+        IntIntHashMap superMethodAttributeMap = classNodeMap.get(superClassId).methodAttributeMap;
+        IntIntHashMap childMethodAttributeMap = childClassNode.methodAttributeMap;
+        boolean childClassLive = isLiveClass(childClassId);
+
+        for (int slot = superMethodAttributeMap.nextSlot(-1); slot >= 0; slot = superMethodAttributeMap.nextSlot(slot)) {
+            int superMethodWithArgsId = superMethodAttributeMap.keyAt(slot);
+            int superMethodAttribute = superMethodAttributeMap.valueAt(slot);
+            String superMethodWithArgs = methodSymbolTable.getSymbol(superMethodWithArgsId);
+            if (MethodAttribute.isAbstractMethod(superMethodAttribute)) {
+                // super abstract method
+                if (!childMethodAttributeMap.containsKey(superMethodWithArgsId)) {
+                    childMethodAttributeMap.put(superMethodWithArgsId, superMethodAttribute);
+                }
+                if (!childClassLive) {
+                    prunedMethodCallNum++;
+                    continue;
+                }
+                // add super class call child class method
+                resultWriter.writeMethodCall(superClassName, superMethodWithArgs, CallTypeEnum.CTE_SCC.getType(), childClassName, superMethodWithArgs,
+                        "", Constants.DEFAULT_LINE_NUMBER, childClassNode.jarNum);
+                continue;
+            }
+            if (MethodAttribute.isPublicMethod(superMethodAttribute) || MethodAttribute.isProtectedMethod(superMethodAttribute)) {
+                // super public/protected not abstract method
+                if (childMethodAttributeMap.containsKey(superMethodWithArgsId)) {
+                    continue;
+                }
+                if (!childClassNode.abstractClass) {
+                    IntHashSet childCalleeMethodWithArgsSet = calleeMethodMap.get(childClassId);
+                    if (childCalleeMethodWithArgsSet == null || !childCalleeMethodWithArgsSet.contains(superMethodWithArgsId)) {
+                        continue;
+                    }
+                }
+
+                childMethodAttributeMap.put(superMethodWithArgsId, superMethodAttribute);
+
+                // add child class call super class method
+                resultWriter.writeMethodCall(childClassName, superMethodWithArgs, CallTypeEnum.CTE_CCS.getType(), superClassName, superMethodWithArgs,
+                        "", Constants.DEFAULT_LINE_NUMBER, childClassNode.jarNum);
+            }
+        }
+    }
+
+    /**
+     * write the method calls from the called abstract methods of the interfaces to the methods of the implementation classes (ITF),
+     * the interfaces of a class include the super interfaces of its interfaces
+     *
+     * @param calleeMethodMap class id -> the methods called on the class
+     */
+    public void writeInterfaceMethodCalls(SpillableIntSetMap calleeMethodMap, CallGraphWriter resultWriter) throws IOException {
+        for (int classId = classNodeMap.nextKey(-1); classId >= 0; classId = classNodeMap.nextKey(classId)) {
+            ClassNode classNode = classNodeMap.get(classId);
+            if (classNode.implMethodIds == null) {
+                continue;
+            }
+            boolean classLive = isLiveClass(classId);
+
+            for (int interfaceId : getInterfaceClosure(classNode.interfaceIds)) {
+                IntHashSet calledMethodIdSet = getCalledInterfaceMethods(interfaceId, calleeMethodMap);
+                if (calledMethodIdSet.isEmpty()) {
+                    continue;
+                }
+
+                String interfaceName = classSymbolTable.getSymbol(interfaceId);
+                for (int classMethodWithArgsId : classNode.implMethodIds) {
+                    if (!calledMethodIdSet.contains(classMethodWithArgsId)) {
+                        continue;
+                    }
+                    if (!classLive) {
+                        prunedMethodCallNum++;
+                        continue;
+                    }
+                    String classMethodWithArgs = methodSymbolTable.getSymbol(classMethodWithArgsId);
+                    resultWriter.writeMethodCall(interfaceName, classMethodWithArgs, CallTypeEnum.CTE_ITF.getType(), classSymbolTable.getSymbol(classId),
+                            classMethodWithArgs, "", Constants.DEFAULT_LINE_NUMBER, classNode.jarNum);
+                }
+            }
+        }
+    }
+
+    // the abstract methods of the interface which are called on the interface
+    private IntHashSet getCalledInterfaceMethods(int interfaceId, SpillableIntSetMap calleeMethodMap) throws IOException {
+        IntHashSet calledMethodIdSet = calledInterfaceMethodMap.get(interfaceId);
+        if (calledMethodIdSet != null) {
+            return calledMethodIdSet;
+        }
+
+        calledMethodIdSet = NO_CALLED_METHOD;
+        ClassNode interfaceNode = classNodeMap.get(interfaceId);
+        IntHashSet calleeMethodWithArgsSet = interfaceNode != null && interfaceNode.interfaceType && interfaceNode.abstractMethodIds != null ?
+                calleeMethodMap.get(interfaceId) : null;
+        if (calleeMethodWithArgsSet != null) {
+            for (int abstractMethodId : interfaceNode.abstractMethodIds) {
+                if (calleeMethodWithArgsSet.contains(abstractMethodId)) {
+                    if (calledMethodIdSet == NO_CALLED_METHOD) {
+                        calledMethodIdSet = new IntHashSet();
+                    }
+                    calledMethodIdSet.add(abstractMethodId);
+                }
+            }
+        }
+        calledInterfaceMethodMap.put(interfaceId, calledMethodIdSet);
+        return calledMethodIdSet;
+    }
+
+    // the interfaces in the declared order, then their super interfaces in the order of the ids
+    private int[] getInterfaceClosure(int[] interfaceIds) {
+        BitSet superInterfaceIdSet = null;
+        for (int interfaceId : interfaceIds) {
+            BitSet superInterfaceClosure = getSuperInterfaceClosure(interfaceId);
+            if (superInterfaceClosure == NO_SUPER_INTERFACE) {
+                continue;
+            }
+            if (superInterfaceIdSet == null) {
+                superInterfaceIdSet = new BitSet();
+            }
+            superInterfaceIdSet.or(superInterfaceClosure);
+        }
+        if (superInterfaceIdSet == null) {
+            return interfaceIds;
+        }
+
+        for (int interfaceId : interfaceIds) {
+            superInterfaceIdSet.clear(interfaceId);
+        }
+        int[] interfaceClosure = Arrays.copyOf(interfaceIds, interfaceIds.length + superInterfaceIdSet.cardinality());
+        int index = interfaceIds.length;
+        for (int interfaceId = superInterfaceIdSet.nextSetBit(0); interfaceId >= 0; interfaceId = superInterfaceIdSet.nextSetBit(interfaceId + 1)) {
+            interfaceClosure[index++] = interfaceId;
+        }
+        return interfaceClosure;
+    }
+
+    // the super interfaces of the interface transitively, the interfaces in other jars are included but not expanded
+    private BitSet getSuperInterfaceClosure(int interfaceId) {
+        BitSet superInterfaceClosure = superInterfaceClosureMap.get(interfaceId);
+        if (superInterfaceClosure != null) {
+            return superInterfaceClosure;
+        }
+
+        ClassNode interfaceNode = classNodeMap.get(interfaceId);
+        if (interfaceNode == null || !interfaceNode.interfaceType || interfaceNode.interfaceIds.length == 0) {
+            superInterfaceClosureMap.put(interfaceId, NO_SUPER_INTERFACE);
+            return NO_SUPER_INTERFACE;
+        }
+
+        // an illegal cycle of interfaces ends here
+        superInterfaceClosureMap.put(interfaceId, NO_SUPER_INTERFACE);
+        superInterfaceClosure = new BitSet();
+        for (int superInterfaceId : interfaceNode.interfaceIds) {
+            superInterfaceClosure.set(superInterfaceId);
+            superInterfaceClosure.or(getSuperInterfaceClosure(superInterfaceId));
+        }
+        superInterfaceClosure.clear(interfaceId);
+        superInterfaceClosureMap.put(interfaceId, superInterfaceClosure);
+        return superInterfaceClosure;
+    }
+
+    /*
+        the ids of the methods are unique in the arrays below: a bridge method of a covariant return type has the same name and
+        arguments as the method it calls, each of them would generate the same ITF/SCC/CCS method calls
+     */
+    private int[] genImplClassMethodIds(List<MethodHeaderInfo> methodHeaderInfoList) {
+        IntArrayList methodIdList = new IntArrayList();
+        IntHashSet methodIdSet = new IntHashSet();
+        for (MethodHeaderInfo methodHeaderInfo : methodHeaderInfoList) {
+            String methodName = methodHeaderInfo.getMethodName();
+            // ignore "<init>" and "<clinit>"
+            if (!methodName.startsWith("<") && methodHeaderInfo.isPublic() && !methodHeaderInfo.isAbstract() && !methodHeaderInfo.isStatic()) {
+                int methodId = methodSymbolTable.getId(methodHeaderInfo.getMethodWithArgs());
+                if (methodIdSet.add(methodId)) {
+                    methodIdList.add(methodId);
+                }
+            }
+        }
+        return methodIdList.toArray();
+    }
+
+    // the methods which are abstract or public/protected, not static, null when there is no such method. the flags of the last
+    // method of the same id are used, as when they were put into methodAttributeMap one by one
+    private int[] genMethodIdAndFlags(List<MethodHeaderInfo> methodHeaderInfoList) {
+        IntArrayList methodIdList = new IntArrayList();
+        IntIntHashMap methodFlagMap = new IntIntHashMap();
+        for (MethodHeaderInfo methodHeaderInfo : methodHeaderInfoList) {
+            String methodName = methodHeaderInfo.getMethodName();
+            if (!methodName.startsWith("<") && !methodHeaderInfo.isStatic() &&
+                    (methodHeaderInfo.isAbstract() || methodHeaderInfo.isPublic() || methodHeaderInfo.isProtected())) {
+                int methodId = methodSymbolTable.getId(methodHeaderInfo.getMethodWithArgs());
+                if (!methodFlagMap.containsKey(methodId)) {
+                    methodIdList.add(methodId);
+                }
+                methodFlagMap.put(methodId, MethodAttribute.genFlags(methodHeaderInfo.isAbstract(), methodHeaderInfo.isPublic(),
+                        methodHeaderInfo.isProtected()));
+            }
+        }
+        if (methodIdList.isEmpty()) {
+            return null;
+        }
+
+        int[] methodIdAndFlags = new int[methodIdList.size() * 2];
+        for (int i = 0; i < methodIdList.size(); i++) {
+            methodIdAndFlags[i * 2] = methodIdList.get(i);
+            methodIdAndFlags[i * 2 + 1] = methodFlagMap.get(methodIdList.get(i), 0);
+        }
+        return methodIdAndFlags;
+    }
+
+    // the ids are sorted
+    private int[] genInterfaceAbstractMethodIds(List<MethodHeaderInfo> methodHeaderInfoList) {
+        IntArrayList methodIdList = new IntArrayList();
+        for (MethodHeaderInfo methodHeaderInfo : methodHeaderInfoList) {
+            if (methodHeaderInfo.isAbstract()) {
+                methodIdList.add(methodSymbolTable.getId(methodHeaderInfo.getMethodWithArgs()));
+            }
+        }
+        int[] methodIds = methodIdList.toArray();
+        Arrays.sort(methodIds);
+        int uniqueNum = 0;
+        for (int i = 0; i < methodIds.length; i++) {
+            if (i == 0 || methodIds[i] != methodIds[i - 1]) {
+                methodIds[uniqueNum++] = methodIds[i];
+            }
+        }
+        return uniqueNum == methodIds.length ? methodIds : Arrays.copyOf(methodIds, uniqueNum);
+    }
+}
@@ -0,0 +1,108 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.backend.ClassEventHandler;
+import gr.gousiosg.javacg.util.CommonUtil;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the methods of one class indexed by name, the argument lists of the methods are generated once
+ * <p>
+ * when there are several methods with the same name, the name is mapped to the first one, the same as scanning JavaClass.getMethods()
+ */
+
+public class ClassMethodIndex {
+
+    // the current names of the methods, the nested lambda methods are renamed by DynamicCallManager
+    private final String[] methodNames;
+
+    private final String[] methodDescriptors;
+
+    // the index of the first method of each name
+    private final Map<String, Integer> methodNameIndexMap;
+
+    // the argument lists of the methods, generated when used for the first time
+    private final String[] argumentLists;
+
+    public ClassMethodIndex(String[] methodNames, String[] methodDescriptors) {
+        this.methodNames = methodNames;
+        this.methodDescriptors = methodDescriptors;
+        methodNameIndexMap = new HashMap<>(methodNames.length * 2);
+        argumentLists = new String[methodNames.length];
+        for (int i = 0; i < methodNames.length; i++) {
+            methodNameIndexMap.putIfAbsent(methodNames[i], i);
+        }
+    }
+
+    public int size() {
+        return methodNames.length;
+    }
+
+    public String getMethodName(int methodIndex) {
+        return methodNames[methodIndex];
+    }
+
+    // the index of the first method with the name, or -1 when not found
+    public int findMethodIndex(String methodName) {
+        Integer methodIndex = methodNameIndexMap.get(methodName);
+        return methodIndex == null ? -1 : methodIndex;
+    }
+
+    public String getArgumentList(int methodIndex) {
+        String argumentList = argumentLists[methodIndex];
+        if (argumentList == null) {
+            argumentList = CommonUtil.argumentList(methodDescriptors[methodIndex]);
+            argumentLists[methodIndex] = argumentList;
+        }
+        return argumentList;
+    }
+
+    // like "test(int)"
+    public String getMethodWithArgs(int methodIndex) {
+        return methodNames[methodIndex] + getArgumentList(methodIndex);
+    }
+
+    // update the index after the method is renamed in the constant pool (DynamicCallManager.linkCalls)
+    public void rename(int methodIndex, String newName) {
+        String oldName = methodNames[methodIndex];
+        if (oldName.equals(newName)) {
+            return;
+        }
+        methodNames[methodIndex] = newName;
+
+        Integer oldIndex = methodNameIndexMap.get(oldName);
+        if (oldIndex != null && oldIndex == methodIndex) {
+            methodNameIndexMap.remove(oldName);
+            // another method may still have the old name
+            for (int i = methodIndex + 1; i < methodNames.length; i++) {
+                if (oldName.equals(methodNames[i])) {
+                    methodNameIndexMap.put(oldName, i);
+                    break;
+                }
+            }
+        }
+
+        Integer currentIndex = methodNameIndexMap.get(newName);
+        if (currentIndex == null || currentIndex > methodIndex) {
+            methodNameIndexMap.put(newName, methodIndex);
+        }
+    }
+
+    // record lambda method call, the lambda methods are found in the set of DynamicCallManager
+    public void recordLambdaMethodCalls(Set<String> lambdaMethodNameSet, int origMethodIndex, ClassEventHandler classEventHandler) {
+        if (lambdaMethodNameSet.isEmpty()) {
+            return;
+        }
+        String origMethodWithArgs = getMethodWithArgs(origMethodIndex);
+        for (String lambdaMethodName : lambdaMethodNameSet) {
+            int lambdaMethodIndex = findMethodIndex(lambdaMethodName);
+            if (lambdaMethodIndex != -1) {
+                classEventHandler.visitLambdaMethodCall(origMethodWithArgs, lambdaMethodName, getArgumentList(lambdaMethodIndex));
+            }
+        }
+    }
+}
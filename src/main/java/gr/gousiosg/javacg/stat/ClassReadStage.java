@@ -0,0 +1,298 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import gr.gousiosg.javacg.reader.ClassHeaderReader;
+import gr.gousiosg.javacg.reader.MappedJarClassReader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the reader stage of "-Dpipeline=true", one thread opens the inputs one by one, reads and inflates the class files
+ * and sends them to the thread which merges and writes the results through a bounded queue, so the reading waits when the
+ * visits are behind
+ * <p>
+ * each input is read twice in the order of its entries: the first pass reads the class headers for the pre handle phase, the
+ * bytes of the first classes are kept up to the size of "-Dclass.cache.mb", the second pass sends the bytes of the classes to
+ * visit. the nested archives are read after their input, in the order they are handled without the pipeline. while the last
+ * classes of an input are visited and its class hierarchy is handled, the next input is already read
+ */
+
+public class ClassReadStage implements Runnable {
+
+    public interface ClassFileSourceOpener {
+        ClassFileSource open(String jarFilePath) throws IOException;
+    }
+
+    // the start of one input, with the class headers for the pre handle phase
+    public static class SourceItem {
+
+        private final String jarName;
+
+        private final String message;
+
+        private final ClassFileSource classFileSource;
+
+        private final List<ClassHeaderInfo> classHeaderInfoList;
+
+        SourceItem(String jarName, String message, ClassFileSource classFileSource, List<ClassHeaderInfo> classHeaderInfoList) {
+            this.jarName = jarName;
+            this.message = message;
+            this.classFileSource = classFileSource;
+            this.classHeaderInfoList = classHeaderInfoList;
+        }
+
+        public String getJarName() {
+            return jarName;
+        }
+
+        // printed when the input is handled
+        public String getMessage() {
+            return message;
+        }
+
+        // closed by the thread which takes the item
+        public ClassFileSource getClassFileSource() {
+            return classFileSource;
+        }
+
+        public List<ClassHeaderInfo> getClassHeaderInfoList() {
+            return classHeaderInfoList;
+        }
+    }
+
+    // one class file of the current input
+    public static class ClassItem {
+
+        private final String entryName;
+
+        private final byte[] classBytes;
+
+        private final String classKey;
+
+        ClassItem(String entryName, byte[] classBytes, String classKey) {
+            this.entryName = entryName;
+            this.classBytes = classBytes;
+            this.classKey = classKey;
+        }
+
+        public String getEntryName() {
+            return entryName;
+        }
+
+        public byte[] getClassBytes() {
+            return classBytes;
+        }
+
+        // null when the incremental cache is not used
+        public String getClassKey() {
+            return classKey;
+        }
+    }
+
+    // the end of the current input, or the end of all the inputs when taken instead of a SourceItem
+    private static final Object END_ITEM = new Object();
+
+    private final Map<String, String> jarFilePathMap;
+
+    private final ClassFileSourceOpener classFileSourceOpener;
+
+    private final long classCacheBytes;
+
+    private final boolean classKeyUsed;
+
+    private final boolean nestedArchive;
+
+    private final BlockingQueue<Object> itemQueue;
+
+    // only written by the reader thread, read by the thread taking the items while the reader thread may still run
+    private volatile long readNanos;
+
+    private volatile long readBlockedNanos;
+
+    private long takeBlockedNanos;
+
+    /**
+     * @param jarFilePathMap        the canonical paths of the inputs to read in order -> the arguments of the inputs
+     * @param classFileSourceOpener open the input of a path
+     * @param classCacheBytes       the max size of the class files kept between the two passes of an input
+     * @param classKeyUsed          if the keys of the classes are generated for the incremental cache
+     * @param nestedArchive         if the nested archives are read
+     * @param queueSize             the max number of items read but not taken
+     */
+    public ClassReadStage(Map<String, String> jarFilePathMap, ClassFileSourceOpener classFileSourceOpener, long classCacheBytes,
+                          boolean classKeyUsed, boolean nestedArchive, int queueSize) {
+        this.jarFilePathMap = jarFilePathMap;
+        this.classFileSourceOpener = classFileSourceOpener;
+        this.classCacheBytes = classCacheBytes;
+        this.classKeyUsed = classKeyUsed;
+        this.nestedArchive = nestedArchive;
+        itemQueue = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    @Override
+    public void run() {
+        try {
+            for (Map.Entry<String, String> entry : jarFilePathMap.entrySet()) {
+                String jarFilePath = entry.getKey();
+                long startTime = System.nanoTime();
+                ClassFileSource classFileSource = classFileSourceOpener.open(jarFilePath);
+                readNanos += System.nanoTime() - startTime;
+                readSource(jarFilePath, entry.getValue() + " handle jar file: " + jarFilePath, classFileSource);
+            }
+            put(END_ITEM);
+        } catch (InterruptedException e) {
+            // the taking thread stops
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // sent to the taking thread after the items read before
+            try {
+                put(e);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void readSource(String jarName, String message, ClassFileSource classFileSource) throws IOException, InterruptedException {
+        List<String> archiveNameList = new ArrayList<>();
+        List<ByteBuffer> nestedArchiveBufferList = new ArrayList<>();
+        boolean sent = false;
+        try {
+            long startTime = System.nanoTime();
+            List<String> classEntryNameList = classFileSource.getClassEntryNames();
+            List<ClassHeaderInfo> classHeaderInfoList = new ArrayList<>(classEntryNameList.size());
+            byte[][] cachedClassBytes = new byte[classEntryNameList.size()][];
+            long cachedBytes = 0;
+            for (int i = 0; i < classEntryNameList.size(); i++) {
+                String entryName = classEntryNameList.get(i);
+                byte[] classBytes = readClassBytes(classFileSource, entryName);
+                classHeaderInfoList.add(ClassHeaderReader.read(ByteBuffer.wrap(classBytes), entryName));
+                if (cachedBytes + classBytes.length <= classCacheBytes) {
+                    cachedClassBytes[i] = classBytes;
+                    cachedBytes += classBytes.length;
+                }
+            }
+            // the source is closed after its last class is taken, the nested archives are read before
+            if (nestedArchive) {
+                for (String archiveName : classFileSource.getNestedArchiveNames()) {
+                    archiveNameList.add(archiveName);
+                    nestedArchiveBufferList.add(classFileSource.readNestedArchive(archiveName));
+                }
+            }
+            readNanos += System.nanoTime() - startTime;
+
+            put(new SourceItem(jarName, message, classFileSource, classHeaderInfoList));
+            sent = true;
+
+            for (int i = 0; i < classEntryNameList.size(); i++) {
+                startTime = System.nanoTime();
+                String entryName = classEntryNameList.get(i);
+                byte[] classBytes = cachedClassBytes[i] != null ? cachedClassBytes[i] : readClassBytes(classFileSource, entryName);
+                cachedClassBytes[i] = null;
+                String classKey = classKeyUsed ? classFileSource.getClassKey(entryName) : null;
+                readNanos += System.nanoTime() - startTime;
+                put(new ClassItem(entryName, classBytes, classKey));
+            }
+            put(END_ITEM);
+        } finally {
+            if (!sent) {
+                classFileSource.close();
+            }
+        }
+
+        for (int i = 0; i < archiveNameList.size(); i++) {
+            String nestedJarName = jarName + JCallGraph.NESTED_ARCHIVE_SEPARATOR + archiveNameList.get(i);
+            readSource(nestedJarName, "handle nested archive: " + nestedJarName, JCallGraph.filterClassFileSource(
+                    new MappedJarClassReader(nestedArchiveBufferList.get(i), nestedJarName)));
+        }
+    }
+
+    private static byte[] readClassBytes(ClassFileSource classFileSource, String entryName) throws IOException {
+        return classFileSource.readClass(entryName, classBuffer -> {
+            byte[] classBytes = new byte[classBuffer.remaining()];
+            classBuffer.get(classBytes);
+            return classBytes;
+        });
+    }
+
+    private void put(Object item) throws InterruptedException {
+        if (itemQueue.offer(item)) {
+            return;
+        }
+        long startTime = System.nanoTime();
+        itemQueue.put(item);
+        readBlockedNanos += System.nanoTime() - startTime;
+    }
+
+    private Object take() throws IOException {
+        Object item = itemQueue.poll();
+        if (item == null) {
+            long startTime = System.nanoTime();
+            try {
+                item = itemQueue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted while reading classes");
+            }
+            takeBlockedNanos += System.nanoTime() - startTime;
+        }
+        if (item instanceof IOException) {
+            throw (IOException) item;
+        }
+        if (item instanceof Throwable) {
+            throw new IOException("read classes fail", (Throwable) item);
+        }
+        return item;
+    }
+
+    // the next input, null after the last input
+    public SourceItem takeSource() throws IOException {
+        Object item = take();
+        return item == END_ITEM ? null : (SourceItem) item;
+    }
+
+    // the next class of the current input, null after its last class
+    public ClassItem takeClass() throws IOException {
+        Object item = take();
+        return item == END_ITEM ? null : (ClassItem) item;
+    }
+
+    // close the inputs read but not taken, called when the taking thread stops before the end
+    public void closeUntakenSources() {
+        Object item;
+        while ((item = itemQueue.poll()) != null) {
+            if (item instanceof SourceItem) {
+                try {
+                    ((SourceItem) item).getClassFileSource().close();
+                } catch (IOException e) {
+                    System.err.println("close class file source fail: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // the time used to open and read the inputs
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    // the time the reading waits for a full queue
+    public long getReadBlockedNanos() {
+        return readBlockedNanos;
+    }
+
+    // the time the taking thread waits for an empty queue
+    public long getTakeBlockedNanos() {
+        return takeBlockedNanos;
+    }
+}
@@ -0,0 +1,164 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the classes to visit with "-Dentry.method.file", from the entry classes to the classes they reach
+ * <p>
+ * the index from the class names to the class files of all the inputs is built from the class headers, without parsing the
+ * classes. a class is reached when a visited class calls one of its methods, or when it is the super class or an interface
+ * of a visited class. when the methods of a class in the index are called through a virtual or interface call, the class is
+ * a receiver, and its children classes and implementation classes are also reached, since the calls can run their methods
+ * <p>
+ * the sub types of the classes out of the index (like "java.util.Iterator") are not reached as receivers, the objects created by
+ * the visited classes are reached through the calls of their constructors, the objects created by other classes (like the
+ * dependency injection of a framework) are the implementations of the classes in the index
+ */
+
+public class ClassWorklist {
+
+    private static final String JAVA_PACKAGE_PREFIX = "java.";
+
+    // the class file of a class in the index
+    public static class ClassLocation {
+
+        private final ClassFileSource classFileSource;
+
+        private final String entryName;
+
+        private final int jarNum;
+
+        ClassLocation(ClassFileSource classFileSource, String entryName, int jarNum) {
+            this.classFileSource = classFileSource;
+            this.entryName = entryName;
+            this.jarNum = jarNum;
+        }
+
+        public ClassFileSource getClassFileSource() {
+            return classFileSource;
+        }
+
+        public String getEntryName() {
+            return entryName;
+        }
+
+        public int getJarNum() {
+            return jarNum;
+        }
+    }
+
+    // class name -> class file, the first class file of a class name is used
+    private final Map<String, ClassLocation> classLocationMap = new HashMap<>(JCallGraph.INIT_SIZE_1000);
+
+    // super class or interface name -> the direct children classes and the implementation classes or sub interfaces
+    private final Map<String, List<String>> subTypeMap = new HashMap<>(JCallGraph.INIT_SIZE_1000);
+
+    // the classes reached, in the index or not
+    private final Set<String> reachedClassSet = new HashSet<>(JCallGraph.INIT_SIZE_1000);
+
+    // the classes reached as receivers, their sub types are reached
+    private final Set<String> receiverClassSet = new HashSet<>(JCallGraph.INIT_SIZE_1000);
+
+    private final Deque<ClassLocation> classQueue = new ArrayDeque<>();
+
+    private int entryClassNum;
+
+    /**
+     * add a class of an input in the order of the inputs and of their entries
+     *
+     * @return false when the class name is already added from another class file
+     */
+    public boolean addClass(ClassHeaderInfo classHeaderInfo, ClassFileSource classFileSource, String entryName, int jarNum) {
+        String className = classHeaderInfo.getClassName();
+        if (classLocationMap.containsKey(className)) {
+            return false;
+        }
+        classLocationMap.put(className, new ClassLocation(classFileSource, entryName, jarNum));
+
+        String superClassName = classHeaderInfo.getSuperClassName();
+        if (!superClassName.startsWith(JAVA_PACKAGE_PREFIX)) {
+            addSubType(superClassName, className);
+        }
+        for (String interfaceName : classHeaderInfo.getInterfaceNameList()) {
+            if (!interfaceName.startsWith(JAVA_PACKAGE_PREFIX)) {
+                addSubType(interfaceName, className);
+            }
+        }
+        return true;
+    }
+
+    private void addSubType(String superTypeName, String className) {
+        List<String> subTypeList = subTypeMap.get(superTypeName);
+        if (subTypeList == null) {
+            subTypeList = new ArrayList<>(1);
+            subTypeMap.put(superTypeName, subTypeList);
+        }
+        subTypeList.add(className);
+    }
+
+    // an entry class, its methods may also be called through its super types
+    public void addEntryClass(String className) {
+        entryClassNum++;
+        reach(className, true);
+    }
+
+    /**
+     * reach a class, it is visited once when it is in the index
+     *
+     * @param receiver if the methods of the class are called through a virtual or interface call
+     */
+    public void reach(String className, boolean receiver) {
+        if (reachedClassSet.add(className)) {
+            ClassLocation classLocation = classLocationMap.get(className);
+            if (classLocation != null) {
+                classQueue.add(classLocation);
+            }
+        }
+
+        if (!receiver || !classLocationMap.containsKey(className) || !receiverClassSet.add(className)) {
+            return;
+        }
+        // the sub types of a receiver are also receivers, without recursion for a deep hierarchy
+        Deque<String> receiverStack = new ArrayDeque<>();
+        receiverStack.push(className);
+        while (!receiverStack.isEmpty()) {
+            for (String subTypeName : subTypeMap.getOrDefault(receiverStack.pop(), Collections.emptyList())) {
+                if (!receiverClassSet.add(subTypeName)) {
+                    continue;
+                }
+                if (reachedClassSet.add(subTypeName)) {
+                    classQueue.add(classLocationMap.get(subTypeName));
+                }
+                receiverStack.push(subTypeName);
+            }
+        }
+    }
+
+    // the next class to visit, null when all the reached classes are taken
+    public ClassLocation poll() {
+        return classQueue.poll();
+    }
+
+    public String getStatistics() {
+        int reachedIndexClassNum = 0;
+        for (String className : reachedClassSet) {
+            if (classLocationMap.containsKey(className)) {
+                reachedIndexClassNum++;
+            }
+        }
+        return "entry classes: " + entryClassNum + " reached classes: " + reachedIndexClassNum + " of " + classLocationMap.size();
+    }
+}
@@ -13,16 +13,13 @@
 
 package gr.gousiosg.javacg.stat;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-import org.apache.bcel.classfile.Attribute;
-import org.apache.bcel.classfile.BootstrapMethod;
-import org.apache.bcel.classfile.BootstrapMethods;
+import org.apache.bcel.classfile.Code;
 import org.apache.bcel.classfile.Constant;
 import org.apache.bcel.classfile.ConstantCP;
 import org.apache.bcel.classfile.ConstantMethodHandle;
@@ -59,12 +56,12 @@ import org.apache.bcel.classfile.Method;
  * @author Matthieu Vergne <matthieu.vergne@gmail.com>
  */
 public class DynamicCallManager {
-	private static final Pattern BOOTSTRAP_CALL_PATTERN = Pattern
-			.compile("invokedynamic\t(\\d+):\\S+ \\S+ \\(\\d+\\)");
-	private static final int CALL_HANDLE_INDEX_ARGUMENT = 1;
-
 	private final Map<String, String> dynamicCallers = new HashMap<>();
 
+	// the bootstrap methods of the last class, found once for all its methods
+	private JavaClass bootstrapMethodClass;
+	private BootstrapMethodTable bootstrapMethodTable;
+
 	// added by adrninistrator
 	private Set<String> lambdaMethodNameSet = new HashSet<>();
 	// added end
@@ -82,30 +79,43 @@ public class DynamicCallManager {
 			// No code to consider
 			return;
 		}
+		BootstrapMethodTable boots = getBootstrapMethodTable(jc);
+		if (boots.isEmpty()) {
+			// no invokedynamic in the class
+			return;
+		}
 		ConstantPool cp = method.getConstantPool();
-		BootstrapMethod[] boots = getBootstrapMethods(jc);
-		String code = method.getCode().toString();
-		Matcher matcher = BOOTSTRAP_CALL_PATTERN.matcher(code);
-		while (matcher.find()) {
-			int bootIndex = Integer.parseInt(matcher.group(1));
-			BootstrapMethod bootMethod = boots[bootIndex];
-			if (bootMethod.getBootstrapArguments().length > 1) {
-				int calledIndex = bootMethod.getBootstrapArguments()[CALL_HANDLE_INDEX_ARGUMENT];
-				String calledName = getMethodNameFromHandleIndex(cp, calledIndex);
-				// added by adrninistrator
-				if (calledName.startsWith("lambda$") && !calledName.contains("lambda$null$") && !lambdaMethodNameSet.contains(calledName)) {
-					lambdaMethodNameSet.add(calledName);
-				}
-				// added end
-				String callerName = method.getName();
-				dynamicCallers.put(calledName, callerName);
+		Code code = method.getCode();
+		ByteBuffer codeBuffer = ByteBuffer.wrap(code.getCode());
+		// walk the instructions directly, the code is not disassembled into a string
+		for (int offset = BootstrapMethodTable.nextInvokeDynamicOffset(codeBuffer, 0); offset >= 0;
+			 offset = BootstrapMethodTable.nextInvokeDynamicOffset(codeBuffer, offset + 5)) {
+			int bootIndex = boots.getBootstrapIndex(BootstrapMethodTable.getInvokeDynamicIndex(codeBuffer, offset));
+			Constant calledConstant = boots.getCallHandleConstant(bootIndex);
+			if (calledConstant != null) {
+				recordDynamicCall(getMethodNameFromHandle(cp, calledConstant), method.getName());
 			}
 		}
 	}
 
-	private String getMethodNameFromHandleIndex(ConstantPool cp, int callIndex) {
+	/**
+	 * Record the method called by an <code>invokedynamic</code> instruction
+	 * of the caller, used by the class visit backends which do not read the
+	 * code with BCEL.
+	 *
+	 * @param calledName name of the method of the called method handle
+	 * @param callerName name of the method which contains the instruction
+	 */
+	public void recordDynamicCall(String calledName, String callerName) {
+		// added by adrninistrator
+		if (calledName.startsWith("lambda$") && !calledName.contains("lambda$null$") && !lambdaMethodNameSet.contains(calledName)) {
+			lambdaMethodNameSet.add(calledName);
+		}
+		// added end
+		dynamicCallers.put(calledName, callerName);
+	}
 
-		Constant constant = cp.getConstant(callIndex);
+	private String getMethodNameFromHandle(ConstantPool cp, Constant constant) {
 		if (constant instanceof ConstantMethodHandle) {
 			ConstantMethodHandle handle = (ConstantMethodHandle) constant;
 			ConstantCP ref = (ConstantCP) cp.getConstant(handle.getReferenceIndex());
@@ -131,22 +141,43 @@ public class DynamicCallManager {
 		int nameIndex = method.getNameIndex();
 		ConstantPool cp = method.getConstantPool();
 		String methodName = ((ConstantUtf8) cp.getConstant(nameIndex)).getBytes();
+		String linkedName = getLinkedName(methodName);
+		if (!linkedName.equals(methodName)) {
+			cp.setConstant(nameIndex, new ConstantUtf8(linkedName));
+		}
+	}
+
+	/**
+	 * Get the name of the method linked to its concrete caller, the name is
+	 * not changed when it is not a nested lambda.
+	 *
+	 * @param methodName current name of the method
+	 * @return the linked name of the method
+	 */
+	public String getLinkedName(String methodName) {
 		String linkedName = methodName;
 		String callerName = methodName;
-		while (linkedName.matches("(lambda\\$)+null(\\$\\d+)+")) {
+		// only the names of the nested lambdas are checked by the regex
+		while (linkedName.startsWith("lambda$") && linkedName.matches("(lambda\\$)+null(\\$\\d+)+")) {
 			callerName = dynamicCallers.get(callerName);
 			linkedName = linkedName.replace("null", callerName);
 		}
-		cp.setConstant(nameIndex, new ConstantUtf8(linkedName));
+		return linkedName;
 	}
 
-	private BootstrapMethod[] getBootstrapMethods(JavaClass jc) {
-		for (Attribute attribute : jc.getAttributes()) {
-			if (attribute instanceof BootstrapMethods) {
-				return ((BootstrapMethods) attribute).getBootstrapMethods();
-			}
+	/**
+	 * Get the bootstrap methods of the {@link JavaClass}, they are found once
+	 * for all the methods of the class.
+	 *
+	 * @param jc {@link JavaClass} info, which contains the bootstrap methods
+	 * @return the {@link BootstrapMethodTable} of the class
+	 */
+	public BootstrapMethodTable getBootstrapMethodTable(JavaClass jc) {
+		if (bootstrapMethodClass != jc) {
+			bootstrapMethodTable = new BootstrapMethodTable(jc);
+			bootstrapMethodClass = jc;
 		}
-		return new BootstrapMethod[]{};
+		return bootstrapMethodTable;
 	}
 
 	public Set<String> getLambdaMethodNameSet() {
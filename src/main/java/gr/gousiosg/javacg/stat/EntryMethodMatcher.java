@@ -0,0 +1,98 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.MethodHeaderInfo;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the patterns of the entry methods of "-Dentry.method.file", one pattern in each line like "class" or
+ * "class:method", the empty lines and the lines starting with "#" are skipped
+ * <p>
+ * the class is a class name, a prefix ending with "*" like "com.xx.web.*", or "*" for all the classes. the method is a method
+ * name like "main", a method with arguments like "main(java.lang.String[])", or a prefix ending with "*", all the methods of the
+ * class match when there is no method
+ */
+
+public class EntryMethodMatcher {
+
+    private static final String WILDCARD = "*";
+
+    private static class Pattern {
+
+        private final String classPattern;
+
+        // null for all the methods
+        private final String methodPattern;
+
+        Pattern(String classPattern, String methodPattern) {
+            this.classPattern = classPattern;
+            this.methodPattern = methodPattern;
+        }
+    }
+
+    private final List<Pattern> patternList;
+
+    private EntryMethodMatcher(List<Pattern> patternList) {
+        this.patternList = patternList;
+    }
+
+    public static EntryMethodMatcher load(String patternFilePath) throws IOException {
+        List<Pattern> patternList = new ArrayList<>();
+        for (String line : Files.readAllLines(Paths.get(patternFilePath), StandardCharsets.UTF_8)) {
+            String pattern = line.trim();
+            if (pattern.isEmpty() || pattern.startsWith("#")) {
+                continue;
+            }
+
+            // the class names and the arguments have no ":"
+            int index = pattern.indexOf(':');
+            String classPattern = index < 0 ? pattern : pattern.substring(0, index);
+            String methodPattern = index < 0 ? null : pattern.substring(index + 1);
+            if (classPattern.isEmpty() || (methodPattern != null && methodPattern.isEmpty())) {
+                throw new IOException("illegal entry method pattern: " + line);
+            }
+            patternList.add(new Pattern(classPattern, methodPattern));
+        }
+        return new EntryMethodMatcher(patternList);
+    }
+
+    public int getPatternNum() {
+        return patternList.size();
+    }
+
+    // if a method of the class is an entry method
+    public boolean matches(ClassHeaderInfo classHeaderInfo) {
+        String className = classHeaderInfo.getClassName();
+        for (Pattern pattern : patternList) {
+            if (!matches(pattern.classPattern, className)) {
+                continue;
+            }
+            if (pattern.methodPattern == null) {
+                return true;
+            }
+            for (MethodHeaderInfo methodHeaderInfo : classHeaderInfo.getMethodHeaderInfoList()) {
+                String methodText = pattern.methodPattern.indexOf('(') >= 0 ? methodHeaderInfo.getMethodWithArgs() :
+                        methodHeaderInfo.getMethodName();
+                if (matches(pattern.methodPattern, methodText)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(String pattern, String text) {
+        if (pattern.endsWith(WILDCARD)) {
+            return text.startsWith(pattern.substring(0, pattern.length() - WILDCARD.length()));
+        }
+        return pattern.equals(text);
+    }
+}
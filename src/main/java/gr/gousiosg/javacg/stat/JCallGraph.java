@@ -1,600 +1,1034 @@
-/*
- * Copyright (c) 2011 - Georgios Gousios <gousiosg@gmail.com>
- *
- * Redistribution and use in source and binary forms, with or without
- * modification, are permitted provided that the following conditions are
- * met:
- *
- *     * Redistributions of source code must retain the above copyright
- *       notice, this list of conditions and the following disclaimer.
- *
- *     * Redistributions in binary form must reproduce the above
- *       copyright notice, this list of conditions and the following
- *       disclaimer in the documentation and/or other materials provided
- *       with the distribution.
- *
- * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
- * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
- * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
- * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
- * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
- * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
- * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
- * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
- * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
- * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
- * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
- */
-
-package gr.gousiosg.javacg.stat;
-
-import gr.gousiosg.javacg.common.Constants;
-import gr.gousiosg.javacg.dto.*;
-import gr.gousiosg.javacg.enums.CallTypeEnum;
-import gr.gousiosg.javacg.util.CommonUtil;
-import org.apache.bcel.classfile.ClassParser;
-import org.apache.bcel.classfile.JavaClass;
-import org.apache.bcel.classfile.Method;
-
-import java.io.*;
-import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.concurrent.Callable;
-import java.util.jar.JarEntry;
-import java.util.jar.JarFile;
-
-/**
- * Constructs a callgraph out of a JAR archive. Can combine multiple archives
- * into a single call graph.
- *
- * @author Georgios Gousios <gousiosg@gmail.com>
- */
-public class JCallGraph {
-
-    public static final int INIT_SIZE_100 = 100;
-    public static final int INIT_SIZE_500 = 500;
-    public static final int INIT_SIZE_1000 = 1000;
-
-    // added by adrninistrator
-    private static Map<String, Set<String>> calleeMethodMapGlobal;
-    private static Map<String, ClassInterfaceMethodInfo> classInterfaceMethodInfoMap;
-    private static Map<String, List<String>> interfaceMethodWithArgsMap;
-    private static Map<String, Boolean> runnableImplClassMap;
-    private static Map<String, Boolean> callableImplClassMap;
-    private static Map<String, Boolean> threadChildClassMap;
-    private static Map<String, Set<String>> methodAnnotationMap;
-    private static Set<String> extendsClassesSet;
-    private static Map<String, ExtendsClassMethodInfo> extendsClassMethodInfoMap;
-    private static Map<String, List<String>> childrenClassInfoMap;
-
-    private static final String RUNNABLE_CLASS_NAME = Runnable.class.getName();
-    private static final String CALLABLE_CLASS_NAME = Callable.class.getName();
-    private static final String THREAD_CLASS_NAME = Thread.class.getName();
-
-    private static int jarNum = 0;
-    // added end
-
-    public static void main(String[] args) {
-        run(args);
-    }
-
-    public static boolean run(String[] args) {
-
-        // added by adrninistrator
-        String outputFilePath = System.getProperty("output.file");
-        if (outputFilePath == null || outputFilePath.isEmpty()) {
-            System.err.println("please use \"-Doutput.file=xxx\" to specify the output file");
-            return false;
-        }
-        // added end
-
-        // modified by adrninistrator
-        Map<String, Integer> filePathSet = new HashMap<>(args.length);
-
-        String annotationOutputFilePath = outputFilePath + "-annotation.txt";
-        System.out.println("write method annotation information to file: " + annotationOutputFilePath);
-
-        try (BufferedWriter resultWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(outputFilePath))));
-             BufferedWriter annotationOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(annotationOutputFilePath),
-                     StandardCharsets.UTF_8))) {
-            for (String arg : args) {
-                String jarFilePath = CommonUtil.getCanonicalPath(arg);
-                if (jarFilePath == null) {
-                    System.err.println("getCanonicalPath fail: " + arg);
-                    return false;
-                }
-
-                if (filePathSet.get(jarFilePath) != null) {
-                    System.out.println(arg + " skip jar file: " + jarFilePath);
-                    continue;
-                }
-
-                filePathSet.put(jarFilePath, ++jarNum);
-
-                System.out.println(arg + " handle jar file: " + jarFilePath);
-                File f = new File(jarFilePath);
-
-                if (!f.exists()) {
-                    System.err.println("Jar file " + jarFilePath + " does not exist");
-                }
-
-                try (JarFile jar = new JarFile(f)) {
-                    // added by adrninistrator
-                    writeResult(resultWriter, "J:" + jarNum + " " + jarFilePath);
-                    writeResult(resultWriter, Constants.NEW_LINE);
-
-                    init();
-
-                    // pre handle classes
-                    if (!preHandleClasses(jarFilePath, f)) {
-                        return false;
-                    }
-                    // added end
-
-                    for (Enumeration<JarEntry> enumeration = jar.entries(); enumeration.hasMoreElements(); ) {
-                        JarEntry jarEntry = enumeration.nextElement();
-                        if (!jarEntry.isDirectory() && jarEntry.getName().endsWith(".class")) {
-                            ClassParser cp = new ClassParser(jarFilePath, jarEntry.getName());
-                            JavaClass javaClass = cp.parse();
-
-                            System.out.println("handle class: " + javaClass.getClassName());
-
-                            if (javaClass.isClass() && extendsClassesSet.contains(javaClass.getClassName())) {
-                                findExtendsClassesInfo(javaClass);
-                            }
-
-                            ClassVisitor classVisitor = new ClassVisitor(javaClass);
-                            classVisitor.setCalleeMethodMap(calleeMethodMapGlobal);
-                            classVisitor.setRunnableImplClassMap(runnableImplClassMap);
-                            classVisitor.setCallableImplClassMap(callableImplClassMap);
-                            classVisitor.setThreadChildClassMap(threadChildClassMap);
-                            classVisitor.setMethodAnnotationMap(methodAnnotationMap);
-                            classVisitor.start();
-
-                            // modified by adrninistrator
-                            List<MethodCallDto> methodCalls = classVisitor.methodCalls();
-                            for (MethodCallDto methodCallDto : methodCalls) {
-                                writeResult(resultWriter, methodCallDto.getMethodCall());
-                                if (methodCallDto.getSourceLine() != Constants.NONE_LINE_NUMBER) {
-                                    writeResult(resultWriter, " " + methodCallDto.getSourceLine());
-                                    writeResult(resultWriter, " " + jarNum);
-                                }
-                                writeResult(resultWriter, Constants.NEW_LINE);
-                            }
-                            // modified end
-                        }
-                    }
-
-                    // added by adrninistrator
-                    // add abstract method in interface into abstract super class
-                    if (!addInterfaceMethod4SuperClass()) {
-                        return false;
-                    }
-
-                    // record super class call children method and child class call super method
-                    if (!recordExtendsClassMethod(resultWriter)) {
-                        return false;
-                    }
-
-                    // record interface call implementation class method
-                    recordInterfaceCallClassMethod(resultWriter);
-
-                    // record method annotation information
-                    recordMethodAnnotationInfo(annotationOut);
-                    // added end
-                }
-            }
-
-            return true;
-        } catch (IOException e) {
-            System.err.println("Error while processing jar: " + e.getMessage());
-            e.printStackTrace();
-            return false;
-        }
-        // modified end
-    }
-
-    // added by adrninistrator
-    private static void init() {
-        // calleeMethodMapGlobal used for all jar files, only initialize once
-        if (calleeMethodMapGlobal == null) {
-            calleeMethodMapGlobal = new HashMap<>(INIT_SIZE_1000);
-        }
-        classInterfaceMethodInfoMap = new HashMap<>(INIT_SIZE_100);
-        interfaceMethodWithArgsMap = new HashMap<>(INIT_SIZE_100);
-        runnableImplClassMap = new HashMap<>(INIT_SIZE_100);
-        callableImplClassMap = new HashMap<>(INIT_SIZE_100);
-        threadChildClassMap = new HashMap<>(INIT_SIZE_100);
-        methodAnnotationMap = new HashMap<>(INIT_SIZE_100);
-        extendsClassesSet = new HashSet<>(INIT_SIZE_500);
-        extendsClassMethodInfoMap = new HashMap<>(INIT_SIZE_500);
-        childrenClassInfoMap = new HashMap<>(INIT_SIZE_500);
-    }
-
-    // add abstract method in interface into abstract super class
-    private static boolean addInterfaceMethod4SuperClass() {
-        for (Map.Entry<String, List<String>> childrenClassInfoEntry : childrenClassInfoMap.entrySet()) {
-            String superClassName = childrenClassInfoEntry.getKey();
-            ExtendsClassMethodInfo extendsClassMethodInfo = extendsClassMethodInfoMap.get(superClassName);
-            if (extendsClassMethodInfo == null) {
-                // class in other jar can be found, but can't find its methods
-                continue;
-            }
-
-            if (!extendsClassMethodInfo.isAbstractClass()) {
-                continue;
-            }
-
-            ClassInterfaceMethodInfo classInterfaceMethodInfo = classInterfaceMethodInfoMap.get(superClassName);
-            if (classInterfaceMethodInfo == null) {
-                continue;
-            }
-
-            Map<String, MethodAttribute> methodAttributeMap = extendsClassMethodInfo.getMethodAttributeMap();
-            MethodAttribute methodAttribute = new MethodAttribute();
-            methodAttribute.setAbstractMethod(true);
-            methodAttribute.setPublicMethod(true);
-            methodAttribute.setProtectedMethod(false);
-
-            List<String> interfaceNameList = classInterfaceMethodInfo.getInterfaceNameList();
-            for (String interfaceName : interfaceNameList) {
-                List<String> interfaceMethodWithArgsList = interfaceMethodWithArgsMap.get(interfaceName);
-                if (interfaceMethodWithArgsList == null) {
-                    continue;
-                }
-
-                for (String interfaceMethodWithArgs : interfaceMethodWithArgsList) {
-                    if (methodAttributeMap.get(interfaceMethodWithArgs) == null) {
-                        methodAttributeMap.put(interfaceMethodWithArgs, methodAttribute);
-                    }
-                }
-            }
-        }
-
-        return true;
-    }
-
-    // record super class call children method and child class call super method
-    private static boolean recordExtendsClassMethod(BufferedWriter resultWriter) throws IOException {
-        Set<String> topSuperClassNameSet = new HashSet<>();
-
-        // get top super class name
-        for (Map.Entry<String, ExtendsClassMethodInfo> extendsClassMethodInfoEntry : extendsClassMethodInfoMap.entrySet()) {
-            String className = extendsClassMethodInfoEntry.getKey();
-            ExtendsClassMethodInfo extendsClassMethodInfo = extendsClassMethodInfoEntry.getValue();
-            String superClassName = extendsClassMethodInfo.getSuperClassName();
-            if (superClassName.startsWith("java.")) {
-                topSuperClassNameSet.add(className);
-            }
-        }
-
-        for (String topSuperClassName : topSuperClassNameSet) {
-            // handle one top super class
-            if (!handleOneTopSuperClass(topSuperClassName, resultWriter)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    // handle one top super class
-    private static boolean handleOneTopSuperClass(String topSuperClassName, BufferedWriter resultWriter) throws IOException {
-        System.out.println("handleOneTopSuperClass: " + topSuperClassName);
-        List<TmpNode4ExtendsClassMethod> tmpNodeList = new ArrayList<>();
-        int currentLevel = 0;
-
-        // init node list
-        TmpNode4ExtendsClassMethod topNode = TmpNode4ExtendsClassMethod.genInstance(topSuperClassName, -1);
-        tmpNodeList.add(topNode);
-
-        // begin loop
-        while (true) {
-            TmpNode4ExtendsClassMethod currentNode = tmpNodeList.get(currentLevel);
-            List<String> childrenClassInfoList = childrenClassInfoMap.get(currentNode.getSuperClassName());
-            if (childrenClassInfoList == null) {
-                System.err.println("can't find top super class: " + currentNode.getSuperClassName());
-                return false;
-            }
-
-            int currentChildClassIndex = currentNode.getChildClassIndex() + 1;
-            if (currentChildClassIndex >= childrenClassInfoList.size()) {
-                if (currentLevel == 0) {
-                    return true;
-                }
-                currentLevel--;
-                continue;
-            }
-
-            // handle current child class
-            String childClassName = childrenClassInfoList.get(currentChildClassIndex);
-
-            // handle super and child class call method
-            if (!handleSuperAndChildClass(currentNode.getSuperClassName(), childClassName, resultWriter)) {
-                return false;
-            }
-
-            // handle next child class
-            currentNode.setChildClassIndex(currentChildClassIndex);
-
-            List<String> nextChildClassList = childrenClassInfoMap.get(childClassName);
-            if (nextChildClassList == null) {
-                // current child has no child
-                continue;
-            }
-
-            // current child has children
-            currentLevel++;
-
-            if (currentLevel + 1 > tmpNodeList.size()) {
-                TmpNode4ExtendsClassMethod nextNode = TmpNode4ExtendsClassMethod.genInstance(childClassName, -1);
-                tmpNodeList.add(nextNode);
-            } else {
-                TmpNode4ExtendsClassMethod nextNode = tmpNodeList.get(currentLevel);
-                nextNode.setSuperClassName(childClassName);
-                nextNode.setChildClassIndex(-1);
-            }
-        }
-    }
-
-    // handle super and child class call method
-    private static boolean handleSuperAndChildClass(String superClassName, String childClassName, BufferedWriter resultWriter) throws IOException {
-        ExtendsClassMethodInfo superClassMethodInfo = extendsClassMethodInfoMap.get(superClassName);
-        if (superClassMethodInfo == null) {
-            System.err.println("can't find information for super class: " + superClassName);
-            return false;
-        }
-
-        ExtendsClassMethodInfo childClassMethodInfo = extendsClassMethodInfoMap.get(childClassName);
-        if (childClassMethodInfo == null) {
-            System.err.println("can't find information for child class: " + childClassName);
-            return false;
-        }
-
-        Map<String, MethodAttribute> superMethodAttributeMap = superClassMethodInfo.getMethodAttributeMap();
-        Map<String, MethodAttribute> childMethodAttributeMap = childClassMethodInfo.getMethodAttributeMap();
-
-        for (Map.Entry<String, MethodAttribute> superMethodAttributeEntry : superMethodAttributeMap.entrySet()) {
-            String superMethodWithArgs = superMethodAttributeEntry.getKey();
-            MethodAttribute superMethodAttribute = superMethodAttributeEntry.getValue();
-            if (superMethodAttribute.isAbstractMethod()) {
-                // super abstract method
-                MethodAttribute childMethodAttribute = childMethodAttributeMap.get(superMethodWithArgs);
-                if (childMethodAttribute == null) {
-                    childMethodAttributeMap.put(superMethodWithArgs, superMethodAttribute);
-                }
-                // add super class call child class method
-                String superCallChildClassMethod = String.format("M:%s:%s (%s)%s:%s %d", superClassName, superMethodWithArgs,
-                        CallTypeEnum.CTE_SCC.getType(), childClassName, superMethodWithArgs, Constants.DEFAULT_LINE_NUMBER);
-                writeResult(resultWriter, superCallChildClassMethod);
-                writeResult(resultWriter, " " + jarNum);
-                writeResult(resultWriter, Constants.NEW_LINE);
-                continue;
-            }
-            if (superMethodAttribute.isPublicMethod() || superMethodAttribute.isProtectedMethod()) {
-                // super public/protected not abstract method
-                if (childMethodAttributeMap.get(superMethodWithArgs) != null) {
-                    continue;
-                }
-                Set<String> childCalleeMethodWithArgsSet = calleeMethodMapGlobal.get(childClassName);
-                if (!childClassMethodInfo.isAbstractClass() &&
-                        (childCalleeMethodWithArgsSet == null || !childCalleeMethodWithArgsSet.contains(superMethodWithArgs))) {
-                    continue;
-                }
-
-                childMethodAttributeMap.put(superMethodWithArgs, superMethodAttribute);
-
-                // add child class call super class method
-                String childCallSuperClassMethod = String.format("M:%s:%s (%s)%s:%s %d", childClassName, superMethodWithArgs,
-                        CallTypeEnum.CTE_CCS.getType(), superClassName, superMethodWithArgs, Constants.DEFAULT_LINE_NUMBER);
-                writeResult(resultWriter, childCallSuperClassMethod);
-                writeResult(resultWriter, " " + jarNum);
-                writeResult(resultWriter, Constants.NEW_LINE);
-            }
-        }
-        return true;
-    }
-
-    // record interface call implementation class method
-    private static void recordInterfaceCallClassMethod(BufferedWriter resultWriter) throws IOException {
-        if (classInterfaceMethodInfoMap.isEmpty() || interfaceMethodWithArgsMap.isEmpty()) {
-            return;
-        }
-
-        for (Map.Entry<String, ClassInterfaceMethodInfo> classMethodInfo : classInterfaceMethodInfoMap.entrySet()) {
-            String className = classMethodInfo.getKey();
-            ClassInterfaceMethodInfo classInterfaceMethodInfo = classMethodInfo.getValue();
-            List<String> interfaceNameList = classInterfaceMethodInfo.getInterfaceNameList();
-
-            /*
-                find the same method both in interface and implementation class
-                and the method should be used
-             */
-            for (String interfaceName : interfaceNameList) {
-                Set<String> calleeMethodWithArgsSet = calleeMethodMapGlobal.get(interfaceName);
-                if (calleeMethodWithArgsSet == null) {
-                    continue;
-                }
-
-                List<String> interfaceMethodWithArgsList = interfaceMethodWithArgsMap.get(interfaceName);
-                if (interfaceMethodWithArgsList == null || interfaceMethodWithArgsList.isEmpty()) {
-                    continue;
-                }
-
-                List<String> classMethodWithArgsList = classInterfaceMethodInfo.getMethodWithArgsList();
-                for (String classMethodWithArgs : classMethodWithArgsList) {
-                    if (!interfaceMethodWithArgsList.contains(classMethodWithArgs) || !calleeMethodWithArgsSet.contains(classMethodWithArgs)) {
-                        continue;
-                    }
-
-                    String interfaceCallClassMethod = String.format("M:%s:%s (%s)%s:%s %d", interfaceName, classMethodWithArgs,
-                            CallTypeEnum.CTE_ITF.getType(), className, classMethodWithArgs, Constants.DEFAULT_LINE_NUMBER);
-                    writeResult(resultWriter, interfaceCallClassMethod);
-                    writeResult(resultWriter, " " + jarNum);
-                    writeResult(resultWriter, Constants.NEW_LINE);
-                }
-            }
-        }
-    }
-
-    private static List<String> genImplClassMethodWithArgs(Method[] methods) {
-        List<String> methodInfoList = new ArrayList<>(methods.length);
-        for (Method method : methods) {
-            String methodName = method.getName();
-            // ignore "<init>" and "<clinit>"
-            if (!methodName.startsWith("<") && method.isPublic() && !method.isAbstract() && !method.isStatic()) {
-                methodInfoList.add(methodName + CommonUtil.argumentList(method.getArgumentTypes()));
-            }
-        }
-        return methodInfoList;
-    }
-
-    private static List<String> genInterfaceAbstractMethodWithArgs(Method[] methods) {
-        List<String> methodInfoList = new ArrayList<>(methods.length);
-        for (Method method : methods) {
-            if (method.isAbstract()) {
-                methodInfoList.add(method.getName() + CommonUtil.argumentList(method.getArgumentTypes()));
-            }
-        }
-        return methodInfoList;
-    }
-
-    // pre handle classes
-    private static boolean preHandleClasses(String jarFilePath, File jarFile) {
-        try (JarFile jar = new JarFile(jarFile)) {
-            for (Enumeration<JarEntry> enumeration = jar.entries(); enumeration.hasMoreElements(); ) {
-                JarEntry jarEntry = enumeration.nextElement();
-                if (!jarEntry.isDirectory() && jarEntry.getName().endsWith(".class")) {
-                    ClassParser cp = new ClassParser(jarFilePath, jarEntry.getName());
-                    JavaClass javaClass = cp.parse();
-
-                    String className = javaClass.getClassName();
-                    if (javaClass.isClass()) {
-                        // pre handle class
-                        preHandleClass(javaClass);
-                    } else if (javaClass.isInterface()) {
-                        Method[] methods = javaClass.getMethods();
-                        if (methods != null && methods.length > 0 &&
-                                interfaceMethodWithArgsMap.get(className) == null) {
-                            List<String> interfaceMethodWithArgsList = genInterfaceAbstractMethodWithArgs(methods);
-                            interfaceMethodWithArgsMap.put(className, interfaceMethodWithArgsList);
-                        }
-                    }
-
-                    // get super and children class
-                    String superClassName = javaClass.getSuperclassName();
-                    if (THREAD_CLASS_NAME.equals(superClassName)) {
-                        // find Thread child class
-                        threadChildClassMap.put(javaClass.getClassName(), Boolean.FALSE);
-                    }
-
-                    if (!superClassName.startsWith("java.")) {
-                        extendsClassesSet.add(javaClass.getClassName());
-                        extendsClassesSet.add(superClassName);
-                    }
-                }
-            }
-            return true;
-        } catch (Exception e) {
-            e.printStackTrace();
-            return false;
-        }
-    }
-
-    // pre handle class
-    private static void preHandleClass(JavaClass javaClass) {
-        String className = javaClass.getClassName();
-        String[] interfaceNames = javaClass.getInterfaceNames();
-        Method[] methods = javaClass.getMethods();
-
-        if (interfaceNames != null && interfaceNames.length > 0 &&
-                methods != null && methods.length > 0 &&
-                classInterfaceMethodInfoMap.get(className) == null) {
-            ClassInterfaceMethodInfo classInterfaceMethodInfo = new ClassInterfaceMethodInfo();
-
-            List<String> interfaceNameList = new ArrayList<>(interfaceNames.length);
-            interfaceNameList.addAll(Arrays.asList(interfaceNames));
-
-            List<String> implClassMethodWithArgsList = genImplClassMethodWithArgs(methods);
-            classInterfaceMethodInfo.setInterfaceNameList(interfaceNameList);
-            classInterfaceMethodInfo.setMethodWithArgsList(implClassMethodWithArgsList);
-
-            classInterfaceMethodInfoMap.put(className, classInterfaceMethodInfo);
-
-            if (!javaClass.isAbstract()) {
-                if (interfaceNameList.contains(RUNNABLE_CLASS_NAME)) {
-                    // find Runnable impl classes
-                    runnableImplClassMap.put(className, Boolean.FALSE);
-                }
-                if (interfaceNameList.contains(CALLABLE_CLASS_NAME)) {
-                    // find Callable impl classes
-                    callableImplClassMap.put(className, Boolean.FALSE);
-                }
-            }
-        }
-    }
-
-    private static void findExtendsClassesInfo(JavaClass javaClass) {
-        String className = javaClass.getClassName();
-        if (extendsClassMethodInfoMap.get(className) != null) {
-            return;
-        }
-
-        String superClassName = javaClass.getSuperclassName();
-        if (!superClassName.startsWith("java.")) {
-            // cache super class and it's children class, ignore super class start with "java."
-            List<String> childrenClassInfoList = childrenClassInfoMap.get(superClassName);
-            if (childrenClassInfoList == null) {
-                List<String> newChildrenClassInfoList = new ArrayList<>();
-                newChildrenClassInfoList.add(className);
-                childrenClassInfoMap.put(superClassName, newChildrenClassInfoList);
-            } else {
-                childrenClassInfoList.add(className);
-            }
-        }
-
-        // cache the method information of current class
-        ExtendsClassMethodInfo extendsClassMethodInfo = new ExtendsClassMethodInfo();
-        extendsClassMethodInfo.setAbstractClass(javaClass.isAbstract());
-        extendsClassMethodInfo.setSuperClassName(superClassName);
-        Map<String, MethodAttribute> methodAttributeMap = new HashMap<>();
-
-        Method[] methods = javaClass.getMethods();
-        if (methods != null && methods.length > 0) {
-            for (Method method : methods) {
-                String methodName = method.getName();
-                if (!methodName.startsWith("<") && !method.isStatic() && (
-                        method.isAbstract() ||
-                                (!method.isAbstract() && (method.isPublic() || method.isProtected()))
-                )) {
-                    MethodAttribute methodAttribute = new MethodAttribute();
-                    methodAttribute.setAbstractMethod(method.isAbstract());
-                    methodAttribute.setPublicMethod(method.isPublic());
-                    methodAttribute.setProtectedMethod(method.isProtected());
-
-                    String methodWithArgs = methodName + CommonUtil.argumentList(method.getArgumentTypes());
-                    methodAttributeMap.put(methodWithArgs, methodAttribute);
-                }
-            }
-        }
-        extendsClassMethodInfo.setMethodAttributeMap(methodAttributeMap);
-        extendsClassMethodInfoMap.put(className, extendsClassMethodInfo);
-    }
-
-    // record method annotation information
-    private static void recordMethodAnnotationInfo(BufferedWriter out) throws IOException {
-        for (Map.Entry<String, Set<String>> entry : methodAnnotationMap.entrySet()) {
-            String fullMethod = entry.getKey();
-            Set<String> annotationSet = entry.getValue();
-            for (String annotation : annotationSet) {
-                String methodWithAnnotation = fullMethod + " " + annotation + Constants.NEW_LINE;
-                out.write(methodWithAnnotation);
-            }
-        }
-    }
-
-    // write data to result file
-    private static void writeResult(BufferedWriter resultWriter, String data) throws IOException {
-        resultWriter.write(data);
-    }
-    // added end
-}
+/*
+ * Copyright (c) 2011 - Georgios Gousios <gousiosg@gmail.com>
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *
+ *     * Redistributions in binary form must reproduce the above
+ *       copyright notice, this list of conditions and the following
+ *       disclaimer in the documentation and/or other materials provided
+ *       with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * OWNER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+ * SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+ * DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+ * THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+ * OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.backend.BcelClassVisitBackend;
+import gr.gousiosg.javacg.backend.ClassVisitBackend;
+import gr.gousiosg.javacg.backend.StreamingClassVisitBackend;
+import gr.gousiosg.javacg.cache.IncrementalClassCache;
+import gr.gousiosg.javacg.collection.SpillableIntSetMap;
+import gr.gousiosg.javacg.collection.SymbolTable;
+import gr.gousiosg.javacg.common.Constants;
+import gr.gousiosg.javacg.dto.*;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.filter.ClassFilter;
+import gr.gousiosg.javacg.graph.CallGraphImage;
+import gr.gousiosg.javacg.graph.CallGraphIndexBuilder;
+import gr.gousiosg.javacg.output.BinaryCallGraphWriter;
+import gr.gousiosg.javacg.output.CallGraphWriter;
+import gr.gousiosg.javacg.output.FilteredCallGraphWriter;
+import gr.gousiosg.javacg.output.TeeCallGraphWriter;
+import gr.gousiosg.javacg.output.TextCallGraphWriter;
+import gr.gousiosg.javacg.reader.ClassFileSource;
+import gr.gousiosg.javacg.reader.DirectoryClassReader;
+import gr.gousiosg.javacg.reader.FilteredClassFileSource;
+import gr.gousiosg.javacg.reader.JarClassReader;
+import gr.gousiosg.javacg.reader.JavaClassCache;
+import gr.gousiosg.javacg.reader.MappedJarClassReader;
+import gr.gousiosg.javacg.reader.PrefetchedClassFileSource;
+import gr.gousiosg.javacg.util.CommonUtil;
+import org.apache.bcel.classfile.JavaClass;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Constructs a callgraph out of a JAR archive. Can combine multiple archives
+ * into a single call graph.
+ *
+ * @author Georgios Gousios <gousiosg@gmail.com>
+ */
+public class JCallGraph {
+
+    public static final int INIT_SIZE_100 = 100;
+    public static final int INIT_SIZE_500 = 500;
+    public static final int INIT_SIZE_1000 = 1000;
+
+    // number of classes submitted to the pool per thread before the oldest result is handled
+    private static final int VISIT_WINDOW_PER_THREAD = 16;
+
+    // the max number of the classes read ahead by the reader stage of the pipeline for each visiting thread
+    private static final int READ_QUEUE_SIZE_PER_THREAD = 32;
+
+    private static final long DEFAULT_CLASS_CACHE_MB = 64;
+
+    private static final String JAR_READER_JAR = "jar";
+    private static final String JAR_READER_MMAP = "mmap";
+
+    static final String NESTED_ARCHIVE_SEPARATOR = "!/";
+
+    private static final String OUTPUT_FORMAT_TEXT = "text";
+    private static final String OUTPUT_FORMAT_BINARY = "binary";
+
+    private static final String CLASS_BACKEND_BCEL = "bcel";
+    private static final String CLASS_BACKEND_STREAMING = "streaming";
+
+    private static final int DEPEND_FLAG_RUNNABLE = 1;
+    private static final int DEPEND_FLAG_CALLABLE = 2;
+    private static final int DEPEND_FLAG_THREAD = 4;
+
+    // added by adrninistrator
+    /*
+        the class names and the methods with arguments in the structures below are replaced by the ids of classSymbolTable
+        and methodSymbolTable, the symbol tables are used for all jar files
+     */
+    private static SymbolTable classSymbolTable;
+    private static SymbolTable methodSymbolTable;
+    // class id -> ids of the called methods of the class
+    private static SpillableIntSetMap calleeMethodMapGlobal;
+    private static ClassHierarchyIndex classHierarchyIndex;
+    private static Map<String, Boolean> runnableImplClassMap;
+    private static Map<String, Boolean> callableImplClassMap;
+    private static Map<String, Boolean> threadChildClassMap;
+    private static Map<String, Set<String>> methodAnnotationMap;
+
+    private static final String RUNNABLE_CLASS_NAME = Runnable.class.getName();
+    private static final String CALLABLE_CLASS_NAME = Callable.class.getName();
+    private static final String THREAD_CLASS_NAME = Thread.class.getName();
+
+    // the number of the jar being handled, or of the class being handled with "-Dentry.method.file"
+    private static int jarNum = 0;
+    // added end
+
+    private static int threadNum;
+    private static ForkJoinPool forkJoinPool;
+    private static long classCacheBytes;
+    // the max approximate size of calleeMethodMapGlobal in memory, 0 for no limit, the cold partitions are spilled into spillDir
+    private static long maxMemoryBytes;
+    private static File spillDir;
+    private static boolean nestedArchive;
+    // the class hierarchy of all the jars is handled once after the last jar, "-Dglobal.hierarchy=true"
+    private static boolean globalHierarchy;
+    // the ITF/SCC method calls are only written to the allocated classes, "-Drta=true"
+    private static boolean rta;
+    // the classes excluded by the rules of "-Dclass.filter.file" are not read, not called and not written, null when not used
+    private static ClassFilter classFilter;
+    // the time used by the visits and the time the results are waited for, reported with "-Dpipeline=true"
+    private static LongAdder visitNanos;
+    private static long visitWaitNanos;
+    private static IncrementalClassCache incrementalClassCache;
+    private static ClassVisitBackend classVisitBackend = new BcelClassVisitBackend(true);
+
+    public static void main(String[] args) {
+        run(args);
+    }
+
+    public static boolean run(String[] args) {
+        return run(args, null);
+    }
+
+    /**
+     * generate the call graph of the jars
+     *
+     * @param args        the jar files or directories
+     * @param extraWriter also receives the call graph written to the output file when not null, e.g. a CallGraphIndexBuilder
+     * @return true when success
+     */
+    public static boolean run(String[] args, CallGraphWriter extraWriter) {
+
+        // added by adrninistrator
+        String outputFilePath = System.getProperty("output.file");
+        if (outputFilePath == null || outputFilePath.isEmpty()) {
+            System.err.println("please use \"-Doutput.file=xxx\" to specify the output file");
+            return false;
+        }
+        // added end
+
+        // modified by adrninistrator
+        Set<String> filePathSet = new HashSet<>(args.length);
+
+        // run can be called more than once in the same JVM (e.g. by the benchmarks), the state of the last run is dropped
+        jarNum = 0;
+        calleeMethodMapGlobal = null;
+        classHierarchyIndex = null;
+        incrementalClassCache = null;
+        classFilter = null;
+        visitNanos = new LongAdder();
+        visitWaitNanos = 0;
+
+        threadNum = getThreadNum();
+        if (threadNum <= 0) {
+            return false;
+        }
+
+        classCacheBytes = getClassCacheBytes();
+        if (classCacheBytes < 0) {
+            return false;
+        }
+
+        maxMemoryBytes = getMaxMemoryBytes();
+        if (maxMemoryBytes < 0) {
+            return false;
+        }
+        spillDir = new File(System.getProperty("spill.dir", System.getProperty("java.io.tmpdir")));
+
+        String jarReaderType = System.getProperty("jar.reader", JAR_READER_JAR);
+        if (!JAR_READER_JAR.equals(jarReaderType) && !JAR_READER_MMAP.equals(jarReaderType)) {
+            System.err.println("illegal jar reader, please use \"-Djar.reader=" + JAR_READER_JAR + "|" + JAR_READER_MMAP + "\": " + jarReaderType);
+            return false;
+        }
+
+        String outputFormat = System.getProperty("output.format", OUTPUT_FORMAT_TEXT);
+        if (!OUTPUT_FORMAT_TEXT.equals(outputFormat) && !OUTPUT_FORMAT_BINARY.equals(outputFormat)) {
+            System.err.println("illegal output format, please use \"-Doutput.format=" + OUTPUT_FORMAT_TEXT + "|" + OUTPUT_FORMAT_BINARY + "\": " +
+                    outputFormat);
+            return false;
+        }
+
+        // the source lines of the calls are resolved unless "-Dline.number=false"
+        boolean lineNumberUsed = !Boolean.FALSE.toString().equals(System.getProperty("line.number"));
+
+        String classBackend = System.getProperty("class.backend", CLASS_BACKEND_BCEL);
+        if (CLASS_BACKEND_BCEL.equals(classBackend)) {
+            classVisitBackend = new BcelClassVisitBackend(lineNumberUsed);
+        } else if (CLASS_BACKEND_STREAMING.equals(classBackend)) {
+            classVisitBackend = new StreamingClassVisitBackend(lineNumberUsed);
+        } else {
+            System.err.println("illegal class backend, please use \"-Dclass.backend=" + CLASS_BACKEND_BCEL + "|" + CLASS_BACKEND_STREAMING + "\": " +
+                    classBackend);
+            return false;
+        }
+
+        String annotationOutputFilePath = outputFilePath + "-annotation.txt";
+        System.out.println("write method annotation information to file: " + annotationOutputFilePath);
+
+        nestedArchive = Boolean.parseBoolean(System.getProperty("nested.archive"));
+
+        globalHierarchy = Boolean.parseBoolean(System.getProperty("global.hierarchy"));
+
+        rta = Boolean.parseBoolean(System.getProperty("rta"));
+        if (rta && !globalHierarchy) {
+            // the allocations in all the jars are needed, a class allocated in another jar is not pruned
+            System.out.println("\"-Drta=true\" handles the class hierarchy of all the jars like \"-Dglobal.hierarchy=true\"");
+            globalHierarchy = true;
+        }
+
+        boolean pipeline = Boolean.parseBoolean(System.getProperty("pipeline"));
+
+        // only the classes reached from the entry methods are visited
+        String entryMethodFilePath = System.getProperty("entry.method.file");
+        EntryMethodMatcher entryMethodMatcher = null;
+        if (entryMethodFilePath != null && !entryMethodFilePath.isEmpty()) {
+            if (pipeline) {
+                System.err.println("\"-Dentry.method.file\" can't be used with \"-Dpipeline=true\"");
+                return false;
+            }
+            try {
+                entryMethodMatcher = EntryMethodMatcher.load(entryMethodFilePath);
+            } catch (IOException e) {
+                System.err.println("load entry method file fail: " + e.getMessage());
+                return false;
+            }
+            System.out.println("entry method patterns: " + entryMethodMatcher.getPatternNum());
+            // the reached classes of all the jars are in one class hierarchy
+            globalHierarchy = true;
+        }
+
+        String classFilterFilePath = System.getProperty("class.filter.file");
+        if (classFilterFilePath != null && !classFilterFilePath.isEmpty()) {
+            try {
+                classFilter = ClassFilter.load(classFilterFilePath);
+            } catch (IOException e) {
+                System.err.println("load class filter file fail: " + e.getMessage());
+                return false;
+            }
+            System.out.println("class filter rules: " + classFilter.getRuleNum());
+        }
+
+        String incrementalCacheFilePath = System.getProperty("incremental.cache.file");
+        if (incrementalCacheFilePath != null && !incrementalCacheFilePath.isEmpty()) {
+            // the options changing the results of the classes, the cache of a run with other options is not used
+            String cacheOptions = "line.number=" + lineNumberUsed + " class.backend=" + classBackend + " class.filter=" +
+                    (classFilter == null ? "" : classFilter.getRuleHash());
+            try {
+                incrementalClassCache = IncrementalClassCache.load(incrementalCacheFilePath, cacheOptions);
+            } catch (IOException e) {
+                System.err.println("load incremental cache fail, all the classes are handled: " + e.getMessage());
+                incrementalClassCache = IncrementalClassCache.empty(incrementalCacheFilePath, cacheOptions);
+            }
+        }
+
+        // the method calls are also collected into an index, which is written as a graph image at the end
+        String graphImageFilePath = System.getProperty("graph.image.file");
+        CallGraphIndexBuilder graphImageBuilder = null;
+        if (graphImageFilePath != null && !graphImageFilePath.isEmpty()) {
+            graphImageBuilder = new CallGraphIndexBuilder();
+            extraWriter = extraWriter == null ? graphImageBuilder : new TeeCallGraphWriter(extraWriter, graphImageBuilder);
+        }
+
+        forkJoinPool = threadNum > 1 ? new ForkJoinPool(threadNum) : null;
+        try (CallGraphWriter resultWriter = openCallGraphWriter(outputFilePath, outputFormat, extraWriter);
+             BufferedWriter annotationOut = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(annotationOutputFilePath),
+                     StandardCharsets.UTF_8))) {
+            /*
+                canonical path of the jar -> argument, the jars are read by the reader stage when the pipeline is used, or indexed
+                before the reached classes are visited with the entry methods
+             */
+            Map<String, String> deferredJarFilePathMap = new LinkedHashMap<>();
+            for (String arg : args) {
+                String jarFilePath = CommonUtil.getCanonicalPath(arg);
+                if (jarFilePath == null) {
+                    System.err.println("getCanonicalPath fail: " + arg);
+                    return false;
+                }
+
+                if (!filePathSet.add(jarFilePath)) {
+                    System.out.println(arg + " skip jar file: " + jarFilePath);
+                    continue;
+                }
+
+                if (pipeline || entryMethodMatcher != null) {
+                    deferredJarFilePathMap.put(jarFilePath, arg);
+                    continue;
+                }
+
+                System.out.println(arg + " handle jar file: " + jarFilePath);
+                File f = new File(jarFilePath);
+
+                if (!f.exists()) {
+                    System.err.println("Jar file " + jarFilePath + " does not exist");
+                }
+
+                try (ClassFileSource classFileSource = filterClassFileSource(f.isDirectory() ? new DirectoryClassReader(jarFilePath) :
+                        openClassFileSource(jarFilePath, jarReaderType))) {
+                    if (!handleClassFileSource(jarFilePath, classFileSource, resultWriter, annotationOut)) {
+                        return false;
+                    }
+                }
+            }
+
+            if (pipeline && !handlePipelinedJars(deferredJarFilePathMap, jarReaderType, resultWriter, annotationOut)) {
+                return false;
+            }
+
+            if (entryMethodMatcher != null) {
+                handleEntryMethods(deferredJarFilePathMap, jarReaderType, entryMethodMatcher, resultWriter, annotationOut);
+            }
+
+            if (globalHierarchy && classHierarchyIndex != null) {
+                System.out.println("handle the class hierarchy of all the jars");
+                writeClassHierarchyMethodCalls(resultWriter);
+            }
+
+            if (incrementalClassCache != null) {
+                System.out.println(incrementalClassCache.getStatistics());
+                incrementalClassCache.save();
+            }
+
+            if (calleeMethodMapGlobal != null) {
+                System.out.println(calleeMethodMapGlobal.getStatistics());
+            }
+
+            if (classFilter != null) {
+                for (String statistic : classFilter.getStatistics()) {
+                    System.out.println(statistic);
+                }
+            }
+
+            if (graphImageBuilder != null) {
+                System.out.println("write graph image to file: " + graphImageFilePath);
+                CallGraphImage.write(graphImageBuilder.build(), graphImageFilePath);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error while processing jar: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        } finally {
+            if (forkJoinPool != null) {
+                forkJoinPool.shutdown();
+            }
+            if (calleeMethodMapGlobal != null) {
+                calleeMethodMapGlobal.close();
+            }
+        }
+        // modified end
+    }
+
+    // handle the classes of one jar, directory or nested archive, then its nested archives, each one with its own jar number
+    private static boolean handleClassFileSource(String jarName, ClassFileSource classFileSource, CallGraphWriter resultWriter,
+                                                 BufferedWriter annotationOut) throws IOException {
+        // added by adrninistrator
+        resultWriter.writeJar(++jarNum, jarName);
+
+        init();
+
+        // pre handle classes, the parsed classes are kept in the cache for the visit phase when the backend uses them
+        JavaClassCache javaClassCache = new JavaClassCache(classVisitBackend.isJavaClassCacheUsed() ? classCacheBytes : 0);
+        if (!preHandleClasses(classFileSource, javaClassCache)) {
+            return false;
+        }
+        // added end
+
+        Deque<Future<ClassVisitResult>> visitFutureDeque = new ArrayDeque<>();
+        for (String entryName : classFileSource.getClassEntryNames()) {
+            JavaClass cachedJavaClass = javaClassCache.remove(entryName);
+            String classKey = incrementalClassCache == null ? null : classFileSource.getClassKey(entryName);
+            addClassVisit(visitFutureDeque, classFileSource, entryName, cachedJavaClass, classKey, resultWriter);
+        }
+        while (!visitFutureDeque.isEmpty()) {
+            handleClassVisitResult(getClassVisitResult(visitFutureDeque.poll()), resultWriter);
+        }
+        System.out.println("class cache hit: " + javaClassCache.getHitNum() + " miss: " + javaClassCache.getMissNum());
+
+        handleClassHierarchy(resultWriter, annotationOut);
+
+        if (nestedArchive) {
+            // nested archives are read from memory, no temp file is written
+            for (String archiveName : classFileSource.getNestedArchiveNames()) {
+                String nestedJarName = jarName + NESTED_ARCHIVE_SEPARATOR + archiveName;
+                System.out.println("handle nested archive: " + nestedJarName);
+                try (ClassFileSource nestedClassFileSource = filterClassFileSource(new MappedJarClassReader(
+                        classFileSource.readNestedArchive(archiveName), nestedJarName))) {
+                    if (!handleClassFileSource(nestedJarName, nestedClassFileSource, resultWriter, annotationOut)) {
+                        return false;
+                    }
+                }
+            }
+        }
+
+        if (classFileSource.getReadStatistics() != null) {
+            System.out.println(jarName + " " + classFileSource.getReadStatistics());
+        }
+        return true;
+    }
+
+    // handle the jars with the pipeline: the reader stage thread reads the classes, the pool visits them, this thread merges and writes
+    private static boolean handlePipelinedJars(Map<String, String> jarFilePathMap, String jarReaderType, CallGraphWriter resultWriter,
+                                               BufferedWriter annotationOut) throws IOException {
+        ClassReadStage classReadStage = new ClassReadStage(jarFilePathMap, jarFilePath -> filterClassFileSource(
+                new File(jarFilePath).isDirectory() ? new DirectoryClassReader(jarFilePath) : openClassFileSource(jarFilePath, jarReaderType)),
+                classCacheBytes, incrementalClassCache != null, nestedArchive, threadNum * READ_QUEUE_SIZE_PER_THREAD);
+        Thread readThread = new Thread(classReadStage, "class-reader");
+        readThread.setDaemon(true);
+
+        long startTime = System.nanoTime();
+        readThread.start();
+        boolean success = false;
+        try {
+            ClassReadStage.SourceItem sourceItem;
+            while ((sourceItem = classReadStage.takeSource()) != null) {
+                try {
+                    if (!handlePipelinedClassFileSource(sourceItem, classReadStage, resultWriter, annotationOut)) {
+                        return false;
+                    }
+                } finally {
+                    sourceItem.getClassFileSource().close();
+                }
+            }
+            success = true;
+        } finally {
+            if (!success) {
+                readThread.interrupt();
+                try {
+                    readThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                classReadStage.closeUntakenSources();
+            }
+        }
+
+        // the time of the visits is divided by the time of all the visiting threads, they are in this thread without the pool
+        long totalNanos = System.nanoTime() - startTime;
+        long writeNanos = totalNanos - classReadStage.getTakeBlockedNanos() - visitWaitNanos - (forkJoinPool == null ? visitNanos.sum() : 0);
+        System.out.println(String.format("pipeline time: %d ms read: %.1f%% (blocked by full queue %d ms) visit: %.1f%% of %d threads " +
+                        "merge and write: %.1f%%", totalNanos / 1000000, 100D * classReadStage.getReadNanos() / totalNanos,
+                classReadStage.getReadBlockedNanos() / 1000000, 100D * visitNanos.sum() / totalNanos / threadNum, threadNum,
+                100D * writeNanos / totalNanos));
+        return true;
+    }
+
+    // handle the classes of one input read by the reader stage, its nested archives are the next inputs of the reader stage
+    private static boolean handlePipelinedClassFileSource(ClassReadStage.SourceItem sourceItem, ClassReadStage classReadStage,
+                                                          CallGraphWriter resultWriter, BufferedWriter annotationOut) throws IOException {
+        System.out.println(sourceItem.getMessage());
+        resultWriter.writeJar(++jarNum, sourceItem.getJarName());
+
+        init();
+
+        try {
+            for (ClassHeaderInfo classHeaderInfo : sourceItem.getClassHeaderInfoList()) {
+                preHandleClassHeader(classHeaderInfo);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+
+        PrefetchedClassFileSource prefetchedClassFileSource = new PrefetchedClassFileSource(sourceItem.getClassFileSource());
+        Deque<Future<ClassVisitResult>> visitFutureDeque = new ArrayDeque<>();
+        ClassReadStage.ClassItem classItem;
+        while ((classItem = classReadStage.takeClass()) != null) {
+            prefetchedClassFileSource.put(classItem.getEntryName(), classItem.getClassBytes());
+            addClassVisit(visitFutureDeque, prefetchedClassFileSource, classItem.getEntryName(), null, classItem.getClassKey(), resultWriter);
+        }
+        while (!visitFutureDeque.isEmpty()) {
+            handleClassVisitResult(getClassVisitResult(visitFutureDeque.poll()), resultWriter);
+        }
+        prefetchedClassFileSource.close();
+
+        handleClassHierarchy(resultWriter, annotationOut);
+
+        if (sourceItem.getClassFileSource().getReadStatistics() != null) {
+            System.out.println(sourceItem.getJarName() + " " + sourceItem.getClassFileSource().getReadStatistics());
+        }
+        return true;
+    }
+
+    // visit one class in the pool or in this thread, the results are handled in the order of the jar entries
+    private static void addClassVisit(Deque<Future<ClassVisitResult>> visitFutureDeque, ClassFileSource classFileSource, String entryName,
+                                      JavaClass cachedJavaClass, String classKey, CallGraphWriter resultWriter) throws IOException {
+        visitFutureDeque.add(submitClassVisit(classFileSource, entryName, cachedJavaClass, classKey));
+
+        if (visitFutureDeque.size() >= threadNum * VISIT_WINDOW_PER_THREAD) {
+            handleClassVisitResult(getClassVisitResult(visitFutureDeque.poll()), resultWriter);
+        }
+    }
+
+    private static Future<ClassVisitResult> submitClassVisit(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass,
+                                                             String classKey) throws IOException {
+        ClassVisitResult incrementalResult = getIncrementalResult(classKey);
+        if (incrementalResult != null) {
+            // the class is not changed since the last run, it is not parsed
+            return CompletableFuture.completedFuture(incrementalResult);
+        }
+        if (forkJoinPool == null) {
+            return CompletableFuture.completedFuture(timedVisitClass(classFileSource, entryName, cachedJavaClass, classKey));
+        }
+        // visit classes in the pool, handle the results in the order of the jar entries
+        return forkJoinPool.submit(() -> timedVisitClass(classFileSource, entryName, cachedJavaClass, classKey));
+    }
+
+    /*
+        handle the classes reached from the entry methods: the headers of the classes of all the inputs are read into the index of
+        the worklist, then the classes are visited in the order they are reached, the results are handled in this order
+     */
+    private static void handleEntryMethods(Map<String, String> jarFilePathMap, String jarReaderType, EntryMethodMatcher entryMethodMatcher,
+                                           CallGraphWriter resultWriter, BufferedWriter annotationOut) throws IOException {
+        long startTime = System.currentTimeMillis();
+        init();
+
+        ClassWorklist classWorklist = new ClassWorklist();
+        List<ClassFileSource> classFileSourceList = new ArrayList<>();
+        try {
+            List<String> entryClassNameList = new ArrayList<>();
+            for (Map.Entry<String, String> entry : jarFilePathMap.entrySet()) {
+                String jarFilePath = entry.getKey();
+                System.out.println(entry.getValue() + " index jar file: " + jarFilePath);
+                ClassFileSource classFileSource = filterClassFileSource(new File(jarFilePath).isDirectory() ?
+                        new DirectoryClassReader(jarFilePath) : openClassFileSource(jarFilePath, jarReaderType));
+                classFileSourceList.add(classFileSource);
+                indexClassFileSource(jarFilePath, classFileSource, entryMethodMatcher, classWorklist, entryClassNameList, classFileSourceList,
+                        resultWriter);
+            }
+            // the sub types of the entry classes in all the inputs are known
+            for (String entryClassName : entryClassNameList) {
+                classWorklist.addEntryClass(entryClassName);
+            }
+            long indexTime = System.currentTimeMillis() - startTime;
+
+            Deque<ClassWorklist.ClassLocation> classLocationDeque = new ArrayDeque<>();
+            Deque<Future<ClassVisitResult>> visitFutureDeque = new ArrayDeque<>();
+            while (true) {
+                ClassWorklist.ClassLocation classLocation;
+                while (visitFutureDeque.size() < threadNum * VISIT_WINDOW_PER_THREAD && (classLocation = classWorklist.poll()) != null) {
+                    ClassFileSource classFileSource = classLocation.getClassFileSource();
+                    String classKey = incrementalClassCache == null ? null : classFileSource.getClassKey(classLocation.getEntryName());
+                    classLocationDeque.add(classLocation);
+                    visitFutureDeque.add(submitClassVisit(classFileSource, classLocation.getEntryName(), null, classKey));
+                }
+                if (visitFutureDeque.isEmpty()) {
+                    break;
+                }
+                handleReachedClass(classLocationDeque.poll(), getClassVisitResult(visitFutureDeque.poll()), classWorklist, resultWriter);
+            }
+
+            // record method annotation information
+            recordMethodAnnotationInfo(annotationOut);
+            System.out.println(classWorklist.getStatistics() + " index time: " + indexTime + " ms total time: " +
+                    (System.currentTimeMillis() - startTime) + " ms");
+        } finally {
+            for (ClassFileSource classFileSource : classFileSourceList) {
+                classFileSource.close();
+            }
+        }
+    }
+
+    // add the classes of one input and its nested archives into the index of the worklist, each input gets its jar number
+    private static void indexClassFileSource(String jarName, ClassFileSource classFileSource, EntryMethodMatcher entryMethodMatcher,
+                                             ClassWorklist classWorklist, List<String> entryClassNameList,
+                                             List<ClassFileSource> classFileSourceList, CallGraphWriter resultWriter) throws IOException {
+        resultWriter.writeJar(++jarNum, jarName);
+
+        for (String entryName : classFileSource.getClassEntryNames()) {
+            ClassHeaderInfo classHeaderInfo = classFileSource.readClassHeader(entryName);
+            if (!classWorklist.addClass(classHeaderInfo, classFileSource, entryName, jarNum)) {
+                continue;
+            }
+            // the Runnable/Callable/Thread classes are found before the classes calling them are visited
+            recordThreadClass(classHeaderInfo, true);
+            if (entryMethodMatcher.matches(classHeaderInfo)) {
+                entryClassNameList.add(classHeaderInfo.getClassName());
+            }
+        }
+
+        if (nestedArchive) {
+            for (String archiveName : classFileSource.getNestedArchiveNames()) {
+                String nestedJarName = jarName + NESTED_ARCHIVE_SEPARATOR + archiveName;
+                System.out.println("index nested archive: " + nestedJarName);
+                ClassFileSource nestedClassFileSource = filterClassFileSource(new MappedJarClassReader(
+                        classFileSource.readNestedArchive(archiveName), nestedJarName));
+                classFileSourceList.add(nestedClassFileSource);
+                indexClassFileSource(nestedJarName, nestedClassFileSource, entryMethodMatcher, classWorklist, entryClassNameList,
+                        classFileSourceList, resultWriter);
+            }
+        }
+    }
+
+    // handle the result of a reached class, then reach the classes it calls, its super class and its interfaces
+    private static void handleReachedClass(ClassWorklist.ClassLocation classLocation, ClassVisitResult classVisitResult,
+                                           ClassWorklist classWorklist, CallGraphWriter resultWriter) throws IOException {
+        jarNum = classLocation.getJarNum();
+        ClassHeaderInfo classHeaderInfo = classVisitResult.getClassHeaderInfo();
+        classHierarchyIndex.addClassHeader(classSymbolTable.getId(classHeaderInfo.getClassName()), classHeaderInfo, jarNum);
+        handleClassVisitResult(classVisitResult, resultWriter);
+
+        // the inherited methods and the ITF/SCC/CCS method calls need the super types
+        classWorklist.reach(classHeaderInfo.getSuperClassName(), false);
+        for (String interfaceName : classHeaderInfo.getInterfaceNameList()) {
+            classWorklist.reach(interfaceName, false);
+        }
+        for (MethodCallDto methodCallDto : classVisitResult.getMethodCallList()) {
+            if (methodCallDto.isClassReference()) {
+                continue;
+            }
+            // the virtual and interface calls can run the methods of the sub types
+            String callType = methodCallDto.getCallType();
+            classWorklist.reach(methodCallDto.getCalleeClassName(), CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL.getType().equals(callType) ||
+                    CallTypeEnum.CTE_RAW_INVOKE_INTERFACE.getType().equals(callType));
+        }
+    }
+
+    // handle the class hierarchy of the jar after all its classes are visited, only the annotations with "-Dglobal.hierarchy=true"
+    private static void handleClassHierarchy(CallGraphWriter resultWriter, BufferedWriter annotationOut) throws IOException {
+        if (!globalHierarchy) {
+            writeClassHierarchyMethodCalls(resultWriter);
+        }
+
+        // added by adrninistrator
+        // record method annotation information
+        recordMethodAnnotationInfo(annotationOut);
+        // added end
+    }
+
+    // write the ITF/SCC/CCS method calls of the class hierarchy
+    private static void writeClassHierarchyMethodCalls(CallGraphWriter resultWriter) throws IOException {
+        // added by adrninistrator
+        // find children classes and add abstract method in interface into abstract super class
+        buildExtendsTree();
+
+        // record super class call children method and child class call super method
+        recordExtendsClassMethod(resultWriter);
+
+        // record interface call implementation class method
+        recordInterfaceCallClassMethod(resultWriter);
+        // added end
+
+        if (rta) {
+            System.out.println(classHierarchyIndex.getRtaStatistics());
+        }
+    }
+
+    // get the number of threads used to visit classes, "-Dthreads=N"
+    private static int getThreadNum() {
+        String threads = System.getProperty("threads");
+        if (threads == null || threads.isEmpty()) {
+            return 1;
+        }
+
+        if (!CommonUtil.isNumStr(threads) || Integer.parseInt(threads) <= 0) {
+            System.err.println("illegal thread number, please use \"-Dthreads=N\", N > 0: " + threads);
+            return 0;
+        }
+        return Integer.parseInt(threads);
+    }
+
+    private static CallGraphWriter openCallGraphWriter(String outputFilePath, String outputFormat, CallGraphWriter extraWriter) throws IOException {
+        CallGraphWriter fileWriter;
+        if (OUTPUT_FORMAT_BINARY.equals(outputFormat)) {
+            fileWriter = new BinaryCallGraphWriter(new FileOutputStream(outputFilePath));
+        } else {
+            fileWriter = new TextCallGraphWriter(new OutputStreamWriter(new FileOutputStream(new File(outputFilePath))));
+        }
+        CallGraphWriter callGraphWriter = extraWriter == null ? fileWriter : new TeeCallGraphWriter(fileWriter, extraWriter);
+        // the lines with an excluded class written by the class hierarchy or from the incremental cache are dropped here
+        return classFilter == null ? callGraphWriter : new FilteredCallGraphWriter(callGraphWriter, classFilter);
+    }
+
+    // the classes excluded by "-Dclass.filter.file" are removed from the class entries of the source, their files are not read
+    static ClassFileSource filterClassFileSource(ClassFileSource classFileSource) {
+        return classFilter == null ? classFileSource : new FilteredClassFileSource(classFileSource, classFilter);
+    }
+
+    private static ClassFileSource openClassFileSource(String jarFilePath, String jarReaderType) throws IOException {
+        if (JAR_READER_MMAP.equals(jarReaderType)) {
+            return new MappedJarClassReader(jarFilePath);
+        }
+        return new JarClassReader(jarFilePath);
+    }
+
+    // get the size of the cache of the classes parsed in the pre handle phase, "-Dclass.cache.mb=N"
+    private static long getClassCacheBytes() {
+        String classCacheMb = System.getProperty("class.cache.mb");
+        if (classCacheMb == null || classCacheMb.isEmpty()) {
+            return DEFAULT_CLASS_CACHE_MB * 1024L * 1024L;
+        }
+
+        if (!CommonUtil.isNumStr(classCacheMb)) {
+            System.err.println("illegal class cache size, please use \"-Dclass.cache.mb=N\", N >= 0: " + classCacheMb);
+            return -1;
+        }
+        return Long.parseLong(classCacheMb) * 1024L * 1024L;
+    }
+
+    // get the max size of the callee method sets kept in memory, "-Dmax.memory.kb=N" or "-Dmax.memory.mb=N", 0 for no limit
+    private static long getMaxMemoryBytes() {
+        String maxMemoryKb = System.getProperty("max.memory.kb");
+        if (maxMemoryKb != null && !maxMemoryKb.isEmpty()) {
+            if (!CommonUtil.isNumStr(maxMemoryKb)) {
+                System.err.println("illegal max memory size, please use \"-Dmax.memory.kb=N\", N >= 0: " + maxMemoryKb);
+                return -1;
+            }
+            return Long.parseLong(maxMemoryKb) * 1024L;
+        }
+
+        String maxMemoryMb = System.getProperty("max.memory.mb");
+        if (maxMemoryMb == null || maxMemoryMb.isEmpty()) {
+            return 0;
+        }
+
+        if (!CommonUtil.isNumStr(maxMemoryMb)) {
+            System.err.println("illegal max memory size, please use \"-Dmax.memory.mb=N\", N >= 0: " + maxMemoryMb);
+            return -1;
+        }
+        return Long.parseLong(maxMemoryMb) * 1024L * 1024L;
+    }
+
+    // get the result of a class not changed since the last run, null when it must be visited again
+    private static ClassVisitResult getIncrementalResult(String classKey) {
+        if (classKey == null) {
+            return null;
+        }
+
+        ClassVisitResult incrementalResult = incrementalClassCache.get(classKey);
+        if (incrementalResult == null) {
+            incrementalClassCache.recordMiss();
+            return null;
+        }
+
+        // the method calls depend on the Runnable/Callable/Thread classes found in the pre handle phase
+        for (Map.Entry<String, Integer> entry : incrementalResult.getDependClassFlagMap().entrySet()) {
+            if (getDependClassFlag(entry.getKey()) != entry.getValue()) {
+                incrementalClassCache.recordMiss();
+                return null;
+            }
+        }
+
+        incrementalClassCache.recordHit(classKey, incrementalResult);
+        return incrementalResult;
+    }
+
+    private static int getDependClassFlag(String className) {
+        int flag = 0;
+        if (runnableImplClassMap.containsKey(className)) {
+            flag |= DEPEND_FLAG_RUNNABLE;
+        }
+        if (callableImplClassMap.containsKey(className)) {
+            flag |= DEPEND_FLAG_CALLABLE;
+        }
+        if (threadChildClassMap.containsKey(className)) {
+            flag |= DEPEND_FLAG_THREAD;
+        }
+        return flag;
+    }
+
+    // record the Runnable/Callable/Thread flags of the classes whose <init> or start() is called
+    private static Map<String, Integer> genDependClassFlagMap(Map<String, Set<String>> calleeMethodMap) {
+        Map<String, Integer> dependClassFlagMap = new LinkedHashMap<>();
+        for (Map.Entry<String, Set<String>> entry : calleeMethodMap.entrySet()) {
+            for (String calleeMethodWithArgs : entry.getValue()) {
+                if (calleeMethodWithArgs.startsWith(Constants.METHOD_NAME_INIT) || calleeMethodWithArgs.equals(Constants.METHOD_NAME_START + "()")) {
+                    dependClassFlagMap.put(entry.getKey(), getDependClassFlag(entry.getKey()));
+                    break;
+                }
+            }
+        }
+        return dependClassFlagMap;
+    }
+
+    // read and visit one class by the backend, the global structures are not modified here
+    static ClassVisitResult visitClass(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass, String classKey)
+            throws IOException {
+        MethodCallCollector methodCallCollector = new MethodCallCollector(runnableImplClassMap, callableImplClassMap, threadChildClassMap,
+                classFilter);
+        classVisitBackend.visitClass(classFileSource, entryName, cachedJavaClass, methodCallCollector);
+
+        ClassVisitResult classVisitResult = methodCallCollector.genClassVisitResult(classKey);
+        if (classKey != null) {
+            classVisitResult.setDependClassFlagMap(genDependClassFlagMap(classVisitResult.getCalleeMethodMap()));
+        }
+        return classVisitResult;
+    }
+
+    private static ClassVisitResult timedVisitClass(ClassFileSource classFileSource, String entryName, JavaClass cachedJavaClass,
+                                                    String classKey) throws IOException {
+        long startTime = System.nanoTime();
+        try {
+            return visitClass(classFileSource, entryName, cachedJavaClass, classKey);
+        } finally {
+            visitNanos.add(System.nanoTime() - startTime);
+        }
+    }
+
+    private static ClassVisitResult getClassVisitResult(Future<ClassVisitResult> visitFuture) throws IOException {
+        try {
+            if (visitFuture.isDone()) {
+                return visitFuture.get();
+            }
+            long startTime = System.nanoTime();
+            ClassVisitResult classVisitResult = visitFuture.get();
+            visitWaitNanos += System.nanoTime() - startTime;
+            return classVisitResult;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while visiting class");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("visit class fail", e.getCause());
+        }
+    }
+
+    // merge the result of one class into the global structures and write its method calls
+    static void handleClassVisitResult(ClassVisitResult classVisitResult, CallGraphWriter resultWriter) throws IOException {
+        ClassHeaderInfo classHeaderInfo = classVisitResult.getClassHeaderInfo();
+        System.out.println("handle class: " + classHeaderInfo.getClassName());
+
+        if (incrementalClassCache != null && classVisitResult.getClassKey() != null) {
+            incrementalClassCache.put(classVisitResult.getClassKey(), classVisitResult);
+        }
+
+        // the sets of the class result are not modified, they can be kept in the incremental cache
+        for (Map.Entry<String, Set<String>> entry : classVisitResult.getCalleeMethodMap().entrySet()) {
+            int classId = classSymbolTable.getId(entry.getKey());
+            for (String calleeMethodWithArgs : entry.getValue()) {
+                calleeMethodMapGlobal.add(classId, methodSymbolTable.getId(calleeMethodWithArgs));
+            }
+        }
+
+        for (Map.Entry<String, Set<String>> entry : classVisitResult.getMethodAnnotationMap().entrySet()) {
+            if (methodAnnotationMap.get(entry.getKey()) == null) {
+                methodAnnotationMap.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+        for (MethodCallDto methodCallDto : classVisitResult.getMethodCallList()) {
+            if (methodCallDto.getFirstCallType() != null && !checkFirstCall(methodCallDto)) {
+                continue;
+            }
+            if (rta && isAllocation(methodCallDto, classHeaderInfo)) {
+                classHierarchyIndex.addAllocatedClass(classSymbolTable.getId(methodCallDto.getCalleeClassName()));
+            }
+            resultWriter.writeMethodCallDto(methodCallDto, jarNum);
+        }
+    }
+
+    /*
+        each "new" is followed by the call of a constructor of the class, and a constructor reference is also a call of a constructor,
+        the calls of the constructors of the class itself and of its super class in a constructor are not allocations
+     */
+    private static boolean isAllocation(MethodCallDto methodCallDto, ClassHeaderInfo classHeaderInfo) {
+        if (!Constants.METHOD_NAME_INIT.equals(methodCallDto.getCalleeMethodName())) {
+            return false;
+        }
+        if (!methodCallDto.getCallerMethodWithArgs().startsWith(Constants.METHOD_NAME_INIT)) {
+            return true;
+        }
+        String calleeClassName = methodCallDto.getCalleeClassName();
+        return !calleeClassName.equals(classHeaderInfo.getClassName()) && !calleeClassName.equals(classHeaderInfo.getSuperClassName());
+    }
+
+    // check if it is the first call of Runnable/Callable impl class <init> or Thread child class start()
+    private static boolean checkFirstCall(MethodCallDto methodCallDto) {
+        Map<String, Boolean> firstCallMap;
+        switch (methodCallDto.getFirstCallType()) {
+            case CTE_RIR:
+                firstCallMap = runnableImplClassMap;
+                break;
+            case CTE_CIC:
+                firstCallMap = callableImplClassMap;
+                break;
+            case CTE_TSR:
+                firstCallMap = threadChildClassMap;
+                break;
+            default:
+                return true;
+        }
+
+        if (!Boolean.FALSE.equals(firstCallMap.get(methodCallDto.getFirstCallClassName()))) {
+            return false;
+        }
+        // only the value of an existing key is replaced, the map read by the visiting threads is not structurally modified
+        firstCallMap.put(methodCallDto.getFirstCallClassName(), Boolean.TRUE);
+        return true;
+    }
+
+    // added by adrninistrator
+    static void init() {
+        // symbol tables and calleeMethodMapGlobal used for all jar files, only initialize once
+        boolean firstJar = calleeMethodMapGlobal == null;
+        if (firstJar) {
+            classSymbolTable = new SymbolTable();
+            methodSymbolTable = new SymbolTable();
+            calleeMethodMapGlobal = new SpillableIntSetMap(maxMemoryBytes, spillDir);
+        }
+        // the class hierarchy and the Runnable/Callable/Thread classes are also used for all jar files with "-Dglobal.hierarchy=true"
+        if (firstJar || !globalHierarchy) {
+            classHierarchyIndex = new ClassHierarchyIndex(classSymbolTable, methodSymbolTable, rta);
+            runnableImplClassMap = new HashMap<>(INIT_SIZE_100);
+            callableImplClassMap = new HashMap<>(INIT_SIZE_100);
+            threadChildClassMap = new HashMap<>(INIT_SIZE_100);
+        }
+        methodAnnotationMap = new HashMap<>(INIT_SIZE_100);
+    }
+
+    // find children classes and add abstract method in interface into abstract super class
+    static void buildExtendsTree() {
+        classHierarchyIndex.buildExtendsTree();
+    }
+
+    // record super class call children method and child class call super method
+    static void recordExtendsClassMethod(CallGraphWriter resultWriter) throws IOException {
+        classHierarchyIndex.writeExtendsClassMethodCalls(calleeMethodMapGlobal, resultWriter);
+    }
+
+    // record interface call implementation class method
+    static void recordInterfaceCallClassMethod(CallGraphWriter resultWriter) throws IOException {
+        classHierarchyIndex.writeInterfaceMethodCalls(calleeMethodMapGlobal, resultWriter);
+    }
+
+    // pre handle classes
+    static boolean preHandleClasses(ClassFileSource classFileSource, JavaClassCache javaClassCache) {
+        try {
+            for (String entryName : classFileSource.getClassEntryNames()) {
+                ClassHeaderInfo classHeaderInfo = null;
+                if (incrementalClassCache != null) {
+                    ClassVisitResult incrementalResult = incrementalClassCache.get(classFileSource.getClassKey(entryName));
+                    if (incrementalResult != null) {
+                        classHeaderInfo = incrementalResult.getClassHeaderInfo();
+                    }
+                }
+                if (classHeaderInfo == null) {
+                    int classSize = classFileSource.getClassSize(entryName);
+                    if (classSize > 0 && javaClassCache.canPut(classSize)) {
+                        // the parsed class is kept for the visit phase
+                        JavaClass javaClass = classFileSource.parseClass(entryName);
+                        javaClassCache.put(entryName, javaClass, classSize);
+                        classHeaderInfo = BcelClassVisitBackend.genClassHeaderInfo(javaClass);
+                    } else {
+                        // the class is parsed again in the visit phase, only its header is read now
+                        classHeaderInfo = classFileSource.readClassHeader(entryName);
+                    }
+                }
+
+                preHandleClassHeader(classHeaderInfo);
+            }
+            return true;
+        } catch (Exception e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // pre handle the header of one class
+    private static void preHandleClassHeader(ClassHeaderInfo classHeaderInfo) {
+        int classId = classSymbolTable.getId(classHeaderInfo.getClassName());
+        recordThreadClass(classHeaderInfo, classHierarchyIndex.addClassHeader(classId, classHeaderInfo, jarNum));
+    }
+
+    /*
+        find the Runnable/Callable impl classes and the Thread child classes of the first header of a class name, a later header
+        (e.g. the same class in another jar with "-Dglobal.hierarchy=true") does not reset the first call flag already used
+     */
+    private static void recordThreadClass(ClassHeaderInfo classHeaderInfo, boolean firstHeader) {
+        if (!firstHeader) {
+            return;
+        }
+
+        String className = classHeaderInfo.getClassName();
+        List<String> interfaceNameList = classHeaderInfo.getInterfaceNameList();
+        if (classHeaderInfo.isClass() && !classHeaderInfo.isAbstract() && !classHeaderInfo.getMethodHeaderInfoList().isEmpty()) {
+            if (interfaceNameList.contains(RUNNABLE_CLASS_NAME)) {
+                // find Runnable impl classes
+                runnableImplClassMap.put(className, Boolean.FALSE);
+            }
+            if (interfaceNameList.contains(CALLABLE_CLASS_NAME)) {
+                // find Callable impl classes
+                callableImplClassMap.put(className, Boolean.FALSE);
+            }
+        }
+
+        if (THREAD_CLASS_NAME.equals(classHeaderInfo.getSuperClassName())) {
+            // find Thread child class
+            threadChildClassMap.put(className, Boolean.FALSE);
+        }
+    }
+
+    // record method annotation information
+    private static void recordMethodAnnotationInfo(BufferedWriter out) throws IOException {
+        for (Map.Entry<String, Set<String>> entry : methodAnnotationMap.entrySet()) {
+            String fullMethod = entry.getKey();
+            Set<String> annotationSet = entry.getValue();
+            for (String annotation : annotationSet) {
+                String methodWithAnnotation = fullMethod + " " + annotation + Constants.NEW_LINE;
+                out.write(methodWithAnnotation);
+            }
+        }
+    }
+    // added end
+}
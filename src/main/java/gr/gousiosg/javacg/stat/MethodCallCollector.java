@@ -0,0 +1,169 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.backend.ClassEventHandler;
+import gr.gousiosg.javacg.common.Constants;
+import gr.gousiosg.javacg.dto.ClassHeaderInfo;
+import gr.gousiosg.javacg.dto.ClassVisitResult;
+import gr.gousiosg.javacg.dto.MethodCallDto;
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import gr.gousiosg.javacg.filter.ClassFilter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: generate the method calls of one class from the events of a class visit backend, the Runnable/Callable/Thread
+ * classes are handled here for all the backends
+ * <p>
+ * the result of a class only depends on the class and on the keys of the Runnable/Callable/Thread maps, so it can be cached.
+ * the first call method calls are generated for each call, checkFirstCall of JCallGraph writes only the first one when merged
+ */
+
+public class MethodCallCollector implements ClassEventHandler {
+
+    private final Map<String, Boolean> runnableImplClassMap;
+    private final Map<String, Boolean> callableImplClassMap;
+    private final Map<String, Boolean> threadChildClassMap;
+    // the calls of the methods of the excluded classes are not generated, null when "-Dclass.filter.file" is not used
+    private final ClassFilter classFilter;
+
+    private ClassHeaderInfo classHeaderInfo;
+    private String callerClassName;
+
+    private final List<MethodCallDto> methodCalls = new ArrayList<>();
+    private final Map<String, Set<String>> calleeMethodMap = new LinkedHashMap<>();
+    private final Map<String, Set<String>> methodAnnotationMap = new LinkedHashMap<>();
+
+    public MethodCallCollector(Map<String, Boolean> runnableImplClassMap, Map<String, Boolean> callableImplClassMap,
+                               Map<String, Boolean> threadChildClassMap, ClassFilter classFilter) {
+        this.runnableImplClassMap = runnableImplClassMap;
+        this.callableImplClassMap = callableImplClassMap;
+        this.threadChildClassMap = threadChildClassMap;
+        this.classFilter = classFilter;
+    }
+
+    @Override
+    public void visitClassHeader(ClassHeaderInfo classHeaderInfo) {
+        this.classHeaderInfo = classHeaderInfo;
+        callerClassName = classHeaderInfo.getClassName();
+    }
+
+    @Override
+    public void visitClassReference(String referencedClassName) {
+        methodCalls.add(MethodCallDto.genClassReferenceInstance(callerClassName, referencedClassName));
+    }
+
+    @Override
+    public void visitMethodAnnotations(String callerMethodWithArgs, List<String> annotationTypeNames) {
+        String fullMethod = callerClassName + ":" + callerMethodWithArgs;
+        Set<String> annotationNameSet = methodAnnotationMap.get(fullMethod);
+        if (annotationNameSet != null) {
+            return;
+        }
+
+        annotationNameSet = new HashSet<>();
+        for (String annotationTypeName : annotationTypeNames) {
+            annotationNameSet.add(getAnnotationName(annotationTypeName));
+        }
+        methodAnnotationMap.put(fullMethod, annotationNameSet);
+    }
+
+    private String getAnnotationName(String origName) {
+        String tmpName;
+        if (origName.startsWith("L") && origName.endsWith(";")) {
+            tmpName = origName.substring(1, origName.length() - 1);
+        } else {
+            tmpName = origName;
+        }
+        return tmpName.replace("/", ".");
+    }
+
+    @Override
+    public void visitLambdaMethodCall(String callerMethodWithArgs, String lambdaMethodName, String lambdaMethodArgs) {
+        methodCalls.add(MethodCallDto.genInstance(callerClassName, callerMethodWithArgs, CallTypeEnum.CTE_LM.getType(), callerClassName,
+                lambdaMethodName, lambdaMethodArgs, Constants.DEFAULT_LINE_NUMBER));
+    }
+
+    @Override
+    public void visitInvoke(String callerMethodWithArgs, String type, String calleeClassName, String calleeMethodName, String calleeMethodArgs,
+                            int sourceLine) {
+        if (classFilter != null && classFilter.exclude(calleeClassName, ClassFilter.STAGE_CALLEE)) {
+            return;
+        }
+
+        // add callee method info
+        Set<String> calleeMethodWithArgsSet = calleeMethodMap.get(calleeClassName);
+        if (calleeMethodWithArgsSet == null) {
+            calleeMethodWithArgsSet = new HashSet<>();
+            calleeMethodMap.put(calleeClassName, calleeMethodWithArgsSet);
+        }
+        calleeMethodWithArgsSet.add(calleeMethodName + calleeMethodArgs);
+
+        boolean skipRawMethodCall = false;
+
+        if (Constants.METHOD_NAME_INIT.equals(calleeMethodName)) {
+            // handle Runnable impl classes
+            if (runnableImplClassMap.containsKey(calleeClassName)) {
+                // do not record original call type
+                skipRawMethodCall = true;
+                // other function call runnable impl class <init>
+                MethodCallDto methodCallDto1 = MethodCallDto.genInstance(callerClassName, callerMethodWithArgs, CallTypeEnum.CTE_RIR.getType(),
+                        calleeClassName, calleeMethodName, calleeMethodArgs, sourceLine);
+                methodCalls.add(methodCallDto1);
+
+                // runnable impl class <init> call runnable impl class run(), only written for the first caller when merged
+                MethodCallDto methodCallDto2 = MethodCallDto.genFirstCallInstance(calleeClassName, calleeMethodName + calleeMethodArgs,
+                        CallTypeEnum.CTE_RIR, "run");
+                methodCalls.add(methodCallDto2);
+            }
+
+            // handle Callable impl classes
+            if (callableImplClassMap.containsKey(calleeClassName)) {
+                // do not record original call type
+                skipRawMethodCall = true;
+                // other function call callable impl class <init>
+                MethodCallDto methodCallDto1 = MethodCallDto.genInstance(callerClassName, callerMethodWithArgs, CallTypeEnum.CTE_CIC.getType(),
+                        calleeClassName, calleeMethodName, calleeMethodArgs, sourceLine);
+                methodCalls.add(methodCallDto1);
+
+                // callable impl class <init> call callable impl class call(), only written for the first caller when merged
+                MethodCallDto methodCallDto2 = MethodCallDto.genFirstCallInstance(calleeClassName, calleeMethodName + calleeMethodArgs,
+                        CallTypeEnum.CTE_CIC, "call");
+                methodCalls.add(methodCallDto2);
+            }
+        } else if (Constants.METHOD_NAME_START.equals(calleeMethodName) && "()".equals(calleeMethodArgs)) {
+            // handle Thread child classes
+            if (threadChildClassMap.containsKey(calleeClassName)) {
+                // thread child class start() call run(), only written for the first caller when merged
+                MethodCallDto methodCallDto2 = MethodCallDto.genFirstCallInstance(calleeClassName, calleeMethodName + calleeMethodArgs,
+                        CallTypeEnum.CTE_TSR, "run");
+                methodCalls.add(methodCallDto2);
+            }
+        }
+
+        if (skipRawMethodCall) {
+            return;
+        }
+
+        MethodCallDto methodCallDto = MethodCallDto.genInstance(callerClassName, callerMethodWithArgs, type, calleeClassName, calleeMethodName,
+                calleeMethodArgs, sourceLine);
+        methodCalls.add(methodCallDto);
+    }
+
+    // the result of the class, the depend class flags are set by the caller when the incremental cache is used
+    public ClassVisitResult genClassVisitResult(String classKey) {
+        ClassVisitResult classVisitResult = new ClassVisitResult();
+        classVisitResult.setClassKey(classKey);
+        classVisitResult.setClassHeaderInfo(classHeaderInfo);
+        classVisitResult.setMethodCallList(methodCalls);
+        classVisitResult.setCalleeMethodMap(calleeMethodMap);
+        classVisitResult.setMethodAnnotationMap(methodAnnotationMap);
+        return classVisitResult;
+    }
+}
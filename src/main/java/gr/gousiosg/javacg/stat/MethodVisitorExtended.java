@@ -1,108 +1,117 @@
 package gr.gousiosg.javacg.stat;
 
-import org.apache.bcel.classfile.Attribute;
-import org.apache.bcel.classfile.BootstrapMethod;
-import org.apache.bcel.classfile.BootstrapMethods;
-import org.apache.bcel.classfile.Constant;
+import org.apache.bcel.Const;
 import org.apache.bcel.classfile.ConstantCP;
-import org.apache.bcel.classfile.ConstantInvokeDynamic;
 import org.apache.bcel.classfile.ConstantMethodHandle;
 import org.apache.bcel.classfile.ConstantNameAndType;
-import org.apache.bcel.classfile.ConstantUtf8;
 import org.apache.bcel.classfile.JavaClass;
 import org.apache.bcel.generic.ConstantPoolGen;
 import org.apache.bcel.generic.INVOKEDYNAMIC;
+import org.apache.bcel.generic.INVOKEINTERFACE;
+import org.apache.bcel.generic.INVOKESPECIAL;
+import org.apache.bcel.generic.INVOKESTATIC;
 import org.apache.bcel.generic.INVOKEVIRTUAL;
 import org.apache.bcel.generic.Instruction;
 import org.apache.bcel.generic.InstructionHandle;
-import org.apache.bcel.generic.InstructionList;
 import org.apache.bcel.generic.MethodGen;
+import org.apache.bcel.generic.Type;
 
+import gr.gousiosg.javacg.enums.CallTypeEnum;
 import gr.gousiosg.javacg.util.CommonUtil;
 
+/**
+ * Adds the method called through a lambda or a method reference which is
+ * passed to another method, e.g. <code>stream.map(String::trim)</code>,
+ * <code>optional.map(this::convert)</code> or
+ * <code>executor.submit(() -&gt; ...)</code>: when the instruction just before
+ * the invocation is an <code>invokedynamic</code> of
+ * <code>LambdaMetafactory</code>, the target method of its method handle is
+ * also recorded, with its real argument list.
+ */
 public class MethodVisitorExtended extends MethodVisitor {
-	private final MethodGen mg;
 	private final ConstantPoolGen cp;
-	private final InstructionList il;
-	private final JavaClass visitedClass;
+	private BootstrapMethodTable bootstrapMethodTable;
 
 	public MethodVisitorExtended(MethodGen m, JavaClass jc) {
 		super(m, jc);
-		this.mg = m;
 		this.cp = m.getConstantPool();
-		this.il = m.getInstructionList();
-		this.visitedClass = jc;
+	}
+
+	public void setBootstrapMethodTable(BootstrapMethodTable bootstrapMethodTable) {
+		this.bootstrapMethodTable = bootstrapMethodTable;
 	}
 
 	@Override
 	public void visitINVOKEVIRTUAL(INVOKEVIRTUAL i) {
-		String methodName = i.getMethodName(cp);
-		String className = i.getReferenceType(cp).toString();
-
-		// Check if this is a map() call on Optional
-		if ("map".equals(methodName) && "java.util.Optional".equals(className)) {
-			// Get the instruction handle for current instruction
-			InstructionHandle ih = findCurrentInstructionHandle(i);
-			if (ih != null && ih.getPrev() != null) {
-				// Look at previous instruction to find lambda/method reference creation
-				InstructionHandle prevIh = ih.getPrev();
-				Instruction prevInst = prevIh.getInstruction();
+		super.visitINVOKEVIRTUAL(i);
+		addMethodReferenceCall();
+	}
 
-				if (prevInst instanceof INVOKEDYNAMIC) {
-					INVOKEDYNAMIC invokedynamic = (INVOKEDYNAMIC) prevInst;
+	@Override
+	public void visitINVOKEINTERFACE(INVOKEINTERFACE i) {
+		super.visitINVOKEINTERFACE(i);
+		addMethodReferenceCall();
+	}
 
-					// Get the bootstrap method from class attributes
-					for (Attribute attr : visitedClass.getAttributes()) {
-						if (attr instanceof BootstrapMethods) {
-							BootstrapMethods bootstrapMethods = (BootstrapMethods) attr;
+	@Override
+	public void visitINVOKESPECIAL(INVOKESPECIAL i) {
+		super.visitINVOKESPECIAL(i);
+		addMethodReferenceCall();
+	}
 
-							// Get the ConstantInvokeDynamic info
-							ConstantInvokeDynamic cid =
-									(ConstantInvokeDynamic) cp.getConstant(invokedynamic.getIndex());
+	@Override
+	public void visitINVOKESTATIC(INVOKESTATIC i) {
+		super.visitINVOKESTATIC(i);
+		addMethodReferenceCall();
+	}
 
-							// Get the specific bootstrap method
-							BootstrapMethod bm = bootstrapMethods.getBootstrapMethods()[cid.getBootstrapMethodAttrIndex()];
+	// the lambda or method reference created by the previous instruction is the last argument of the current invocation
+	private void addMethodReferenceCall() {
+		if (bootstrapMethodTable == null || bootstrapMethodTable.isEmpty()) {
+			return;
+		}
 
-							// Get the method handle from bootstrap arguments
-							if (bm.getBootstrapArguments().length >= 2) {
-								int methodRefIndex = bm.getBootstrapArguments()[1];
-								Constant c = cp.getConstant(methodRefIndex);
+		// the current instruction handle is kept by MethodVisitor.start(), the previous one is found without scanning the list
+		InstructionHandle prevIh = getCurrentInstructionHandle().getPrev();
+		if (prevIh == null) {
+			return;
+		}
+		Instruction prevInst = prevIh.getInstruction();
+		if (!(prevInst instanceof INVOKEDYNAMIC)) {
+			return;
+		}
 
-								if (c instanceof ConstantMethodHandle) {
-									ConstantMethodHandle cmh = (ConstantMethodHandle) c;
-									int refIndex = cmh.getReferenceIndex();
-									ConstantCP methodRef = (ConstantCP) cp.getConstant(refIndex);
+		int bootstrapIndex = bootstrapMethodTable.getBootstrapIndex(((INVOKEDYNAMIC) prevInst).getIndex());
+		if (!bootstrapMethodTable.isLambdaMetafactory(bootstrapIndex)) {
+			return;
+		}
+		ConstantMethodHandle methodHandle = bootstrapMethodTable.getCallMethodHandle(bootstrapIndex);
+		if (methodHandle == null) {
+			return;
+		}
 
-									// Get the actual referenced class and method
-									String refClassName = methodRef.getClass(cp.getConstantPool()).replace('/', '.');
-									ConstantNameAndType nt = (ConstantNameAndType)
-											cp.getConstant(methodRef.getNameAndTypeIndex());
-									String refMethodName = ((ConstantUtf8)
-																	cp.getConstant(nt.getNameIndex())).getBytes();
+		// Get the actual referenced class and method
+		ConstantCP methodRef = (ConstantCP) cp.getConstant(methodHandle.getReferenceIndex());
+		String refClassName = methodRef.getClass(cp.getConstantPool()).replace('/', '.');
+		ConstantNameAndType nt = (ConstantNameAndType) cp.getConstant(methodRef.getNameAndTypeIndex());
+		String refMethodName = nt.getName(cp.getConstantPool());
+		String refMethodArgs = CommonUtil.argumentList(Type.getArgumentTypes(nt.getSignature(cp.getConstantPool())));
 
-									// Add both the map() call and the actual method reference
-									addMethodCalls("M", className, methodName, CommonUtil.argumentList(i.getArgumentTypes(cp)));
-									addMethodCalls("M", refClassName, refMethodName, "()");
-									return;
-								}
-							}
-						}
-					}
-				}
-			}
-		}
-		// Default handling if not a method reference
-		addMethodCalls("M", className, methodName, CommonUtil.argumentList(i.getArgumentTypes(cp)));
+		addMethodCalls(getMethodReferenceCallType(methodHandle.getReferenceKind()), refClassName, refMethodName, refMethodArgs);
 	}
 
-	private InstructionHandle findCurrentInstructionHandle(Instruction inst) {
-		if (il == null) return null;
-
-		for (InstructionHandle ih = il.getStart(); ih != null; ih = ih.getNext()) {
-			if (ih.getInstruction() == inst) {
-				return ih;
-			}
+	// the call type of the target method is the invocation used by its method handle
+	private static String getMethodReferenceCallType(int referenceKind) {
+		switch (referenceKind) {
+			case Const.REF_invokeStatic:
+				return CallTypeEnum.CTE_RAW_INVOKE_STATIC.getType();
+			case Const.REF_invokeInterface:
+				return CallTypeEnum.CTE_RAW_INVOKE_INTERFACE.getType();
+			case Const.REF_invokeSpecial:
+			case Const.REF_newInvokeSpecial:
+				return CallTypeEnum.CTE_RAW_INVOKE_SPECIAL.getType();
+			default:
+				return CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL.getType();
 		}
-		return null;
 	}
-}
\ No newline at end of file
+}
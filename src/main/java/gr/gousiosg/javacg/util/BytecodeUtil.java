@@ -0,0 +1,90 @@
+package gr.gousiosg.javacg.util;
+
+import org.apache.bcel.Const;
+
+import java.nio.ByteBuffer;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: walk the instructions of the code of a method by their length, the instruction objects are not created
+ */
+
+public class BytecodeUtil {
+
+    /**
+     * get the length of the instruction
+     *
+     * @param buffer    the buffer which contains the code
+     * @param codeStart the offset of the first instruction of the code in the buffer
+     * @param pos       the offset of the instruction in the buffer
+     * @return the length of the instruction, with its operands
+     */
+    public static int getInstructionLength(ByteBuffer buffer, int codeStart, int pos) {
+        int opcode = buffer.get(pos) & 0xff;
+        switch (opcode) {
+            case Const.BIPUSH:
+            case Const.LDC:
+            case Const.ILOAD:
+            case Const.LLOAD:
+            case Const.FLOAD:
+            case Const.DLOAD:
+            case Const.ALOAD:
+            case Const.ISTORE:
+            case Const.LSTORE:
+            case Const.FSTORE:
+            case Const.DSTORE:
+            case Const.ASTORE:
+            case Const.RET:
+            case Const.NEWARRAY:
+                return 2;
+            case Const.SIPUSH:
+            case Const.LDC_W:
+            case Const.LDC2_W:
+            case Const.IINC:
+            case Const.GETSTATIC:
+            case Const.PUTSTATIC:
+            case Const.GETFIELD:
+            case Const.PUTFIELD:
+            case Const.INVOKEVIRTUAL:
+            case Const.INVOKESPECIAL:
+            case Const.INVOKESTATIC:
+            case Const.NEW:
+            case Const.ANEWARRAY:
+            case Const.CHECKCAST:
+            case Const.INSTANCEOF:
+                return 3;
+            case Const.MULTIANEWARRAY:
+                return 4;
+            case Const.INVOKEINTERFACE:
+            case Const.INVOKEDYNAMIC:
+            case Const.GOTO_W:
+            case Const.JSR_W:
+                return 5;
+            case Const.WIDE:
+                return (buffer.get(pos + 1) & 0xff) == Const.IINC ? 6 : 4;
+            case Const.TABLESWITCH: {
+                int base = switchOperandStart(codeStart, pos);
+                int low = buffer.getInt(base + 4);
+                int high = buffer.getInt(base + 8);
+                return base + 12 + (high - low + 1) * 4 - pos;
+            }
+            case Const.LOOKUPSWITCH: {
+                int base = switchOperandStart(codeStart, pos);
+                int npairs = buffer.getInt(base + 4);
+                return base + 8 + npairs * 8 - pos;
+            }
+            default:
+                // the branch instructions (IFEQ to JSR, IFNULL, IFNONNULL) have a 2 bytes offset, the others have no operand
+                if ((opcode >= Const.IFEQ && opcode <= Const.JSR) || opcode == Const.IFNULL || opcode == Const.IFNONNULL) {
+                    return 3;
+                }
+                return 1;
+        }
+    }
+
+    // the operands of tableswitch and lookupswitch are aligned to 4 bytes from the start of the code
+    private static int switchOperandStart(int codeStart, int pos) {
+        return codeStart + ((pos - codeStart + 4) & ~3);
+    }
+}
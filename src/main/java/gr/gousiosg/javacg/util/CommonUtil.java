@@ -1,106 +1,204 @@
-package gr.gousiosg.javacg.util;
-
-import gr.gousiosg.javacg.common.Constants;
-import org.apache.bcel.classfile.JavaClass;
-import org.apache.bcel.classfile.LineNumberTable;
-import org.apache.bcel.classfile.Method;
-import org.apache.bcel.generic.Type;
-
-import java.io.File;
-import java.io.IOException;
-
-/**
- * @author adrninistrator
- * @date 2021/6/22
- * @description:
- */
-
-public class CommonUtil {
-
-    public static boolean isInnerAnonymousClass(String className) {
-        if (!className.contains("$")) {
-            return false;
-        }
-
-        String[] array = className.split("\\$");
-        if (array.length != 2) {
-            return false;
-        }
-
-        if (!isNumStr(array[1])) {
-            return false;
-        }
-        return true;
-    }
-
-    public static boolean isNumStr(String str) {
-        if (str == null || str.isEmpty()) {
-            return false;
-        }
-
-        char[] charArray = str.toCharArray();
-        for (char ch : charArray) {
-            if (ch < '0' || ch > '9') {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    public static String argumentList(Type[] arguments) {
-        StringBuilder sb = new StringBuilder("(");
-        for (int i = 0; i < arguments.length; i++) {
-            if (i != 0) {
-                sb.append(",");
-            }
-            sb.append(arguments[i].toString());
-        }
-        sb.append(")");
-        return sb.toString();
-    }
-
-    public static String getLambdaOrigMethod(String lambdaMethod) {
-        int indexLastLambda = lambdaMethod.lastIndexOf(Constants.FLAG_LAMBDA);
-        String tmpString = lambdaMethod.substring(indexLastLambda + Constants.FLAG_LAMBDA_LENGTH);
-        int indexDollar = tmpString.indexOf('$');
-        return tmpString.substring(0, indexDollar);
-    }
-
-    public static int getFuncStartSourceLine(Method method) {
-        LineNumberTable lineNumberTable = method.getLineNumberTable();
-        if (lineNumberTable == null || lineNumberTable.getLineNumberTable() == null) {
-            return Constants.DEFAULT_LINE_NUMBER;
-        }
-
-        return lineNumberTable.getLineNumberTable()[0].getLineNumber();
-    }
-
-    private static int getInitFuncStartSourceLine(JavaClass javaClass) {
-        Method[] methods = javaClass.getMethods();
-        if (methods == null) {
-            return Constants.DEFAULT_LINE_NUMBER;
-        }
-
-        for (Method method : methods) {
-            if (Constants.METHOD_NAME_INIT.equals(method.getName())) {
-                return CommonUtil.getFuncStartSourceLine(method);
-            }
-        }
-
-        return Constants.DEFAULT_LINE_NUMBER;
-    }
-
-    public static String getCanonicalPath(String filePath) {
-        try {
-            return new File(filePath).getCanonicalPath();
-        } catch (IOException e) {
-            e.printStackTrace();
-            return null;
-        }
-    }
-
-    private CommonUtil() {
-        throw new IllegalStateException("illegal");
-    }
-}
+package gr.gousiosg.javacg.util;
+
+import gr.gousiosg.javacg.common.Constants;
+import org.apache.bcel.classfile.JavaClass;
+import org.apache.bcel.classfile.LineNumberTable;
+import org.apache.bcel.classfile.Method;
+import org.apache.bcel.generic.Type;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+/**
+ * @author adrninistrator
+ * @date 2021/6/22
+ * @description:
+ */
+
+public class CommonUtil {
+
+    public static boolean isInnerAnonymousClass(String className) {
+        if (!className.contains("$")) {
+            return false;
+        }
+
+        String[] array = className.split("\\$");
+        if (array.length != 2) {
+            return false;
+        }
+
+        if (!isNumStr(array[1])) {
+            return false;
+        }
+        return true;
+    }
+
+    public static boolean isNumStr(String str) {
+        if (str == null || str.isEmpty()) {
+            return false;
+        }
+
+        char[] charArray = str.toCharArray();
+        for (char ch : charArray) {
+            if (ch < '0' || ch > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static String argumentList(Type[] arguments) {
+        StringBuilder sb = new StringBuilder("(");
+        for (int i = 0; i < arguments.length; i++) {
+            if (i != 0) {
+                sb.append(",");
+            }
+            sb.append(arguments[i].toString());
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+
+    // like "(int,java.lang.String[])" for "(I[Ljava/lang/String;)V", the same as argumentList(Type.getArgumentTypes(methodDescriptor))
+    public static String argumentList(String methodDescriptor) {
+        if (methodDescriptor.startsWith("()")) {
+            return "()";
+        }
+
+        StringBuilder sb = new StringBuilder(methodDescriptor.length() + 16);
+        sb.append('(');
+        int pos = 1;
+        while (methodDescriptor.charAt(pos) != ')') {
+            if (pos != 1) {
+                sb.append(',');
+            }
+            pos = appendTypeName(sb, methodDescriptor, pos);
+        }
+        sb.append(')');
+        return sb.toString();
+    }
+
+    // like "java.lang.String[]" for "[Ljava/lang/String;", the same as Type.getType(signature).toString()
+    public static String typeName(String signature) {
+        char typeChar = signature.charAt(0);
+        if (typeChar != 'L' && typeChar != '[') {
+            return getBasicTypeName(typeChar);
+        }
+        StringBuilder sb = new StringBuilder(signature.length() + 8);
+        appendTypeName(sb, signature, 0);
+        return sb.toString();
+    }
+
+    // like "java.lang.String" for "(I)Ljava/lang/String;", the same as Type.getReturnType(methodDescriptor).toString()
+    public static String returnTypeName(String methodDescriptor) {
+        return typeName(methodDescriptor.substring(methodDescriptor.lastIndexOf(')') + 1));
+    }
+
+    // append the name of the type at the position of the signature, return the position after the type
+    private static int appendTypeName(StringBuilder sb, String signature, int pos) {
+        int dimensions = 0;
+        while (signature.charAt(pos) == '[') {
+            dimensions++;
+            pos++;
+        }
+
+        char typeChar = signature.charAt(pos);
+        if (typeChar == 'L') {
+            int end = signature.indexOf(';', pos);
+            for (int i = pos + 1; i < end; i++) {
+                char ch = signature.charAt(i);
+                sb.append(ch == '/' ? '.' : ch);
+            }
+            pos = end + 1;
+        } else {
+            sb.append(getBasicTypeName(typeChar));
+            pos++;
+        }
+
+        for (int i = 0; i < dimensions; i++) {
+            sb.append("[]");
+        }
+        return pos;
+    }
+
+    private static String getBasicTypeName(char typeChar) {
+        switch (typeChar) {
+            case 'Z':
+                return "boolean";
+            case 'B':
+                return "byte";
+            case 'C':
+                return "char";
+            case 'S':
+                return "short";
+            case 'I':
+                return "int";
+            case 'J':
+                return "long";
+            case 'F':
+                return "float";
+            case 'D':
+                return "double";
+            case 'V':
+                return "void";
+            default:
+                throw new IllegalArgumentException("illegal type in signature: " + typeChar);
+        }
+    }
+
+    public static String getLambdaOrigMethod(String lambdaMethod) {
+        int indexLastLambda = lambdaMethod.lastIndexOf(Constants.FLAG_LAMBDA);
+        String tmpString = lambdaMethod.substring(indexLastLambda + Constants.FLAG_LAMBDA_LENGTH);
+        int indexDollar = tmpString.indexOf('$');
+        return tmpString.substring(0, indexDollar);
+    }
+
+    public static int getFuncStartSourceLine(Method method) {
+        LineNumberTable lineNumberTable = method.getLineNumberTable();
+        if (lineNumberTable == null || lineNumberTable.getLineNumberTable() == null) {
+            return Constants.DEFAULT_LINE_NUMBER;
+        }
+
+        return lineNumberTable.getLineNumberTable()[0].getLineNumber();
+    }
+
+    private static int getInitFuncStartSourceLine(JavaClass javaClass) {
+        Method[] methods = javaClass.getMethods();
+        if (methods == null) {
+            return Constants.DEFAULT_LINE_NUMBER;
+        }
+
+        for (Method method : methods) {
+            if (Constants.METHOD_NAME_INIT.equals(method.getName())) {
+                return CommonUtil.getFuncStartSourceLine(method);
+            }
+        }
+
+        return Constants.DEFAULT_LINE_NUMBER;
+    }
+
+    public static String genClassKey(String entryName, long crc, long size) {
+        return entryName + ":" + Long.toHexString(crc) + ":" + size;
+    }
+
+    public static String genClassKey(String entryName, byte[] classBytes) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(classBytes, 0, classBytes.length);
+        return genClassKey(entryName, crc32.getValue(), classBytes.length);
+    }
+
+    public static String getCanonicalPath(String filePath) {
+        try {
+            return new File(filePath).getCanonicalPath();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    private CommonUtil() {
+        throw new IllegalStateException("illegal");
+    }
+}
 // added end
\ No newline at end of file
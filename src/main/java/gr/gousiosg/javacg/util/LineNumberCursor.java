@@ -0,0 +1,95 @@
+package gr.gousiosg.javacg.util;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the source lines of the instructions of one method, built once from the LineNumberTable entries of the method
+ * <p>
+ * the instructions are visited in the order of their offsets, so when the start pcs are increasing the entry of the current
+ * instruction is found by moving a cursor forward, otherwise each offset is searched like LineNumberTable.getSourceLine(), the
+ * results are the same
+ */
+
+public class LineNumberCursor {
+
+    private final int[] startPcs;
+
+    private final int[] lineNumbers;
+
+    private final int size;
+
+    // if the start pcs are strictly increasing
+    private final boolean ordered;
+
+    // index of the last entry whose start pc is not greater than lastPos, -1 when there is none
+    private int cursor = -1;
+
+    private int lastPos = -1;
+
+    /**
+     * @param startPcs    the start pcs of the entries, in the order of the LineNumberTable attributes
+     * @param lineNumbers the line numbers of the entries
+     * @param size        the number of the entries
+     */
+    public LineNumberCursor(int[] startPcs, int[] lineNumbers, int size) {
+        this.startPcs = startPcs;
+        this.lineNumbers = lineNumbers;
+        this.size = size;
+
+        boolean increasing = true;
+        for (int i = 1; i < size; i++) {
+            if (startPcs[i] <= startPcs[i - 1]) {
+                increasing = false;
+                break;
+            }
+        }
+        ordered = increasing;
+    }
+
+    // the source line of the instruction at the offset, -1 when not found
+    public int getSourceLine(int pos) {
+        if (!ordered) {
+            return searchSourceLine(pos);
+        }
+
+        if (pos < lastPos) {
+            // not expected, the cursor starts again
+            cursor = -1;
+        }
+        lastPos = pos;
+        while (cursor + 1 < size && startPcs[cursor + 1] <= pos) {
+            cursor++;
+        }
+        return cursor < 0 ? -1 : lineNumbers[cursor];
+    }
+
+    // the same as LineNumberTable.getSourceLine(), the entries may not be ordered when there are several tables
+    private int searchSourceLine(int pos) {
+        int l = 0;
+        int r = size - 1;
+        if (r < 0) {
+            return -1;
+        }
+        int minIndex = -1;
+        int min = -1;
+        do {
+            int i = (l + r) >>> 1;
+            int j = startPcs[i];
+            if (j == pos) {
+                return lineNumbers[i];
+            } else if (pos < j) {
+                r = i - 1;
+            } else {
+                l = i + 1;
+            }
+            if (j < pos && j > min) {
+                min = j;
+                minIndex = i;
+            }
+        } while (l <= r);
+        if (minIndex < 0) {
+            return -1;
+        }
+        return lineNumbers[minIndex];
+    }
+}
@@ -0,0 +1,248 @@
+package gr.gousiosg.javacg;
+
+import gr.gousiosg.javacg.output.CallGraphWriter;
+import gr.gousiosg.javacg.stat.JCallGraph;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the fixture jars of the tests, compiled from sources by the javac of the build, and the runs of JCallGraph with
+ * system properties which are cleared after each run
+ */
+
+public class TestFixtures {
+
+    // fixed time of the jar entries, the CRC and size of a class only change with its source
+    private static final long ENTRY_TIME = 1262304000000L;
+
+    // the classes between A0 and Z of the app fixture, more than the classes visited ahead of the merge with one thread
+    public static final int CHAIN_CLASS_NUM = 20;
+
+    private TestFixtures() {
+    }
+
+    /**
+     * the sources of the app fixture: Runnable/Callable/Thread classes, an interface with implementations, an abstract class with
+     * children, lambdas, method references and a chain of classes calling each other from A0 to Z
+     *
+     * @param withFirstRunnableCall if A0 creates the Runnable class R, A0 is visited before the other classes
+     */
+    public static Map<String, String> genAppSources(boolean withFirstRunnableCall) {
+        Map<String, String> sourceMap = new LinkedHashMap<>();
+        sourceMap.put("p.A0", "package p;\n" +
+                "public class A0 {\n" +
+                "    public void start() {\n" +
+                (withFirstRunnableCall ? "        new q.R().run();\n" : "        System.out.println(\"no task\");\n") +
+                "        new p.B00().step(0);\n" +
+                "    }\n" +
+                "}\n");
+        for (int i = 0; i < CHAIN_CLASS_NUM; i++) {
+            String next = i + 1 < CHAIN_CLASS_NUM ? String.format("new p.B%02d().step(n + 1)", i + 1) : "n";
+            sourceMap.put(String.format("p.B%02d", i), "package p;\n" +
+                    String.format("public class B%02d {\n", i) +
+                    "    public int step(int n) {\n" +
+                    "        return " + next + ";\n" +
+                    "    }\n" +
+                    "}\n");
+        }
+        sourceMap.put("p.Z", "package p;\n" +
+                "import java.util.*;\n" +
+                "import java.util.concurrent.*;\n" +
+                "public class Z {\n" +
+                "    public void start() throws Exception {\n" +
+                "        new Thread(new q.R()).start();\n" +
+                "        new q.T().start();\n" +
+                "        Executors.newSingleThreadExecutor().submit(new q.C()).get();\n" +
+                "        q.Shape shape = new q.Square();\n" +
+                "        System.out.println(shape.area() + new q.Circle().area());\n" +
+                "        List<String> names = new ArrayList<>(Arrays.asList(\"a\", \"bb\"));\n" +
+                "        names.stream().map(String::trim).filter(s -> !s.isEmpty()).forEach(System.out::println);\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.R", "package q;\n" +
+                "public class R implements Runnable {\n" +
+                "    public void run() {\n" +
+                "        System.out.println(\"run\");\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.C", "package q;\n" +
+                "public class C implements java.util.concurrent.Callable<String> {\n" +
+                "    public String call() {\n" +
+                "        return String.valueOf(System.nanoTime());\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.T", "package q;\n" +
+                "public class T extends Thread {\n" +
+                "    public void run() {\n" +
+                "        System.out.println(getName());\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.Shape", "package q;\n" +
+                "public interface Shape {\n" +
+                "    double area();\n" +
+                "}\n");
+        sourceMap.put("q.AbstractShape", "package q;\n" +
+                "public abstract class AbstractShape implements Shape {\n" +
+                "    protected abstract double size();\n" +
+                "    public double area() {\n" +
+                "        return size() * size();\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.Square", "package q;\n" +
+                "public class Square extends AbstractShape {\n" +
+                "    protected double size() {\n" +
+                "        return 2;\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.Circle", "package q;\n" +
+                "public class Circle extends AbstractShape {\n" +
+                "    protected double size() {\n" +
+                "        return Math.sqrt(Math.PI);\n" +
+                "    }\n" +
+                "}\n");
+        return sourceMap;
+    }
+
+    /**
+     * compile the sources into a jar, the classes are added in the order of their names
+     *
+     * @param sourceMap     class name -> source
+     * @param classPathJars  the jars of the classes used by the sources
+     */
+    public static void compileJar(Path jarPath, Map<String, String> sourceMap, Path... classPathJars) throws IOException {
+        compileJar(jarPath, "", sourceMap, classPathJars);
+    }
+
+    /**
+     * compile the sources into a jar, the class entries are under the directory like "BOOT-INF/classes/"
+     *
+     * @param entryPrefix empty, or the directory of the classes ending with "/"
+     */
+    public static void compileJar(Path jarPath, String entryPrefix, Map<String, String> sourceMap, Path... classPathJars)
+            throws IOException {
+        JavaCompiler javaCompiler = ToolProvider.getSystemJavaCompiler();
+        if (javaCompiler == null) {
+            throw new IllegalStateException("java compiler not found, the tests should be run with a JDK");
+        }
+
+        Path tmpDir = Files.createTempDirectory("javacg-test-src");
+        try {
+            Path sourceDir = tmpDir.resolve("src");
+            Path classDir = tmpDir.resolve("classes");
+            Files.createDirectories(classDir);
+
+            List<String> compilerArgs = new ArrayList<>();
+            compilerArgs.add("-source");
+            compilerArgs.add("8");
+            compilerArgs.add("-target");
+            compilerArgs.add("8");
+            compilerArgs.add("-nowarn");
+            compilerArgs.add("-Xlint:-options");
+            if (classPathJars.length > 0) {
+                compilerArgs.add("-classpath");
+                compilerArgs.add(Stream.of(classPathJars).map(Path::toString).collect(Collectors.joining(File.pathSeparator)));
+            }
+            compilerArgs.add("-d");
+            compilerArgs.add(classDir.toString());
+            for (Map.Entry<String, String> entry : sourceMap.entrySet()) {
+                Path sourcePath = sourceDir.resolve(entry.getKey().replace('.', File.separatorChar) + ".java");
+                Files.createDirectories(sourcePath.getParent());
+                Files.write(sourcePath, entry.getValue().getBytes(StandardCharsets.UTF_8));
+                compilerArgs.add(sourcePath.toString());
+            }
+
+            if (javaCompiler.run(null, null, null, compilerArgs.toArray(new String[0])) != 0) {
+                throw new IllegalStateException("compile test sources fail: " + jarPath);
+            }
+
+            List<Path> classFileList;
+            try (Stream<Path> stream = Files.walk(classDir)) {
+                classFileList = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+
+            try (JarOutputStream jarOut = new JarOutputStream(new FileOutputStream(jarPath.toFile()))) {
+                for (Path classFile : classFileList) {
+                    JarEntry jarEntry = new JarEntry(entryPrefix + classDir.relativize(classFile).toString().replace(File.separatorChar, '/'));
+                    jarEntry.setTime(ENTRY_TIME);
+                    jarOut.putNextEntry(jarEntry);
+                    jarOut.write(Files.readAllBytes(classFile));
+                    jarOut.closeEntry();
+                }
+            }
+        } finally {
+            deleteDir(tmpDir);
+        }
+    }
+
+    /**
+     * run JCallGraph with "-Doutput.file" and the other system properties, the properties are cleared after the run
+     *
+     * @param extraWriter also receives the call graph when not null
+     */
+    public static void runCallGraph(Path outputFile, Map<String, String> propertyMap, CallGraphWriter extraWriter, Path... inputs) {
+        System.setProperty("output.file", outputFile.toString());
+        for (Map.Entry<String, String> entry : propertyMap.entrySet()) {
+            System.setProperty(entry.getKey(), entry.getValue());
+        }
+        try {
+            String[] args = new String[inputs.length];
+            for (int i = 0; i < inputs.length; i++) {
+                args[i] = inputs[i].toString();
+            }
+            if (!JCallGraph.run(args, extraWriter)) {
+                throw new IllegalStateException("JCallGraph.run fail: " + propertyMap);
+            }
+        } finally {
+            System.clearProperty("output.file");
+            for (String key : propertyMap.keySet()) {
+                System.clearProperty(key);
+            }
+        }
+    }
+
+    // run JCallGraph like runCallGraph, the lines printed to System.out during the run are returned
+    public static List<String> runCallGraphForLog(Path outputFile, Map<String, String> propertyMap, Path... inputs) throws IOException {
+        PrintStream originalOut = System.out;
+        ByteArrayOutputStream logOut = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(logOut, true, StandardCharsets.UTF_8.name()));
+        try {
+            runCallGraph(outputFile, propertyMap, null, inputs);
+        } finally {
+            System.setOut(originalOut);
+        }
+        return Arrays.asList(new String(logOut.toByteArray(), StandardCharsets.UTF_8).split("\\r?\\n"));
+    }
+
+    public static List<String> readLines(Path filePath) throws IOException {
+        return Files.readAllLines(filePath, StandardCharsets.UTF_8);
+    }
+
+    public static void deleteDir(Path dir) throws IOException {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> stream = Files.walk(dir)) {
+            stream.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+}
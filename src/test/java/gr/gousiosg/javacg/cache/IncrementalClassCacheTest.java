@@ -0,0 +1,111 @@
+package gr.gousiosg.javacg.cache;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: a run with "-Dincremental.cache.file" after the jar is changed writes the same call graph as a clean run
+ */
+
+public class IncrementalClassCacheTest {
+
+    private static final String RUNNABLE_FIRST_CALL = "M:q.R:<init>() (RIR)q.R:run() 0 1";
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-cache-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    // the first caller of the Runnable class is changed, the first call method call comes from the cached result of another class
+    @Test
+    public void testFirstCallerChanged() throws IOException {
+        List<String> cleanLines = runCachedThenChanged(TestFixtures.genAppSources(true), Collections.emptyMap(),
+                TestFixtures.genAppSources(false), Collections.emptyMap());
+        assertTrue(cleanLines.contains(RUNNABLE_FIRST_CALL));
+    }
+
+    // the results cached without the source lines are not used by a run with the source lines
+    @Test
+    public void testLineNumberChanged() throws IOException {
+        List<String> cleanLines = runCachedThenChanged(TestFixtures.genAppSources(true), Collections.singletonMap("line.number", "false"),
+                TestFixtures.genAppSources(true), Collections.emptyMap());
+        assertTrue(cleanLines.contains("M:p.A0:start() (M)p.B00:step(int) 5 1"));
+    }
+
+    @Test
+    public void testClassBackendChanged() throws IOException {
+        runCachedThenChanged(TestFixtures.genAppSources(true), Collections.singletonMap("class.backend", "streaming"),
+                TestFixtures.genAppSources(true), Collections.emptyMap());
+    }
+
+    // the results cached with the calls of the excluded classes removed are not used by a run without the rules, and the reverse
+    @Test
+    public void testClassFilterChanged() throws IOException {
+        Path ruleFile = tmpDir.resolve("class-filter.txt");
+        Files.write(ruleFile, Arrays.asList("-q.", "+q.R"), StandardCharsets.UTF_8);
+        Map<String, String> filterPropertyMap = Collections.singletonMap("class.filter.file", ruleFile.toString());
+
+        List<String> cleanLines = runCachedThenChanged(TestFixtures.genAppSources(true), filterPropertyMap,
+                TestFixtures.genAppSources(true), Collections.emptyMap());
+        assertTrue(cleanLines.contains("M:p.Z:start() (O)q.T:<init>() 7 1"));
+
+        List<String> filteredLines = runCachedThenChanged(TestFixtures.genAppSources(true), Collections.emptyMap(),
+                TestFixtures.genAppSources(true), filterPropertyMap);
+        assertTrue(filteredLines.contains(RUNNABLE_FIRST_CALL));
+        assertTrue(filteredLines.stream().noneMatch(line -> line.contains("q.T:")));
+    }
+
+    /**
+     * run with the cache on the first sources, then check that a run with the cache on the second sources writes the same call
+     * graph as a run without the cache
+     *
+     * @return the lines of the clean run
+     */
+    private List<String> runCachedThenChanged(Map<String, String> firstSourceMap, Map<String, String> firstPropertyMap,
+                                              Map<String, String> secondSourceMap, Map<String, String> secondPropertyMap) throws IOException {
+        Path jarPath = tmpDir.resolve("app.jar");
+        String cacheFilePath = tmpDir.resolve("cache.bin").toString();
+
+        TestFixtures.compileJar(jarPath, firstSourceMap);
+        Map<String, String> firstCachePropertyMap = new HashMap<>(firstPropertyMap);
+        firstCachePropertyMap.put("incremental.cache.file", cacheFilePath);
+        TestFixtures.runCallGraph(tmpDir.resolve("first.txt"), firstCachePropertyMap, null, jarPath);
+
+        TestFixtures.compileJar(jarPath, secondSourceMap);
+        Path cleanOutputFile = tmpDir.resolve("clean.txt");
+        TestFixtures.runCallGraph(cleanOutputFile, secondPropertyMap, null, jarPath);
+
+        Map<String, String> secondCachePropertyMap = new HashMap<>(secondPropertyMap);
+        secondCachePropertyMap.put("incremental.cache.file", cacheFilePath);
+        Path incrementalOutputFile = tmpDir.resolve("incremental.txt");
+        TestFixtures.runCallGraph(incrementalOutputFile, secondCachePropertyMap, null, jarPath);
+
+        List<String> cleanLines = TestFixtures.readLines(cleanOutputFile);
+        assertEquals(cleanLines, TestFixtures.readLines(incrementalOutputFile));
+        return cleanLines;
+    }
+}
@@ -0,0 +1,124 @@
+package gr.gousiosg.javacg.collection;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the sets of SpillableIntSetMap with a max size of a few KB are the same as the sets of a HashMap, after the
+ * partitions are spilled, loaded back and spilled again
+ */
+
+public class SpillableIntSetMapTest {
+
+    // about the size of the maps of 4 partitions
+    private static final long MAX_MEMORY_BYTES = 16 * 1024;
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-spill-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    // a value added to a spilled partition is merged with the runs of its file when the partition is read back
+    @Test
+    public void testAddToSpilledPartition() throws IOException {
+        try (SpillableIntSetMap map = new SpillableIntSetMap(MAX_MEMORY_BYTES, tmpDir.toFile())) {
+            map.add(5, 1);
+            map.add(5, 2);
+            // the partitions 1..7 push the partition 0 out of memory
+            for (int key = 1024; key < 8 * 1024; key += 64) {
+                map.add(key, key);
+            }
+            assertTrue(map.getSpillNum() > 0);
+
+            map.add(5, 3);
+            map.add(6, 4);
+            assertArrayEquals(new int[]{1, 2, 3}, sorted(map.get(5)));
+            assertArrayEquals(new int[]{4}, sorted(map.get(6)));
+            assertNull(map.get(7));
+            assertTrue(map.getLoadNum() > 0);
+        }
+    }
+
+    @Test
+    public void testRandomAddGet() throws IOException {
+        Random random = new Random(20261018L);
+        Map<Integer, Set<Integer>> expectedMap = new HashMap<>();
+        File spillDir = tmpDir.toFile();
+        try (SpillableIntSetMap map = new SpillableIntSetMap(MAX_MEMORY_BYTES, spillDir)) {
+            for (int i = 0; i < 50000; i++) {
+                // 11 partitions, the keys of the partitions in use change like the classes of the jars
+                int key = random.nextInt(3 * 1024) + (i / 10000) * 1024 * 2;
+                if (random.nextInt(8) == 0) {
+                    assertSameSet(expectedMap.get(key), map.get(key));
+                    continue;
+                }
+                int value = random.nextInt(200);
+                map.add(key, value);
+                expectedMap.computeIfAbsent(key, k -> new HashSet<>()).add(value);
+            }
+            assertTrue(map.getSpillNum() > 10);
+            assertTrue(map.getLoadNum() > 10);
+
+            for (int key = 0; key < 12 * 1024; key++) {
+                assertSameSet(expectedMap.get(key), map.get(key));
+            }
+        }
+        // the spill files are deleted by close()
+        String[] fileNames = spillDir.list();
+        assertEquals(0, fileNames == null ? 0 : fileNames.length);
+    }
+
+    @Test
+    public void testNoLimit() throws IOException {
+        try (SpillableIntSetMap map = new SpillableIntSetMap(0, tmpDir.toFile())) {
+            for (int key = 0; key < 8 * 1024; key++) {
+                map.add(key, key % 7);
+            }
+            assertEquals(0, map.getSpillNum());
+            assertArrayEquals(new int[]{(8 * 1024 - 1) % 7}, sorted(map.get(8 * 1024 - 1)));
+        }
+        assertEquals(0, tmpDir.toFile().list().length);
+    }
+
+    private static void assertSameSet(Set<Integer> expectedSet, IntHashSet set) {
+        if (expectedSet == null) {
+            assertNull(set);
+            return;
+        }
+        int[] expected = expectedSet.stream().mapToInt(Integer::intValue).sorted().toArray();
+        assertArrayEquals(expected, sorted(set));
+    }
+
+    private static int[] sorted(IntHashSet set) {
+        int[] values = set.toArray();
+        Arrays.sort(values);
+        return values;
+    }
+}
@@ -0,0 +1,67 @@
+package gr.gousiosg.javacg.filter;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the exclude rules of "-Dclass.filter.file" at the selection of the class entries, for the classes at the root of
+ * the jars and under the class directories of the archive layouts
+ */
+
+public class ClassFilterTest {
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-filter-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    @Test
+    public void testEntryClassName() {
+        assertEquals("fx.b.Other", ClassFilter.getEntryClassName("fx/b/Other.class"));
+        assertEquals("fx.b.Other", ClassFilter.getEntryClassName("BOOT-INF/classes/fx/b/Other.class"));
+        assertEquals("fx.b.Other", ClassFilter.getEntryClassName("WEB-INF/classes/fx/b/Other.class"));
+        assertEquals("fx.b.Other", ClassFilter.getEntryClassName("META-INF/versions/11/fx/b/Other.class"));
+        assertEquals("fx.b.Other", ClassFilter.getEntryClassName("BOOT-INF/classes/META-INF/versions/9/fx/b/Other.class"));
+        assertEquals("META-INF.versions", ClassFilter.getEntryClassName("META-INF/versions"));
+    }
+
+    // the excluded classes of a spring boot fat jar are not visited, they are counted by the rule at the class stage
+    @Test
+    public void testBootInfClassesNotVisited() throws IOException {
+        Path jarPath = tmpDir.resolve("boot.jar");
+        TestFixtures.compileJar(jarPath, "BOOT-INF/classes/", TestFixtures.genAppSources(true));
+        Path ruleFile = tmpDir.resolve("class-filter.txt");
+        Files.write(ruleFile, Collections.singletonList("-q."), StandardCharsets.UTF_8);
+
+        List<String> logLines = TestFixtures.runCallGraphForLog(tmpDir.resolve("graph.txt"),
+                Collections.singletonMap("class.filter.file", ruleFile.toString()), jarPath);
+        assertTrue(logLines.contains("handle class: p.A0"));
+        assertFalse(logLines.stream().anyMatch(line -> line.startsWith("handle class: q.")));
+
+        String statistic = logLines.stream().filter(line -> line.startsWith("class filter rule: -q. ")).findFirst().orElse("");
+        assertTrue(statistic, statistic.startsWith("class filter rule: -q. classes: "));
+        assertFalse(statistic, statistic.startsWith("class filter rule: -q. classes: 0 "));
+    }
+}
@@ -0,0 +1,178 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.enums.CallTypeEnum;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the chains and the trees of the callers on a small index built by hand: a cycle between two callers, a caller
+ * calling the target from two lines, and a chain of callers deeper than the max depth
+ */
+
+public class CallChainQueryTest {
+
+    // the callers from a.D0:d() to a.D5:d()
+    private static final int DEEP_CALLER_NUM = 6;
+
+    private static final String CYCLE_CHAIN = "a.X:t() <- (M)a.A:f() 10 <- (M)a.C:h() 20";
+
+    private CallGraphIndex callGraphIndex;
+
+    @Before
+    public void setUp() {
+        CallGraphIndexBuilder builder = new CallGraphIndexBuilder();
+        // a.A:f() calls the target from 2 lines, a.A:f() and a.C:h() call each other
+        builder.addMethodCall("a.A:f()", "a.X:t()", CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL, 10);
+        builder.addMethodCall("a.A:f()", "a.X:t()", CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL, 11);
+        builder.addMethodCall("a.C:h()", "a.A:f()", CallTypeEnum.CTE_RAW_INVOKE_VIRTUAL, 20);
+        builder.addMethodCall("a.A:f()", "a.C:h()", CallTypeEnum.CTE_RAW_INVOKE_STATIC, 12);
+        for (int i = 0; i < DEEP_CALLER_NUM; i++) {
+            builder.addMethodCall("a.D" + i + ":d()", i == 0 ? "a.X:t()" : "a.D" + (i - 1) + ":d()", CallTypeEnum.CTE_RAW_INVOKE_STATIC,
+                    40 + i);
+        }
+        // an overload of the target called from another package
+        builder.addMethodCall("b.E:e()", "a.X:t(int)", CallTypeEnum.CTE_RAW_INVOKE_INTERFACE, 30);
+        callGraphIndex = builder.build();
+    }
+
+    // the cycle ends the chain, the deep chain is cut at the max depth with " <- ..."
+    @Test
+    public void testChainsWithDepthLimit() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, 3, 1000, CallGraphEdgeFilter.ALL);
+        List<String> lines = writeChains(query, "a.X:t()");
+        assertEquals(Arrays.asList(CYCLE_CHAIN, "a.X:t() <- (S)a.D0:d() 40 <- (S)a.D1:d() 41 <- (S)a.D2:d() 42 <- ..."), lines);
+        assertEquals(2, query.getResultNum());
+        assertFalse(query.isTruncated());
+    }
+
+    @Test
+    public void testChainsWithoutDepthLimit() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 1000, CallGraphEdgeFilter.ALL);
+        List<String> lines = writeChains(query, "a.X:t()");
+        StringBuilder deepChain = new StringBuilder("a.X:t()");
+        for (int i = 0; i < DEEP_CALLER_NUM; i++) {
+            deepChain.append(" <- (S)a.D").append(i).append(":d() ").append(40 + i);
+        }
+        assertEquals(Arrays.asList(CYCLE_CHAIN, deepChain.toString()), lines);
+    }
+
+    // the query stops at the first chain
+    @Test
+    public void testChainsMaxResults() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 1, CallGraphEdgeFilter.ALL);
+        List<String> lines = writeChains(query, "a.X:t()");
+        assertEquals(Arrays.asList(CYCLE_CHAIN), lines);
+        assertEquals(1, query.getResultNum());
+        assertTrue(query.isTruncated());
+    }
+
+    // each caller is written once at its shortest distance to the target, the cycle does not come back to a.A:f()
+    @Test
+    public void testTree() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 1000, CallGraphEdgeFilter.ALL);
+        List<String> expectedLines = new ArrayList<>();
+        expectedLines.add("a.X:t()");
+        expectedLines.add("  <- (M)a.A:f() 10");
+        expectedLines.add("    <- (M)a.C:h() 20");
+        String indent = "  ";
+        for (int i = 0; i < DEEP_CALLER_NUM; i++) {
+            expectedLines.add(indent + "<- (S)a.D" + i + ":d() " + (40 + i));
+            indent += "  ";
+        }
+        assertEquals(expectedLines, writeTree(query, "a.X:t()"));
+        assertEquals(expectedLines.size(), query.getResultNum());
+        assertFalse(query.isTruncated());
+
+        query = new CallChainQuery(callGraphIndex, 2, 1000, CallGraphEdgeFilter.ALL);
+        assertEquals(Arrays.asList("a.X:t()", "  <- (M)a.A:f() 10", "    <- (M)a.C:h() 20", "  <- (S)a.D0:d() 40", "    <- (S)a.D1:d() 41"),
+                writeTree(query, "a.X:t()"));
+    }
+
+    // the search stops when the number of the found methods reaches the max number of results
+    @Test
+    public void testTreeMaxResults() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 3, CallGraphEdgeFilter.ALL);
+        assertEquals(Arrays.asList("a.X:t()", "  <- (M)a.A:f() 10", "  <- (S)a.D0:d() 40"), writeTree(query, "a.X:t()"));
+        assertTrue(query.isTruncated());
+    }
+
+    @Test
+    public void testFindMethodIds() {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 1000, CallGraphEdgeFilter.ALL);
+        assertEquals(1, query.findMethodIds("a.X:t()").length);
+        assertEquals(0, query.findMethodIds("a.X:t(long)").length);
+        // the overloads
+        assertEquals(2, query.findMethodIds("a.X:t").length);
+        // the classes
+        assertEquals(2, query.findMethodIds("a.X").length);
+        assertEquals(1, query.findMethodIds("a.D1").length);
+        // the package
+        assertEquals(4 + DEEP_CALLER_NUM, query.findMethodIds("a.").length);
+        assertEquals(1, query.findMethodIds("b.").length);
+        assertEquals(0, query.findMethodIds("c.").length);
+
+        // the chains of all the methods of the class
+        assertEquals(Arrays.asList("a.X:t(int) <- (I)b.E:e() 30"), writeChains(new CallChainQuery(callGraphIndex, 1, 1000,
+                CallGraphEdgeFilter.ALL), "a.X:t(int)"));
+        List<String> lines = writeChains(new CallChainQuery(callGraphIndex, 1, 1000, CallGraphEdgeFilter.ALL), "a.X");
+        assertEquals(3, lines.size());
+        assertTrue(lines.contains("a.X:t(int) <- (I)b.E:e() 30"));
+    }
+
+    // one query for each line which is not empty, the spaces around the targets are removed
+    @Test
+    public void testTargetsFromReader() throws IOException {
+        CallChainQuery query = new CallChainQuery(callGraphIndex, -1, 1000, CallGraphEdgeFilter.ALL);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8.name())) {
+            query.query(new BufferedReader(new StringReader("a.X:t(int)\n\n  b.E:e()  \nc.Missing\na.X:t(int)\n")), false, out);
+        }
+        assertEquals(Arrays.asList("a.X:t(int) <- (I)b.E:e() 30", "b.E:e()", "a.X:t(int) <- (I)b.E:e() 30"), toLines(output));
+    }
+
+    private List<String> writeChains(CallChainQuery query, String target) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream out = newPrintStream(output)) {
+            query.writeChains(query.findMethodIds(target), out);
+        }
+        return toLines(output);
+    }
+
+    private List<String> writeTree(CallChainQuery query, String target) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream out = newPrintStream(output)) {
+            query.writeTree(query.findMethodIds(target), out);
+        }
+        return toLines(output);
+    }
+
+    private static PrintStream newPrintStream(ByteArrayOutputStream output) {
+        try {
+            return new PrintStream(output, true, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<String> toLines(ByteArrayOutputStream output) {
+        String text = new String(output.toByteArray(), StandardCharsets.UTF_8);
+        return text.isEmpty() ? new ArrayList<>() : Arrays.asList(text.split("\\r?\\n"));
+    }
+}
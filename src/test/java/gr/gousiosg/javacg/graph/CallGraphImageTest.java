@@ -0,0 +1,95 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the graph image written by "-Dgraph.image.file" or by CallGraphImage.write is opened as the same index, and a
+ * changed image is found by the data checksum
+ */
+
+public class CallGraphImageTest {
+
+    private Path tmpDir;
+
+    private Path textFile;
+
+    private Path imageFile;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-image-test");
+        Path jarPath = tmpDir.resolve("app.jar");
+        TestFixtures.compileJar(jarPath, TestFixtures.genAppSources(true));
+
+        textFile = tmpDir.resolve("graph.txt");
+        imageFile = tmpDir.resolve("graph.img");
+        TestFixtures.runCallGraph(textFile, Collections.singletonMap("graph.image.file", imageFile.toString()), null, jarPath);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    @Test
+    public void testOpenImage() throws IOException {
+        CallGraphIndex textIndex = CallGraphIndexLoader.loadText(textFile.toString());
+        assertTrue(CallGraphImage.isImageFile(imageFile.toString()));
+        CallGraphIndex imageIndex = CallGraphImage.open(imageFile.toString(), true);
+        assertImageSameAsIndex(textIndex, imageIndex);
+
+        // the image of a loaded index, opened through the loader
+        Path writtenImageFile = tmpDir.resolve("written.img");
+        CallGraphImage.write(textIndex, writtenImageFile.toString());
+        assertImageSameAsIndex(textIndex, CallGraphIndexLoader.load(writtenImageFile.toString()));
+        assertArrayEquals(Files.readAllBytes(imageFile), Files.readAllBytes(writtenImageFile));
+    }
+
+    @Test
+    public void testChangedImage() throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(imageFile.toFile(), "rw")) {
+            file.seek(file.length() - 1);
+            int lastByte = file.read();
+            file.seek(file.length() - 1);
+            file.write(lastByte ^ 0xff);
+        }
+
+        try {
+            CallGraphImage.open(imageFile.toString(), true);
+            fail("the changed graph image is opened");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("checksum"));
+        }
+    }
+
+    private static void assertImageSameAsIndex(CallGraphIndex callGraphIndex, CallGraphIndex imageIndex) {
+        assertEquals(CallGraphIndexTest.describeEdges(callGraphIndex, false), CallGraphIndexTest.describeEdges(imageIndex, false));
+        assertEquals(CallGraphIndexTest.describeEdges(callGraphIndex, false), CallGraphIndexTest.describeEdges(imageIndex, true));
+
+        // each method is found by the hash slots of the image
+        assertEquals(callGraphIndex.getMethodNum(), imageIndex.getMethodNum());
+        for (int methodId = 0; methodId < imageIndex.getMethodNum(); methodId++) {
+            assertEquals(methodId, imageIndex.findMethodId(imageIndex.getMethod(methodId)));
+        }
+        assertEquals(-1, imageIndex.findMethodId("p.A0:notExist()"));
+
+        int runId = imageIndex.findMethodId("q.R:run()");
+        assertTrue(imageIndex.traverse(runId, true, -1, CallGraphEdgeFilter.ALL).length > 1);
+    }
+}
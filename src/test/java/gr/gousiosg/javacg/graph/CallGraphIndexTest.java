@@ -0,0 +1,135 @@
+package gr.gousiosg.javacg.graph;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the index built while the call graph is written, loaded from the text file and loaded from the binary file has
+ * the same edges, and the queries find the calls of the fixture jar
+ */
+
+public class CallGraphIndexTest {
+
+    private Path tmpDir;
+
+    private CallGraphIndex builtIndex;
+
+    private Path textFile;
+
+    private Path binaryFile;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-index-test");
+        Path jarPath = tmpDir.resolve("app.jar");
+        TestFixtures.compileJar(jarPath, TestFixtures.genAppSources(true));
+
+        textFile = tmpDir.resolve("graph.txt");
+        binaryFile = tmpDir.resolve("graph.bin");
+        CallGraphIndexBuilder callGraphIndexBuilder = new CallGraphIndexBuilder();
+        TestFixtures.runCallGraph(textFile, Collections.emptyMap(), callGraphIndexBuilder, jarPath);
+        TestFixtures.runCallGraph(binaryFile, Collections.singletonMap("output.format", "binary"), null, jarPath);
+        builtIndex = callGraphIndexBuilder.build();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    @Test
+    public void testLoadedIndexSameAsBuilt() throws IOException {
+        List<String> builtEdges = describeEdges(builtIndex, false);
+        assertEquals(readTextEdges(textFile), builtEdges);
+        // the reverse arrays have the same edges as the forward arrays
+        assertEquals(builtEdges, describeEdges(builtIndex, true));
+
+        CallGraphIndex textIndex = CallGraphIndexLoader.loadText(textFile.toString());
+        assertEquals(builtEdges, describeEdges(textIndex, false));
+        assertEquals(builtEdges, describeEdges(textIndex, true));
+
+        CallGraphIndex binaryIndex = CallGraphIndexLoader.load(binaryFile.toString());
+        assertEquals(builtEdges, describeEdges(binaryIndex, false));
+        assertEquals(builtEdges, describeEdges(binaryIndex, true));
+    }
+
+    @Test
+    public void testQuery() {
+        assertEquals(-1, builtIndex.findMethodId("p.A0:notExist()"));
+
+        int startId = builtIndex.findMethodId("p.A0:start()");
+        assertTrue(startId >= 0);
+        assertTrue(getMethods(builtIndex, builtIndex.getCallees(startId)).contains("p.B00:step(int)"));
+
+        // the chain from A0 to the last class of the chain
+        String lastStep = String.format("p.B%02d:step(int)", TestFixtures.CHAIN_CLASS_NUM - 1);
+        assertTrue(getMethods(builtIndex, builtIndex.traverse(startId, false, -1, CallGraphEdgeFilter.ALL)).contains(lastStep));
+        assertFalse(getMethods(builtIndex, builtIndex.traverse(startId, false, 1, CallGraphEdgeFilter.ALL)).contains(lastStep));
+
+        // Runnable run() is called from the first caller of the <init> of the Runnable class, through the RIR method calls
+        int runId = builtIndex.findMethodId("q.R:run()");
+        List<String> callerList = getMethods(builtIndex, builtIndex.traverse(runId, true, -1, CallGraphEdgeFilter.ALL));
+        assertTrue(callerList.contains("p.A0:start()"));
+        assertTrue(callerList.contains("p.Z:start()"));
+    }
+
+    // the edges like "caller (type)callee line", sorted, read from the forward arrays or from the reverse arrays
+    static List<String> describeEdges(CallGraphIndex callGraphIndex, boolean reverse) {
+        List<String> edgeList = new ArrayList<>(callGraphIndex.getEdgeNum());
+        for (int methodId = 0; methodId < callGraphIndex.getMethodNum(); methodId++) {
+            if (reverse) {
+                for (int i = callGraphIndex.getCallerEdgeStart(methodId); i < callGraphIndex.getCallerEdgeEnd(methodId); i++) {
+                    edgeList.add(describeEdge(callGraphIndex, callGraphIndex.getCaller(i), callGraphIndex.getCallerEdge(i)));
+                }
+            } else {
+                for (int edge = callGraphIndex.getCalleeEdgeStart(methodId); edge < callGraphIndex.getCalleeEdgeEnd(methodId); edge++) {
+                    edgeList.add(describeEdge(callGraphIndex, methodId, edge));
+                }
+            }
+        }
+        assertEquals(callGraphIndex.getEdgeNum(), edgeList.size());
+        Collections.sort(edgeList);
+        return edgeList;
+    }
+
+    // the method call lines of the text file like "M:a.A:f() (M)b.B:g() 12 1", as described by describeEdges
+    private static List<String> readTextEdges(Path textFile) throws IOException {
+        List<String> edgeList = new ArrayList<>();
+        for (String line : TestFixtures.readLines(textFile)) {
+            if (line.startsWith("M:")) {
+                edgeList.add(line.substring("M:".length(), line.lastIndexOf(' ')));
+            }
+        }
+        assertFalse(edgeList.isEmpty());
+        Collections.sort(edgeList);
+        return edgeList;
+    }
+
+    private static String describeEdge(CallGraphIndex callGraphIndex, int callerId, int edge) {
+        return callGraphIndex.getMethod(callerId) + " (" + callGraphIndex.getEdgeCallType(edge).getType() + ")" +
+                callGraphIndex.getMethod(callGraphIndex.getEdgeCallee(edge)) + " " + callGraphIndex.getEdgeSourceLine(edge);
+    }
+
+    private static List<String> getMethods(CallGraphIndex callGraphIndex, int[] methodIds) {
+        List<String> methodList = new ArrayList<>(methodIds.length);
+        for (int methodId : methodIds) {
+            methodList.add(callGraphIndex.getMethod(methodId));
+        }
+        return methodList;
+    }
+}
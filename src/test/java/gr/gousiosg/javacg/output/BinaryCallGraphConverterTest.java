@@ -0,0 +1,79 @@
+package gr.gousiosg.javacg.output;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the binary call graph converted into the text format is the same as the text call graph
+ */
+
+public class BinaryCallGraphConverterTest {
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-binary-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    @Test
+    public void testConvertCallGraphOfJar() throws IOException {
+        Path jarPath = tmpDir.resolve("app.jar");
+        TestFixtures.compileJar(jarPath, TestFixtures.genAppSources(true));
+
+        Path textFile = tmpDir.resolve("graph.txt");
+        Path binaryFile = tmpDir.resolve("graph.bin");
+        TestFixtures.runCallGraph(textFile, Collections.emptyMap(), null, jarPath);
+        TestFixtures.runCallGraph(binaryFile, Collections.singletonMap("output.format", "binary"), null, jarPath);
+
+        assertConvertedSame(binaryFile, textFile);
+    }
+
+    // the strings of the string table are reused across the jars, the non ASCII names and the source lines out of the short range
+    // are kept, the text is written with the default charset like the converter
+    @Test
+    public void testConvertWrittenRecords() throws IOException {
+        Path textFile = tmpDir.resolve("records.txt");
+        Path binaryFile = tmpDir.resolve("records.bin");
+        try (CallGraphWriter textWriter = new TextCallGraphWriter(new OutputStreamWriter(new FileOutputStream(textFile.toFile())));
+             CallGraphWriter binaryWriter = new BinaryCallGraphWriter(new FileOutputStream(binaryFile.toFile()))) {
+            CallGraphWriter writer = new TeeCallGraphWriter(textWriter, binaryWriter);
+            writer.writeJar(1, "/tmp/a.jar");
+            writer.writeClassReference("a.A", "b.B");
+            writer.writeMethodCall("a.A", "run()", "M", "b.B", "call", "(int,java.lang.String[])", 12, 1);
+            writer.writeMethodCall("a.A", "run()", "M", "b.B", "call", "(int,java.lang.String[])", 13, 1);
+            writer.writeMethodCall("a.A", "<init>()", "O", "java.lang.Object", "<init>", "()", 0, 1);
+            writer.writeJar(2, "/tmp/b.jar");
+            writer.writeClassReference("b.B", "a.A");
+            writer.writeMethodCall("b.B", "call(int,java.lang.String[])", "ITF", "a.\u540d\u5b57", "\u65b9\u6cd5", "()", 65535, 2);
+            writer.writeMethodCall("a.\u540d\u5b57", "\u65b9\u6cd5()", "LM", "a.\u540d\u5b57", "lambda$0", "(long)", -1, 2);
+        }
+
+        assertConvertedSame(binaryFile, textFile);
+    }
+
+    private void assertConvertedSame(Path binaryFile, Path textFile) throws IOException {
+        Path convertedFile = tmpDir.resolve("converted.txt");
+        assertTrue(BinaryCallGraphConverter.convert(binaryFile.toString(), convertedFile.toString()));
+        assertArrayEquals(Files.readAllBytes(textFile), Files.readAllBytes(convertedFile));
+    }
+}
@@ -0,0 +1,82 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the ITF method calls of the implementation classes with the bridge methods of covariant return types, through
+ * the direct interfaces and the super interfaces
+ */
+
+public class ClassHierarchyIndexTest {
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-hierarchy-index-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    // the bridge method "Object get()" has the same name and arguments as "String get()", one ITF method call is written
+    @Test
+    public void testBridgeMethodWrittenOnce() throws IOException {
+        Map<String, String> sourceMap = new LinkedHashMap<>();
+        sourceMap.put("q.Source", "package q;\n" +
+                "public interface Source {\n" +
+                "    Object get();\n" +
+                "}\n");
+        sourceMap.put("q.NamedSource", "package q;\n" +
+                "public interface NamedSource extends Source {\n" +
+                "    String name();\n" +
+                "}\n");
+        sourceMap.put("q.StringSource", "package q;\n" +
+                "public class StringSource implements Source {\n" +
+                "    public String get() {\n" +
+                "        return \"s\";\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.NamedStringSource", "package q;\n" +
+                "public class NamedStringSource implements NamedSource {\n" +
+                "    public String get() {\n" +
+                "        return \"n\";\n" +
+                "    }\n" +
+                "    public String name() {\n" +
+                "        return \"name\";\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("p.Main", "package p;\n" +
+                "public class Main {\n" +
+                "    public Object read(q.Source source) {\n" +
+                "        return source.get();\n" +
+                "    }\n" +
+                "}\n");
+        Path jarPath = tmpDir.resolve("app.jar");
+        TestFixtures.compileJar(jarPath, sourceMap);
+
+        Path outputFile = tmpDir.resolve("graph.txt");
+        TestFixtures.runCallGraph(outputFile, Collections.emptyMap(), null, jarPath);
+        List<String> lines = TestFixtures.readLines(outputFile);
+        assertEquals(1, lines.stream().filter(line -> line.startsWith("M:q.Source:get() (ITF)q.StringSource:get() ")).count());
+        // through the super interface
+        assertEquals(1, lines.stream().filter(line -> line.startsWith("M:q.Source:get() (ITF)q.NamedStringSource:get() ")).count());
+    }
+}
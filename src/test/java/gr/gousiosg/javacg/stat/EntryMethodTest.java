@@ -0,0 +1,99 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the classes visited from the entry methods of "-Dentry.method.file", compared with the output of all the classes
+ * with "-Dglobal.hierarchy=true"
+ */
+
+public class EntryMethodTest {
+
+    private Path tmpDir;
+
+    private Path jarPath;
+
+    private List<String> globalLines;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-entry-test");
+        jarPath = tmpDir.resolve("app.jar");
+        TestFixtures.compileJar(jarPath, TestFixtures.genAppSources(true));
+
+        Path outputFile = tmpDir.resolve("global.txt");
+        TestFixtures.runCallGraph(outputFile, Collections.singletonMap("global.hierarchy", "true"), null, jarPath);
+        globalLines = sortedLines(outputFile);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    // all the classes are entry classes
+    @Test
+    public void testAllClassesSameAsGlobalHierarchy() throws IOException {
+        assertEquals(globalLines, runEntryMethods("*"));
+    }
+
+    // the classes before B10 in the chain are not reached from B10
+    @Test
+    public void testNarrowEntry() throws IOException {
+        List<String> lines = runEntryMethods("p.B10:step*");
+        assertTrue(lines.contains("M:p.B18:step(int) (M)p.B19:step(int) 4 1"));
+        assertFalse(lines.stream().anyMatch(line -> line.contains("p.A0:") || line.contains("p.B09:") || line.contains("p.Z:") ||
+                line.contains("q.")));
+        assertTrue(globalLines.containsAll(lines));
+    }
+
+    // the Runnable/Callable/Thread classes reached from Z have the same RIR/CIC/TSR method calls as with all the classes
+    @Test
+    public void testThreadMethodCallsOfReachedClasses() throws IOException {
+        List<String> lines = runEntryMethods("p.Z:start()");
+        assertFalse(lines.stream().anyMatch(line -> line.contains("p.A0:") || line.contains("p.B00:")));
+        assertTrue(globalLines.containsAll(lines));
+
+        // the first call of R from A0 is not reached
+        List<String> threadLines = filterThreadLines(lines);
+        assertEquals(filterThreadLines(globalLines).stream().filter(line -> !line.startsWith("M:p.A0:")).collect(Collectors.toList()),
+                threadLines);
+        for (String callType : new String[]{"(RIR)", "(CIC)", "(TSR)"}) {
+            assertTrue(callType, threadLines.stream().anyMatch(line -> line.contains(callType)));
+        }
+    }
+
+    private List<String> runEntryMethods(String entryPattern) throws IOException {
+        Path entryMethodFile = tmpDir.resolve("entry-methods.txt");
+        Files.write(entryMethodFile, Collections.singletonList(entryPattern), StandardCharsets.UTF_8);
+        Path outputFile = tmpDir.resolve("entry.txt");
+        TestFixtures.runCallGraph(outputFile, Collections.singletonMap("entry.method.file", entryMethodFile.toString()), null, jarPath);
+        return sortedLines(outputFile);
+    }
+
+    private static List<String> filterThreadLines(List<String> lines) {
+        return lines.stream().filter(line -> line.contains("(RIR)") || line.contains("(CIC)") || line.contains("(TSR)"))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> sortedLines(Path outputFile) throws IOException {
+        return TestFixtures.readLines(outputFile).stream().sorted().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,107 @@
+package gr.gousiosg.javacg.stat;
+
+import gr.gousiosg.javacg.TestFixtures;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author juliendevelopment
+ * @date 2026/10/18
+ * @description: the Runnable/Callable/Thread classes with "-Dglobal.hierarchy=true", the first call method calls are written once
+ * for all the jars
+ */
+
+public class GlobalHierarchyTest {
+
+    private Path tmpDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tmpDir = Files.createTempDirectory("javacg-hierarchy-test");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        TestFixtures.deleteDir(tmpDir);
+    }
+
+    // the Thread child class is in both jars, the header in the second jar does not allow another first call
+    @Test
+    public void testDuplicateThreadClass() throws IOException {
+        Path firstJarPath = tmpDir.resolve("first.jar");
+        Path secondJarPath = tmpDir.resolve("second.jar");
+        TestFixtures.compileJar(firstJarPath, genThreadSources("First"));
+        TestFixtures.compileJar(secondJarPath, genThreadSources("Second"));
+
+        Path outputFile = tmpDir.resolve("graph.txt");
+        TestFixtures.runCallGraph(outputFile, Collections.singletonMap("global.hierarchy", "true"), null, firstJarPath, secondJarPath);
+        assertEquals(1, TestFixtures.readLines(outputFile).stream().filter(line -> line.contains("(TSR)q.T:run()")).count());
+    }
+
+    // the implementation class is allocated in another jar, its ITF method call is kept by "-Drta=true"
+    @Test
+    public void testRtaAllocatedInAnotherJar() throws IOException {
+        Path libJarPath = tmpDir.resolve("lib.jar");
+        Path appJarPath = tmpDir.resolve("app.jar");
+        Map<String, String> libSourceMap = new LinkedHashMap<>();
+        libSourceMap.put("q.Shape", "package q;\n" +
+                "public interface Shape {\n" +
+                "    double area();\n" +
+                "}\n");
+        libSourceMap.put("q.Square", "package q;\n" +
+                "public class Square implements Shape {\n" +
+                "    public double area() {\n" +
+                "        return 4;\n" +
+                "    }\n" +
+                "}\n");
+        libSourceMap.put("q.Circle", "package q;\n" +
+                "public class Circle implements Shape {\n" +
+                "    public double area() {\n" +
+                "        return Math.PI;\n" +
+                "    }\n" +
+                "}\n");
+        TestFixtures.compileJar(libJarPath, libSourceMap);
+        TestFixtures.compileJar(appJarPath, Collections.singletonMap("p.Main", "package p;\n" +
+                "public class Main {\n" +
+                "    public double area() {\n" +
+                "        q.Shape shape = new q.Square();\n" +
+                "        return shape.area();\n" +
+                "    }\n" +
+                "}\n"), libJarPath);
+
+        Path outputFile = tmpDir.resolve("graph.txt");
+        TestFixtures.runCallGraph(outputFile, Collections.singletonMap("rta", "true"), null, libJarPath, appJarPath);
+        List<String> lineList = TestFixtures.readLines(outputFile);
+        assertTrue(lineList.contains("M:q.Shape:area() (ITF)q.Square:area() 0 1"));
+        assertTrue(lineList.stream().noneMatch(line -> line.contains("(ITF)q.Circle:area()")));
+    }
+
+    private static Map<String, String> genThreadSources(String callerName) {
+        Map<String, String> sourceMap = new LinkedHashMap<>();
+        sourceMap.put("p." + callerName, "package p;\n" +
+                "public class " + callerName + " {\n" +
+                "    public void start() {\n" +
+                "        new q.T().start();\n" +
+                "    }\n" +
+                "}\n");
+        sourceMap.put("q.T", "package q;\n" +
+                "public class T extends Thread {\n" +
+                "    public void run() {\n" +
+                "        System.out.println(getName());\n" +
+                "    }\n" +
+                "}\n");
+        return sourceMap;
+    }
+}